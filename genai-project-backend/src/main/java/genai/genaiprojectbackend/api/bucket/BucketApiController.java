@@ -1,5 +1,7 @@
 package genai.genaiprojectbackend.api.bucket;
 
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadRequest;
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadResult;
 import genai.genaiprojectbackend.api.bucket.dtos.FileInfoDto;
 import genai.genaiprojectbackend.service.files.IPresignedUrlService;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,7 +10,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -63,17 +68,45 @@ public class BucketApiController implements IBucketApi {
     }
 
     @Override
-    public ResponseEntity<FileInfoDto> uploadFinished(
+    public CompletableFuture<ResponseEntity<FileInfoDto>> uploadFinished(
             @Parameter(in = ParameterIn.DEFAULT, description = "Signalizes that the upload of a file has finished, changes relevant metadata for that file.", required = true, schema = @Schema())
             @RequestBody FileInfoDto body
     ) {
         String accept = request.getHeader("Accept");
         if (accept != null && accept.contains("application/json")) {
-            Optional<FileInfoDto> file = presignedUrlService.uploadFinished(body);
-            return file.map(fileInfo -> new ResponseEntity<>(fileInfo, HttpStatus.OK)).orElseGet(() -> new ResponseEntity<>(new FileInfoDto(), HttpStatus.NOT_FOUND));
+            return presignedUrlService.uploadFinished(body)
+                    .thenApply(file -> file.map(fileInfo -> new ResponseEntity<>(fileInfo, HttpStatus.OK))
+                            .orElseGet(() -> new ResponseEntity<>(new FileInfoDto(), HttpStatus.NOT_FOUND)));
         }
 
-        return new ResponseEntity<FileInfoDto>(HttpStatus.NOT_IMPLEMENTED);
+        return CompletableFuture.completedFuture(new ResponseEntity<FileInfoDto>(HttpStatus.NOT_IMPLEMENTED));
+    }
+
+    @Override
+    public ResponseEntity<List<BatchUploadResult>> fetchURLsForUpload(
+            @Parameter(in = ParameterIn.DEFAULT, description = "Files to upload and the category item they belong to.", required = true, schema = @Schema())
+            @Valid
+            @RequestBody BatchUploadRequest body) {
+        String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains("application/json")) {
+            return new ResponseEntity<>(presignedUrlService.fetchUploadUrls(body.getFiles(), body.getCategoryItemId()), HttpStatus.OK);
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<BatchUploadResult>>> uploadsFinished(
+            @Parameter(in = ParameterIn.DEFAULT, description = "Files whose upload has finished.", required = true, schema = @Schema())
+            @Valid
+            @RequestBody BatchUploadRequest body) {
+        String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains("application/json")) {
+            return presignedUrlService.uploadsFinished(body.getFiles())
+                    .thenApply(results -> new ResponseEntity<>(results, HttpStatus.OK));
+        }
+
+        return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
     }
 
 
@@ -81,4 +114,9 @@ public class BucketApiController implements IBucketApi {
     @ExceptionHandler
     public void handleException(IllegalArgumentException ex) {
     }
+
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ExceptionHandler
+    public void handleTimeout(TimeoutException ex) {
+    }
 }
\ No newline at end of file
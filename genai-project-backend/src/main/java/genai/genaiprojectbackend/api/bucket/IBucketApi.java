@@ -1,5 +1,7 @@
 package genai.genaiprojectbackend.api.bucket;
 
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadRequest;
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadResult;
 import genai.genaiprojectbackend.api.bucket.dtos.FileInfoDto;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -15,6 +17,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 
 @Validated
 @RequestMapping(IBucketApi.BASE_URL)
@@ -71,16 +76,51 @@ public interface IBucketApi {
             @ApiResponse(responseCode = "400", description = "Invalid input"),
 
             @ApiResponse(responseCode = "404", description = "File not Found"),
+
+            @ApiResponse(responseCode = "504", description = "Object storage did not answer in time"),
     })
     @RequestMapping(value = "/upload",
             produces = {"application/json"},
             consumes = {"application/json"},
             method = RequestMethod.PUT)
-    ResponseEntity<FileInfoDto> uploadFinished(
+    CompletableFuture<ResponseEntity<FileInfoDto>> uploadFinished(
             @Parameter(in = ParameterIn.DEFAULT, description = "Signalizes that the upload of a file has finished, changes relevant metadata for that file.", required = true, schema = @Schema())
             @RequestBody FileInfoDto body
     );
 
+    @Operation(summary = "Fetch presigned upload URLs for several files", description = "Fetch presigned upload URLs for several files of one category item; the result states per file whether it is new, already uploaded or failed.", tags = {
+            "bucket"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation, see the per-file status"),
 
-}
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+
+            @ApiResponse(responseCode = "404", description = "Category item not Found"),
+    })
+    @RequestMapping(value = "/upload/batch",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<BatchUploadResult>> fetchURLsForUpload(
+            @Parameter(in = ParameterIn.DEFAULT, description = "Files to upload and the category item they belong to.", required = true, schema = @Schema())
+            @Valid
+            @RequestBody BatchUploadRequest body
+    );
+
+    @Operation(summary = "Signalizes that the upload of several files has finished", description = "Confirms the uploads of several files; the result states per file whether it was uploaded, already uploaded or failed.", tags = {
+            "bucket"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation, see the per-file status"),
 
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+    })
+    @RequestMapping(value = "/upload/batch",
+            produces = {"application/json"},
+            consumes = {"application/json"},
+            method = RequestMethod.PUT)
+    CompletableFuture<ResponseEntity<List<BatchUploadResult>>> uploadsFinished(
+            @Parameter(in = ParameterIn.DEFAULT, description = "Files whose upload has finished.", required = true, schema = @Schema())
+            @Valid
+            @RequestBody BatchUploadRequest body
+    );
+}
@@ -0,0 +1,30 @@
+package genai.genaiprojectbackend.api.bucket.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Several files of one category item; categoryItemId is only used when upload URLs are requested.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchUploadRequest {
+    public static final int MAX_FILES = 100;
+
+    @JsonProperty("categoryItemId")
+    private Integer categoryItemId;
+
+    @JsonProperty("files")
+    @NotEmpty
+    @Size(max = MAX_FILES)
+    @Valid
+    private List<FileInfoDto> files;
+}
@@ -0,0 +1,31 @@
+package genai.genaiprojectbackend.api.bucket.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchUploadResult {
+    @JsonProperty("fileName")
+    private final String fileName;
+
+    @JsonProperty("status")
+    private final BatchUploadStatus status;
+
+    @JsonProperty("file")
+    private final FileInfoDto file;
+
+    @JsonProperty("error")
+    private final String error;
+
+    public static BatchUploadResult of(BatchUploadStatus status, FileInfoDto file) {
+        return new BatchUploadResult(file.getFileName(), status, file, null);
+    }
+
+    public static BatchUploadResult failed(String fileName, String error) {
+        return new BatchUploadResult(fileName, BatchUploadStatus.FAILED, null, error);
+    }
+}
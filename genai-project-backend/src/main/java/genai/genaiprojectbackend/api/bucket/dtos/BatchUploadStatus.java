@@ -0,0 +1,17 @@
+package genai.genaiprojectbackend.api.bucket.dtos;
+
+public enum BatchUploadStatus {
+    /**
+     * Upload URL issued, the file still has to be uploaded (also for earlier, unfinished uploads).
+     */
+    NEW,
+    /**
+     * Upload confirmed by this request.
+     */
+    UPLOADED,
+    /**
+     * A file with the same hash is already in the bucket, nothing to upload.
+     */
+    ALREADY_UPLOADED,
+    FAILED
+}
@@ -1,6 +1,8 @@
 package genai.genaiprojectbackend.api.category;
 
 import genai.genaiprojectbackend.api.category.dtos.CategoryDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategoryItemPageDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategoryPageDTO;
 import genai.genaiprojectbackend.api.category.dtos.CreateCategoryDTO;
 import genai.genaiprojectbackend.service.category.ICategoryService;
 import jakarta.validation.Valid;
@@ -35,6 +37,21 @@ public class CategoryController {
         return service.getAll();
     }
 
+    @GetMapping
+    public CategoryPageDTO getPage(@RequestParam(defaultValue = "20") int size,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "false") boolean countOnly,
+                                   @RequestParam(defaultValue = "10") int itemsPerCategory) {
+        return service.getPage(size, cursor, countOnly, itemsPerCategory);
+    }
+
+    @GetMapping("/{id}/items")
+    public CategoryItemPageDTO getItemPage(@PathVariable Integer id,
+                                           @RequestParam(defaultValue = "50") int size,
+                                           @RequestParam(required = false) String cursor) {
+        return service.getItemPage(id, size, cursor);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Integer id) {
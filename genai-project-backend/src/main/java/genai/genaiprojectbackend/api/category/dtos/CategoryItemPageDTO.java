@@ -0,0 +1,17 @@
+package genai.genaiprojectbackend.api.category.dtos;
+
+import genai.genaiprojectbackend.api.categoryitem.dtos.CategoryListItemDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of a category's items; nextCursor is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryItemPageDTO {
+    private final List<CategoryListItemDTO> items;
+    private final String nextCursor;
+}
@@ -0,0 +1,16 @@
+package genai.genaiprojectbackend.api.category.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page; nextCursor is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryPageDTO {
+    private final List<CategorySummaryDTO> categories;
+    private final String nextCursor;
+}
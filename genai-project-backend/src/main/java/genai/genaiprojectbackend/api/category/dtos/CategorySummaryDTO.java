@@ -0,0 +1,26 @@
+package genai.genaiprojectbackend.api.category.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import genai.genaiprojectbackend.api.categoryitem.dtos.CategoryListItemDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Category of a listing page; categoryItems holds the newest items and is omitted in count-only mode.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategorySummaryDTO {
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final Instant createdAt;
+    private final long itemCount;
+    private final List<CategoryListItemDTO> categoryItems;
+}
@@ -1,10 +1,17 @@
 package genai.genaiprojectbackend.api.categoryitem;
 
 import genai.genaiprojectbackend.api.categoryitem.dtos.*;
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
 import genai.genaiprojectbackend.service.categoryitem.ICategoryItemService;
+import genai.genaiprojectbackend.service.categoryitem.PipelineStatusStreamService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
 import java.util.Map;
@@ -13,9 +20,11 @@ import java.util.Map;
 @RequestMapping("/api/v1/category-item")
 public class CategoryItemController {
     private final ICategoryItemService service;
+    private final PipelineStatusStreamService statusStreamService;
 
-    public CategoryItemController(ICategoryItemService service) {
+    public CategoryItemController(ICategoryItemService service, PipelineStatusStreamService statusStreamService) {
         this.service = service;
+        this.statusStreamService = statusStreamService;
     }
 
     @PostMapping
@@ -34,6 +43,11 @@ public class CategoryItemController {
         return service.getStatusById(id);
     }
 
+    @GetMapping(path = "/{id}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusById(@PathVariable Integer id) {
+        return statusStreamService.subscribe(id);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Integer id) {
@@ -42,12 +56,26 @@ public class CategoryItemController {
 
     @PostMapping("/{id}/start-generation")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public void startGeneration(@PathVariable Integer id){
-        service.startGeneration(id);
+    public void startGeneration(@PathVariable Integer id,
+                                @RequestParam(required = false) GenerationPriority priority){
+        service.startGeneration(id, priority);
     }
 
+    /**
+     * Finished generations carry an ETag; a matching If-None-Match is answered with 304 without loading the body.
+     */
     @GetMapping("/{id}/generation")
-    public Generation getGenerationById(@PathVariable Integer id) {
-        return service.getGenerationById(id);
+    public ResponseEntity<Generation> getGenerationById(@PathVariable Integer id, WebRequest request) {
+        String etag = service.getGenerationEtag(id);
+        if (etag == null) {
+            return ResponseEntity.ok(service.getGenerationById(id));
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(service.getGenerationById(id));
     }
 }
@@ -0,0 +1,44 @@
+package genai.genaiprojectbackend.api.categoryitem.dtos;
+
+import genai.genaiprojectbackend.repository.projection.PipelineStatusView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Per-stage progress of a generation run, pushed over the status stream.
+ */
+@Getter
+@AllArgsConstructor
+public class PipelineStatus {
+    private final String status;
+    private final String failedJobType;
+    private final int expectedFiles;
+    private final int extractedFiles;
+    private final int failedFiles;
+    private final int extractedChunks;
+    private final int summarizedChunks;
+    private final int flashcardChunks;
+    private final int failedChunks;
+    private final boolean aggregationStarted;
+    private final boolean aggregationDone;
+
+    public static PipelineStatus of(PipelineStatusView view) {
+        return new PipelineStatus(
+                view.getStatus(),
+                view.getFailedJobType(),
+                view.getExpectedFiles(),
+                view.getExtractedFiles(),
+                view.getFailedFiles(),
+                view.getExtractedChunks(),
+                view.getSummarizedChunks(),
+                view.getFlashcardChunks(),
+                view.getFailedChunks(),
+                view.getAggregationStarted(),
+                "COMPLETED".equals(view.getStatus())
+        );
+    }
+
+    public boolean isTerminal() {
+        return "COMPLETED".equals(status) || "FAILED".equals(status);
+    }
+}
@@ -0,0 +1,31 @@
+package genai.genaiprojectbackend.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tree aggregation of large category items, bound from pipeline.aggregation.*
+ * <p>
+ * Items with more chunk summaries than fit one group are reduced in rounds of PARTIAL_AGGREGATION jobs
+ * until the remaining partial results fit a single AGGREGATION job.
+ */
+@Component
+@ConfigurationProperties(prefix = "pipeline.aggregation")
+@Getter
+@Setter
+public class AggregationProperties {
+    /**
+     * Chunk summaries (with their flashcards) per first-round job.
+     */
+    private int leafGroupSize = 25;
+    /**
+     * Partial results per job of the later rounds and of the final aggregation; at least 2.
+     */
+    private int mergeGroupSize = 10;
+    /**
+     * Upper bound of the summary and flashcard text per job; a group is closed early once it is reached.
+     */
+    private int maxGroupChars = 200_000;
+}
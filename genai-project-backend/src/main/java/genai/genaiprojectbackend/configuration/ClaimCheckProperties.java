@@ -0,0 +1,22 @@
+package genai.genaiprojectbackend.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Claim-check mode for worker messages, bound from worker.claim-check.*
+ * <p>
+ * When enabled, message bodies larger than thresholdBytes are stored in the MinIO bucket
+ * and the message only carries a reference plus checksum.
+ */
+@Component
+@ConfigurationProperties(prefix = "worker.claim-check")
+@Getter
+@Setter
+public class ClaimCheckProperties {
+    private boolean enabled = false;
+    private int thresholdBytes = 64 * 1024;
+    private String keyPrefix = "claim-check/";
+}
@@ -0,0 +1,45 @@
+package genai.genaiprojectbackend.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control of LLM-bound jobs (summary, flashcard generation), bound from pipeline.dispatch.*
+ * <p>
+ * Jobs wait in the dispatch_backlog table and are published by one replica at a time through a global
+ * token bucket and one bucket per category item, taking turns among the items with waiting jobs. Items of
+ * INTERACTIVE runs get longer turns than BULK ones.
+ */
+@Component
+@ConfigurationProperties(prefix = "pipeline.dispatch")
+@Getter
+@Setter
+public class DispatchProperties {
+    /**
+     * Jobs published per second across all items, i.e. the request rate the LLM quota allows.
+     */
+    private double globalRate = 20;
+    /**
+     * Jobs that may be published at once after the scheduler was idle.
+     */
+    private int globalBurst = 40;
+    /**
+     * Jobs published per second for one category item, so a large upload cannot use up the global rate.
+     */
+    private double itemRate = 5;
+    private int itemBurst = 10;
+    /**
+     * Consecutive jobs an INTERACTIVE item may publish per turn; BULK items publish one.
+     */
+    private int interactiveWeight = 4;
+    /**
+     * Generation runs whose files add up to at most this many bytes are INTERACTIVE unless a priority is given.
+     */
+    private long interactiveMaxBytes = 5L * 1024 * 1024;
+    /**
+     * Items looked at per run; items beyond are served once the first ones have drained.
+     */
+    private int maxItemsPerRun = 200;
+}
@@ -0,0 +1,57 @@
+package genai.genaiprojectbackend.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Text extraction, bound from pipeline.extraction.*
+ * <p>
+ * With engine=worker (default) extraction jobs are published to the Python text-extraction-worker. With
+ * engine=in-process the backend reads the files from MinIO itself, page range by page range, and ingests
+ * the chunks directly.
+ */
+@Component
+@ConfigurationProperties(prefix = "pipeline.extraction")
+@Getter
+@Setter
+public class ExtractionProperties {
+    /**
+     * worker or in-process.
+     */
+    private String engine = "worker";
+    /**
+     * If a file cannot be extracted, finish the item with the other files instead of failing it.
+     * The item still fails if no file could be extracted.
+     */
+    private boolean partialSuccess = false;
+    /**
+     * Files extracted at the same time.
+     */
+    private int fileParallelism = 2;
+    /**
+     * Threads extracting page ranges, shared by all files.
+     */
+    private int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * Pages per page-range task.
+     */
+    private int pagesPerTask = 16;
+    /**
+     * Minimum chunk length in characters, like TEXT_CHUNK_CHARACTER_SIZE of the Python worker.
+     */
+    private int chunkSize = 1000;
+    /**
+     * Chunks per ingested batch; summary jobs of a batch start while the rest of the file is extracted.
+     */
+    private int batchSize = 20;
+    /**
+     * Bytes fetched from MinIO per ranged read.
+     */
+    private int blockSizeBytes = 256 * 1024;
+    /**
+     * Blocks kept in memory per file; bounds the memory of one file to block-size-bytes * cached-blocks.
+     */
+    private int cachedBlocks = 32;
+}
@@ -0,0 +1,21 @@
+package genai.genaiprojectbackend.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process cache of finished generations (final summary + flashcards), bound from pipeline.generation-cache.*
+ */
+@Component
+@ConfigurationProperties(prefix = "pipeline.generation-cache")
+@Getter
+@Setter
+public class GenerationCacheProperties {
+    private boolean enabled = true;
+    /**
+     * Upper bound of the summed JSON size of all cached generations; least recently used entries are evicted first.
+     */
+    private long maxBytes = 64L * 1024 * 1024;
+}
@@ -0,0 +1,44 @@
+package genai.genaiprojectbackend.configuration;
+
+import genai.genaiprojectbackend.model.enums.JobType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Stuck-job reaper, bound from pipeline.job-reaper.*
+ * <p>
+ * A PENDING/IN_PROGRESS job whose updated_at is older than the deadline of its type is published again,
+ * up to maxRetries times; after that it fails like a failure reported by its worker.
+ */
+@Component
+@ConfigurationProperties(prefix = "pipeline.job-reaper")
+@Getter
+@Setter
+public class JobReaperProperties {
+    private boolean enabled = true;
+    /**
+     * Republications per job before it is failed.
+     */
+    private int maxRetries = 2;
+    /**
+     * Stuck jobs handled per job type and run.
+     */
+    private int batchSize = 100;
+    /**
+     * Time a job may stay unfinished, measured from its creation or last republication. Includes the time the
+     * message waits in its queue, so it should cover a full backlog.
+     */
+    private Map<JobType, Duration> deadlines = new EnumMap<>(Map.of(
+            JobType.TEXT_EXTRACTION, Duration.ofMinutes(15),
+            JobType.SUMMARY_GENERATION, Duration.ofMinutes(10),
+            JobType.FLASHCARD_GENERATION, Duration.ofMinutes(10),
+            JobType.PARTIAL_AGGREGATION, Duration.ofMinutes(20),
+            JobType.AGGREGATION, Duration.ofMinutes(30)
+    ));
+}
@@ -19,4 +19,50 @@ public class MinioProperties {
     private String baseObjectPath;
     private int defaultExpiryTime;
     private int defaultRefresh;
+    /**
+     * Upper bound for a single asynchronous MinIO call (stat, presign) before the request fails with a timeout.
+     */
+    private long operationTimeoutMs = 10_000;
+    private UrlCache urlCache = new UrlCache();
+    private UrlPurge urlPurge = new UrlPurge();
+
+    /**
+     * In-process cache of presigned URLs, bound from minio.url-cache.*
+     */
+    @Getter
+    @Setter
+    public static class UrlCache {
+        /**
+         * Serve presigned URLs from memory instead of the urls table.
+         */
+        private boolean enabled = false;
+        /**
+         * Maximum number of cached URLs; the least recently used entry is evicted first.
+         */
+        private int maxEntries = 10_000;
+        /**
+         * Entries are dropped this many seconds before the presigned URL itself expires.
+         */
+        private int safetyMarginSeconds = 60;
+    }
+
+    /**
+     * Scheduled removal of expired rows from the urls table, bound from minio.url-purge.*
+     */
+    @Getter
+    @Setter
+    public static class UrlPurge {
+        /**
+         * Rows deleted per statement (and per transaction).
+         */
+        private int batchSize = 1000;
+        /**
+         * Upper bound of batches per run, the rest is left for the next run.
+         */
+        private int maxBatches = 100;
+        /**
+         * Lease of the cluster lock; should be longer than a full run.
+         */
+        private int lockLeaseSeconds = 300;
+    }
 }
@@ -1,9 +1,13 @@
 package genai.genaiprojectbackend.configuration;
 
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
 import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -31,6 +35,14 @@ public class RabbitConfig {
     public static final String WORKER_SUMMARY_GENERATION_START_ROUTING_KEY = "worker.summary.generation.job.start";
     public static final String WORKER_TEXT_EXTRACTION_START_ROUTING_KEY = "worker.text.extraction.job.start";
 
+    // ============================
+    // LISTENER CONTAINER FACTORIES (one per result queue)
+    // ============================
+    public static final String TEXT_EXTRACTION_LISTENER_FACTORY = "textExtractionListenerFactory";
+    public static final String SUMMARY_GENERATION_LISTENER_FACTORY = "summaryGenerationListenerFactory";
+    public static final String FLASHCARD_GENERATION_LISTENER_FACTORY = "flashcardGenerationListenerFactory";
+    public static final String AGGREGATION_LISTENER_FACTORY = "aggregationListenerFactory";
+
     @Bean
     public JacksonJsonMessageConverter messageConverter() {
         return new JacksonJsonMessageConverter();
@@ -41,6 +53,8 @@ public class RabbitConfig {
                                          JacksonJsonMessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter);
+        // Injects the W3C traceparent into every published message (see PipelineTracing)
+        template.setObservationEnabled(true);
         return template;
     }
 
@@ -49,5 +63,64 @@ public class RabbitConfig {
         return new FanoutExchange(WORKER_CANCELLATION_EXCHANGE);
     }
 
+    @Bean(TEXT_EXTRACTION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory textExtractionListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            WorkerListenerProperties properties,
+            PipelineMetrics pipelineMetrics) {
+        return listenerFactory(configurer, connectionFactory, properties.getTextExtraction(), JobType.TEXT_EXTRACTION, pipelineMetrics);
+    }
+
+    @Bean(SUMMARY_GENERATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory summaryGenerationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            WorkerListenerProperties properties,
+            PipelineMetrics pipelineMetrics) {
+        return listenerFactory(configurer, connectionFactory, properties.getSummaryGeneration(), JobType.SUMMARY_GENERATION, pipelineMetrics);
+    }
+
+    @Bean(FLASHCARD_GENERATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory flashcardGenerationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            WorkerListenerProperties properties,
+            PipelineMetrics pipelineMetrics) {
+        return listenerFactory(configurer, connectionFactory, properties.getFlashcardGeneration(), JobType.FLASHCARD_GENERATION, pipelineMetrics);
+    }
+
+    @Bean(AGGREGATION_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory aggregationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            WorkerListenerProperties properties,
+            PipelineMetrics pipelineMetrics) {
+        return listenerFactory(configurer, connectionFactory, properties.getAggregation(), JobType.AGGREGATION, pipelineMetrics);
+    }
+
+    /**
+     * Starts from the spring.rabbitmq.listener.simple.* defaults (message converter, requeue policy, ...)
+     * and overrides the consumer settings for a single result queue.
+     */
+    private SimpleRabbitListenerContainerFactory listenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            WorkerListenerProperties.QueueSettings settings,
+            JobType jobType,
+            PipelineMetrics pipelineMetrics) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(settings.getConcurrency());
+        factory.setMaxConcurrentConsumers(Math.max(settings.getConcurrency(), settings.getMaxConcurrency()));
+        factory.setPrefetchCount(settings.getPrefetch());
+        factory.setBatchSize(settings.getBatchSize());
+        factory.setAfterReceivePostProcessors(message -> {
+            pipelineMetrics.recordPayloadBytes(jobType, PipelineMetrics.INBOUND, message.getBody().length);
+            return message;
+        });
+        return factory;
+    }
+
 }
 
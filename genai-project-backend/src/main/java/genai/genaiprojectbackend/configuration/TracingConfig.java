@@ -0,0 +1,86 @@
+package genai.genaiprojectbackend.configuration;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Adds a child span around every repository call made while a sampled span is active
+     * (e.g. inside a result listener). Calls outside a trace, like the scheduled jobs, and calls
+     * in traces that are not sampled stay untraced.
+     */
+    @Bean
+    static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositorySpanInterceptor(tracer, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Writes finished spans to the log (pipeline.tracing.log-spans=true), for local runs without a collector.
+     */
+    @Bean
+    @ConditionalOnBooleanProperty("pipeline.tracing.log-spans")
+    SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    private static final class RepositorySpanInterceptor implements MethodInterceptor {
+        private final ObjectProvider<Tracer> tracerProvider;
+        private final String repositoryName;
+        private volatile Tracer tracer;
+
+        private RepositorySpanInterceptor(ObjectProvider<Tracer> tracerProvider, String repositoryName) {
+            this.tracerProvider = tracerProvider;
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Tracer current = tracer();
+            Span parent = current != null ? current.currentSpan() : null;
+            if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+                return invocation.proceed();
+            }
+            Span span = current.nextSpan()
+                    .name(repositoryName + "." + invocation.getMethod().getName())
+                    .tag("component", "repository")
+                    .start();
+            try (Tracer.SpanInScope ignored = current.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+
+        private Tracer tracer() {
+            if (tracer == null) {
+                tracer = tracerProvider.getIfAvailable();
+            }
+            return tracer;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package genai.genaiprojectbackend.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumer settings for the four worker result queues, bound from worker.listener.*
+ */
+@Component
+@ConfigurationProperties(prefix = "worker.listener")
+@Getter
+@Setter
+public class WorkerListenerProperties {
+    private QueueSettings textExtraction = new QueueSettings();
+    private QueueSettings summaryGeneration = new QueueSettings();
+    private QueueSettings flashcardGeneration = new QueueSettings();
+    private QueueSettings aggregation = new QueueSettings();
+
+    @Getter
+    @Setter
+    public static class QueueSettings {
+        /**
+         * Consumers started per queue.
+         */
+        private int concurrency = 1;
+        /**
+         * Upper bound the container may scale to under load.
+         */
+        private int maxConcurrency = 1;
+        /**
+         * Unacknowledged messages the broker pushes to each consumer.
+         */
+        private int prefetch = 10;
+        /**
+         * Messages processed per consumer before the acks are sent.
+         */
+        private int batchSize = 1;
+    }
+}
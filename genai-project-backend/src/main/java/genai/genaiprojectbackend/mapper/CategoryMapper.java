@@ -0,0 +1,72 @@
+package genai.genaiprojectbackend.mapper;
+
+import genai.genaiprojectbackend.api.category.dtos.CategoryDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategorySummaryDTO;
+import genai.genaiprojectbackend.api.categoryitem.dtos.CategoryListItemDTO;
+import genai.genaiprojectbackend.model.entities.Category;
+import genai.genaiprojectbackend.model.entities.CategoryItem;
+import genai.genaiprojectbackend.repository.projection.CategoryItemSummary;
+import genai.genaiprojectbackend.repository.projection.CategorySummary;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class CategoryMapper {
+
+    public CategoryDTO toDTO(Category category) {
+        List<CategoryListItemDTO> items = category.getItems()
+                .stream()
+                .sorted(Comparator.comparing(CategoryItem::getCreatedAt).reversed())
+                .map(this::toItemDTO)
+                .toList();
+
+        return new CategoryDTO(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getCreatedAt(),
+                items
+        );
+    }
+
+    public CategoryDTO toDTO(CategorySummary category, List<CategoryListItemDTO> items) {
+        return new CategoryDTO(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getCreatedAt(),
+                items
+        );
+    }
+
+    public CategorySummaryDTO toSummaryDTO(CategorySummary category, List<CategoryListItemDTO> items) {
+        return new CategorySummaryDTO(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getCreatedAt(),
+                category.getItemCount(),
+                items
+        );
+    }
+
+    public CategoryListItemDTO toItemDTO(CategoryItemSummary item) {
+        return new CategoryListItemDTO(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getCreatedAt()
+        );
+    }
+
+    public CategoryListItemDTO toItemDTO(CategoryItem item) {
+        return new CategoryListItemDTO(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getCreatedAt()
+        );
+    }
+}
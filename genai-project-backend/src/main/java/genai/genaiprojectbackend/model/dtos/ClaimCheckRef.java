@@ -0,0 +1,40 @@
+package genai.genaiprojectbackend.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Reference to a message body that was moved to the bucket instead of being sent through RabbitMQ.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClaimCheckRef {
+    @JsonProperty("bucket")
+    private String bucket;
+
+    @JsonProperty("objectKey")
+    private String objectKey;
+
+    @JsonProperty("sha256")
+    private String sha256;
+
+    @JsonProperty("sizeBytes")
+    private Long sizeBytes;
+
+    public static ClaimCheckRef fromMap(Map<?, ?> map) {
+        Object size = map.get("sizeBytes");
+        return new ClaimCheckRef(
+                (String) map.get("bucket"),
+                (String) map.get("objectKey"),
+                (String) map.get("sha256"),
+                size != null ? Long.valueOf(String.valueOf(size)) : null
+        );
+    }
+}
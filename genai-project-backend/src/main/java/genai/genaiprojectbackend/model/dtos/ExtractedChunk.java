@@ -0,0 +1,15 @@
+package genai.genaiprojectbackend.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Text chunk of an extracted file with the (1-based) pages it spans; pages are 0 if unknown.
+ */
+@Getter
+@AllArgsConstructor
+public class ExtractedChunk {
+    private final String text;
+    private final Integer pageStart;
+    private final Integer pageEnd;
+}
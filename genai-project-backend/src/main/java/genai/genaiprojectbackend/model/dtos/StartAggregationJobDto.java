@@ -1,5 +1,6 @@
 package genai.genaiprojectbackend.model.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,9 +21,18 @@ public class StartAggregationJobDto {
     @JsonProperty("category_item_id")
     private Integer categoryItemId;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("summaries")
     private List<String> summaries;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("flashcards")
     private List<Map<String, String>> flashcards;
+
+    /**
+     * Set instead of summaries/flashcards when the content was claim-checked to the bucket.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("content_ref")
+    private ClaimCheckRef contentRef;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package genai.genaiprojectbackend.model.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,9 +18,14 @@ public class StartFlashcardGenerationJobDto {
     @JsonProperty("summary_chunk_id")
     private Integer summaryChunkId;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("text")
     private String text;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("text_ref")
+    private ClaimCheckRef textRef;
+
     @JsonProperty("category_item_id")
     private Integer categoryItemId;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package genai.genaiprojectbackend.model.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,9 +16,14 @@ public class StartSummaryGenerationJobDto {
     @JsonProperty("job_id")
     private Integer jobId;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("text")
     private String text;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("text_ref")
+    private ClaimCheckRef textRef;
+
     @JsonProperty("category_id")
     private Integer categoryId;
 
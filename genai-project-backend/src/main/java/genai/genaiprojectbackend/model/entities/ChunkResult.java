@@ -0,0 +1,52 @@
+package genai.genaiprojectbackend.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM output for one chunk text, keyed by the SHA-256 of the text. Unlike SummaryChunk and
+ * TemporaryFlashcard these rows outlive the generation run so later uploads of the same content
+ * can reuse them. Rows are only inserted through ChunkResultRepository's ON CONFLICT statements.
+ */
+@Entity
+@Table(name = "chunk_results")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChunkResult {
+
+    @Id
+    @Column(name = "chunk_hash", length = 64)
+    private String chunkHash;
+
+    @Column(name = "text_content", nullable = false, columnDefinition = "TEXT")
+    private String textContent;
+
+    @Column(name = "summary_text", nullable = false, columnDefinition = "TEXT")
+    private String summaryText;
+
+    @ElementCollection
+    @CollectionTable(name = "chunk_result_flashcards", joinColumns = @JoinColumn(name = "chunk_hash"))
+    private List<CachedFlashcard> flashcards = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CachedFlashcard {
+        @Column(nullable = false, columnDefinition = "TEXT")
+        private String question;
+
+        @Column(nullable = false, columnDefinition = "TEXT")
+        private String answer;
+    }
+}
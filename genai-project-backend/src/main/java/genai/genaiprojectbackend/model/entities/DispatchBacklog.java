@@ -0,0 +1,42 @@
+package genai.genaiprojectbackend.model.entities;
+
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import genai.genaiprojectbackend.model.enums.JobType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An LLM-bound job that was created but not yet published; see DispatchScheduler.
+ */
+@Entity
+@Table(name = "dispatch_backlog")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DispatchBacklog {
+
+    @Id
+    @Column(name = "job_id")
+    private Integer jobId;
+
+    @Column(name = "category_item_id", nullable = false)
+    private Integer categoryItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", length = 30, nullable = false)
+    private JobType jobType;
+
+    @Column(name = "trace_parent", length = 55)
+    private String traceParent;
+
+    @Convert(converter = GenerationPriorityConverter.class)
+    @Column(name = "priority", nullable = false)
+    private GenerationPriority priority;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,18 +30,25 @@ import java.util.Set;
 @AllArgsConstructor
 public class File {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "files_id_seq")
+    @SequenceGenerator(name = "files_id_seq", sequenceName = "files_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
     private String filename;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "original_filename")
     private String originalFilename;
 
     @Column(name = "size_bytes")
     private Long sizeBytes;
 
+    @Column(name = "etag")
+    private String etag;
+
     @Column(name = "file_creation_date")
     private LocalDate fileCreationDate;
 
@@ -0,0 +1,45 @@
+package genai.genaiprojectbackend.model.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Streaming extraction state of one file. Like PipelineProgress, the row is only ever changed through the
+ * atomic statements in FileExtractionRepository.
+ */
+@Entity
+@Table(name = "file_extractions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileExtraction {
+
+    @Id
+    @Column(name = "file_id")
+    private Long fileId;
+
+    @Column(name = "category_item_id", nullable = false)
+    private Integer categoryItemId;
+
+    @Column(name = "received_chunks", nullable = false)
+    private int receivedChunks;
+
+    @Column(name = "total_chunks")
+    private Integer totalChunks;
+
+    @Column(name = "closed", nullable = false)
+    private boolean closed;
+
+    @Column(name = "failed", nullable = false)
+    private boolean failed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package genai.genaiprojectbackend.model.entities;
+
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link GenerationPriority} as its numeric level, so queries can take the highest lane with max().
+ */
+@Converter
+class GenerationPriorityConverter implements AttributeConverter<GenerationPriority, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(GenerationPriority priority) {
+        return priority != null ? priority.getLevel() : null;
+    }
+
+    @Override
+    public GenerationPriority convertToEntityAttribute(Integer level) {
+        return level != null ? GenerationPriority.ofLevel(level) : null;
+    }
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Job {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_id_seq")
+    @SequenceGenerator(name = "jobs_id_seq", sequenceName = "jobs_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "file_id")
@@ -33,6 +34,16 @@ public class Job {
     @Column(name = "category_item_id")
     private Integer categoryItemId;
 
+    /**
+     * Text chunk (SUMMARY_GENERATION) or summary chunk (FLASHCARD_GENERATION) the job works on,
+     * so the job message can be rebuilt when the job is published again.
+     */
+    @Column(name = "source_chunk_id")
+    private Integer sourceChunkId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,77 @@
+package genai.genaiprojectbackend.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary and flashcards produced by one PARTIAL_AGGREGATION job of a tree aggregation. Level 0 jobs merge
+ * chunk summaries, level n + 1 jobs merge the results of level n. summaryText stays null until the job's
+ * result has arrived.
+ */
+@Entity
+@Table(name = "partial_aggregations")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PartialAggregation {
+
+    @Id
+    @Column(name = "job_id")
+    private Integer jobId;
+
+    @Column(name = "category_item_id", nullable = false)
+    private Integer categoryItemId;
+
+    @Column(name = "level", nullable = false)
+    private Integer level;
+
+    @Column(name = "summary_text", columnDefinition = "TEXT")
+    private String summaryText;
+
+    /**
+     * Inputs of the job in order: summary chunk ids on level 0, job ids of the previous level's partial aggregations above.
+     */
+    @ElementCollection
+    @CollectionTable(name = "partial_aggregation_sources", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "source_id", nullable = false)
+    private List<Integer> sourceIds = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "partial_aggregation_flashcards", joinColumns = @JoinColumn(name = "job_id"))
+    private List<PartialFlashcard> flashcards = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PartialAggregation(Integer jobId, Integer categoryItemId, Integer level) {
+        this.jobId = jobId;
+        this.categoryItemId = categoryItemId;
+        this.level = level;
+    }
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class PartialFlashcard {
+        @Column(nullable = false, columnDefinition = "TEXT")
+        private String question;
+
+        @Column(nullable = false, columnDefinition = "TEXT")
+        private String answer;
+
+        public PartialFlashcard(String question, String answer) {
+            this.question = question;
+            this.answer = answer;
+        }
+    }
+}
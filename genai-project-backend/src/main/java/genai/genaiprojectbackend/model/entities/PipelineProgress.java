@@ -0,0 +1,69 @@
+package genai.genaiprojectbackend.model.entities;
+
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fan-in state of one generation run. The counters are only ever changed through the
+ * atomic UPDATEs in PipelineProgressRepository, never by saving a loaded entity.
+ */
+@Entity
+@Table(name = "pipeline_progress")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PipelineProgress {
+
+    @Id
+    @Column(name = "category_item_id")
+    private Integer categoryItemId;
+
+    @Column(name = "expected_files", nullable = false)
+    private int expectedFiles;
+
+    @Column(name = "extracted_files", nullable = false)
+    private int extractedFiles;
+
+    @Column(name = "failed_files", nullable = false)
+    private int failedFiles;
+
+    @Column(name = "expected_chunks", nullable = false)
+    private int expectedChunks;
+
+    @Column(name = "summarized_chunks", nullable = false)
+    private int summarizedChunks;
+
+    @Column(name = "completed_chunks", nullable = false)
+    private int completedChunks;
+
+    @Column(name = "failed_chunks", nullable = false)
+    private int failedChunks;
+
+    @Column(name = "aggregation_triggered", nullable = false)
+    private boolean aggregationTriggered;
+
+    @Convert(converter = GenerationPriorityConverter.class)
+    @Column(name = "priority", nullable = false)
+    private GenerationPriority priority = GenerationPriority.BULK;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PipelineProgress(Integer categoryItemId, int expectedFiles, GenerationPriority priority) {
+        this.categoryItemId = categoryItemId;
+        this.expectedFiles = expectedFiles;
+        this.priority = priority;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,6 +1,8 @@
 package genai.genaiprojectbackend.model.entities;
 
 import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
@@ -11,9 +13,11 @@ import java.time.LocalDateTime;
                 @UniqueConstraint(name = "uq_chunks_file_index", columnNames = {"file_id", "chunk_index"})
         }
 )
+@Getter
 public class TextChunk {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "text_chunks_id_seq")
+    @SequenceGenerator(name = "text_chunks_id_seq", sequenceName = "text_chunks_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +36,10 @@ public class TextChunk {
     @Column(name = "text_content", nullable = false, columnDefinition = "TEXT")
     private String textContent;
 
+    @Setter
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,28 @@
+package genai.genaiprojectbackend.model.enums;
+
+/**
+ * Lane of a generation run. INTERACTIVE runs (small uploads, or requested explicitly) get more turns in the
+ * dispatch scheduler and a higher AMQP message priority than BULK runs, without starving them.
+ */
+public enum GenerationPriority {
+    INTERACTIVE(2),
+    BULK(0);
+
+    private final int level;
+
+    GenerationPriority(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Higher is more urgent. Stored in the priority columns and used as AMQP priority of the run's job
+     * messages; the LLM job queues are declared with x-max-priority 2.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public static GenerationPriority ofLevel(int level) {
+        return level >= INTERACTIVE.level ? INTERACTIVE : BULK;
+    }
+}
@@ -4,5 +4,6 @@ public enum JobType {
     TEXT_EXTRACTION,
     SUMMARY_GENERATION,
     FLASHCARD_GENERATION,
+    PARTIAL_AGGREGATION,
     AGGREGATION
 }
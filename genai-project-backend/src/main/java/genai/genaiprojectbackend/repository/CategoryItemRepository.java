@@ -1,17 +1,63 @@
 package genai.genaiprojectbackend.repository;
 
 import genai.genaiprojectbackend.model.entities.CategoryItem;
+import genai.genaiprojectbackend.repository.projection.CategoryItemSummary;
+import genai.genaiprojectbackend.repository.projection.GenerationVersion;
 import genai.genaiprojectbackend.repository.projection.StatusOnly;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CategoryItemRepository extends JpaRepository<CategoryItem, Integer> {
+    String SUMMARY_SELECT = """
+            SELECT i.id AS id, i.category.id AS categoryId, i.name AS name, i.description AS description, i.createdAt AS createdAt
+            FROM CategoryItem i
+            """;
+
     List<CategoryItem> findAllByCategoryIdOrderByCreatedAtDesc(Integer categoryId);
 
+    @Query(SUMMARY_SELECT + "ORDER BY i.category.id, i.createdAt DESC, i.id DESC")
+    List<CategoryItemSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE i.id IN :ids ORDER BY i.category.id, i.createdAt DESC, i.id DESC")
+    List<CategoryItemSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE i.category.id = :categoryId ORDER BY i.createdAt DESC, i.id DESC")
+    List<CategoryItemSummary> findSummariesByCategoryId(@Param("categoryId") Integer categoryId, Limit limit);
+
+    /**
+     * Keyset page of one category's items, served by idx_category_items_category_created_at.
+     */
+    @Query(SUMMARY_SELECT + """
+            WHERE i.category.id = :categoryId AND (i.createdAt, i.id) < (:createdAt, :id)
+            ORDER BY i.createdAt DESC, i.id DESC
+            """)
+    List<CategoryItemSummary> findSummariesByCategoryIdAfter(@Param("categoryId") Integer categoryId,
+                                                             @Param("createdAt") Instant createdAt,
+                                                             @Param("id") Integer id,
+                                                             Limit limit);
+
+    /**
+     * Ids of the newest {@code perCategory} items of each given category (one index range scan per category).
+     */
+    @Query(value = """
+            SELECT newest.id
+            FROM unnest(CAST(:categoryIds AS INTEGER[])) AS c(id)
+            CROSS JOIN LATERAL (
+                SELECT i.id FROM category_items i
+                WHERE i.category_id = c.id
+                ORDER BY i.created_at DESC, i.id DESC
+                LIMIT :perCategory
+            ) newest
+            """, nativeQuery = true)
+    List<Integer> findNewestIdsPerCategory(@Param("categoryIds") Integer[] categoryIds, @Param("perCategory") int perCategory);
+
     boolean existsByCategoryIdAndName(Integer categoryId, String name);
 
     @Query("SELECT ci FROM CategoryItem ci " +
@@ -21,4 +67,22 @@ public interface CategoryItemRepository extends JpaRepository<CategoryItem, Inte
     Optional<CategoryItem> findByIdWithCategoryAndFiles(@Param("id") Integer id);
 
     Optional<StatusOnly> findProjectedById(Integer id);
+
+    /**
+     * Status of the item and id of its final summary (null until aggregation finished), the version of its generation.
+     */
+    @Query(value = """
+            SELECT ci.status AS status, fs.id AS summaryId
+            FROM category_items ci
+            LEFT JOIN final_summaries fs ON fs.category_item_id = ci.id
+            WHERE ci.id = :id
+            """, nativeQuery = true)
+    Optional<GenerationVersion> findGenerationVersionById(@Param("id") Integer id);
+
+    /**
+     * Row lock on the category item, held until the surrounding transaction ends.
+     * Serializes fan-in decisions for one item while results of other items are processed in parallel.
+     */
+    @Query(value = "SELECT status FROM category_items WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> lockStatusById(@Param("id") Integer id);
 }
@@ -1,19 +1,33 @@
 package genai.genaiprojectbackend.repository;
 
 import genai.genaiprojectbackend.model.entities.Category;
+import genai.genaiprojectbackend.repository.projection.CategorySummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
-    @Query("""
-                SELECT DISTINCT c
-                FROM Category c
-                LEFT JOIN FETCH c.items
-                ORDER BY c.createdAt DESC
+    String SUMMARY_SELECT = """
+            SELECT c.id AS id, c.name AS name, c.description AS description, c.createdAt AS createdAt,
+                   (SELECT count(i) FROM CategoryItem i WHERE i.category = c) AS itemCount
+            FROM Category c
+            """;
+
+    @Query(SUMMARY_SELECT + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CategorySummary> findSummaries(Limit limit);
+
+    /**
+     * Keyset page after (createdAt, id) of the last category of the previous page, served by idx_categories_created_at.
+     */
+    @Query(SUMMARY_SELECT + """
+            WHERE (c.createdAt, c.id) < (:createdAt, :id)
+            ORDER BY c.createdAt DESC, c.id DESC
             """)
-    List<Category> findAllWithItemsOrderByCreatedAtDesc();
+    List<CategorySummary> findSummariesAfter(@Param("createdAt") Instant createdAt, @Param("id") Integer id, Limit limit);
 
     Boolean existsByName(String name);
 }
@@ -0,0 +1,68 @@
+package genai.genaiprojectbackend.repository;
+
+import genai.genaiprojectbackend.model.entities.ChunkResult;
+import genai.genaiprojectbackend.repository.projection.KnownFileChunks;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChunkResultRepository extends JpaRepository<ChunkResult, String> {
+
+    /**
+     * Cached results with their flashcards, in one query for the whole batch.
+     */
+    @Query("SELECT DISTINCT r FROM ChunkResult r LEFT JOIN FETCH r.flashcards WHERE r.chunkHash IN :chunkHashes")
+    List<ChunkResult> findAllWithFlashcardsByChunkHashIn(@Param("chunkHashes") Collection<String> chunkHashes);
+
+    /**
+     * Returns 1 if this call stored the result, 0 if another item already cached the same chunk.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO chunk_results (chunk_hash, text_content, summary_text, created_at)
+            VALUES (:chunkHash, :textContent, :summaryText, now())
+            ON CONFLICT (chunk_hash) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("chunkHash") String chunkHash,
+                       @Param("textContent") String textContent,
+                       @Param("summaryText") String summaryText);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO chunk_result_flashcards (chunk_hash, question, answer)
+            VALUES (:chunkHash, :question, :answer)
+            """, nativeQuery = true)
+    void insertFlashcard(@Param("chunkHash") String chunkHash,
+                         @Param("question") String question,
+                         @Param("answer") String answer);
+
+    /**
+     * Remembers the ordered chunk hashes and page ranges of a file so an identical upload can skip text extraction.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO file_chunk_hashes (file_hash, chunk_hashes, page_starts, page_ends, created_at)
+            VALUES (:fileHash, string_to_array(:chunkHashes, ','),
+                    string_to_array(:pageStarts, ',')::int[], string_to_array(:pageEnds, ',')::int[], now())
+            ON CONFLICT (file_hash) DO NOTHING
+            """, nativeQuery = true)
+    void insertFileChunkHashes(@Param("fileHash") String fileHash,
+                               @Param("chunkHashes") String chunkHashes,
+                               @Param("pageStarts") String pageStarts,
+                               @Param("pageEnds") String pageEnds);
+
+    @Query(value = """
+            SELECT array_to_string(chunk_hashes, ',') AS chunkHashes,
+                   array_to_string(page_starts, ',') AS pageStarts,
+                   array_to_string(page_ends, ',') AS pageEnds
+            FROM file_chunk_hashes WHERE file_hash = :fileHash
+            """, nativeQuery = true)
+    Optional<KnownFileChunks> findFileChunkHashes(@Param("fileHash") String fileHash);
+}
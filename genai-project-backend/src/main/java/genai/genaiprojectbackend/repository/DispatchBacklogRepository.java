@@ -0,0 +1,77 @@
+package genai.genaiprojectbackend.repository;
+
+import genai.genaiprojectbackend.model.entities.DispatchBacklog;
+import genai.genaiprojectbackend.repository.projection.BacklogEntry;
+import genai.genaiprojectbackend.repository.projection.BacklogItem;
+import genai.genaiprojectbackend.repository.projection.JobTypeCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DispatchBacklogRepository extends JpaRepository<DispatchBacklog, Integer> {
+
+    /**
+     * Queues the given (already inserted) jobs in the lane of their generation run; jobs that are queued
+     * already are skipped.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO dispatch_backlog (job_id, category_item_id, job_type, trace_parent, priority)
+            SELECT j.id, j.category_item_id, j.job_type, :traceParent, COALESCE(p.priority, 0)
+            FROM jobs j
+            LEFT JOIN pipeline_progress p ON p.category_item_id = j.category_item_id
+            WHERE j.id IN (:jobIds) AND j.category_item_id IS NOT NULL
+            ON CONFLICT (job_id) DO NOTHING
+            """, nativeQuery = true)
+    int enqueue(@Param("jobIds") Collection<Integer> jobIds, @Param("traceParent") String traceParent);
+
+    /**
+     * Items with waiting jobs in round-robin order: ids after {@code after} first, then from the lowest id on.
+     * The scheduler moves {@code after} along, so every item gets its turns even with more items than the limit.
+     */
+    @Query(value = """
+            SELECT category_item_id AS categoryItemId, count(*) AS jobs, max(priority) AS priority
+            FROM dispatch_backlog
+            GROUP BY category_item_id
+            ORDER BY category_item_id <= :after, category_item_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<BacklogItem> findBacklogItems(@Param("after") int after, @Param("limit") int limit);
+
+    /**
+     * Locks the oldest waiting jobs of an item. Rows locked by another transaction are skipped.
+     */
+    @Query(value = """
+            SELECT b.job_id AS jobId, b.job_type AS jobType, j.status AS status, j.source_chunk_id AS sourceChunkId,
+                   b.trace_parent AS traceParent,
+                   CAST(EXTRACT(EPOCH FROM (now() - b.created_at)) * 1000 AS BIGINT) AS waitMillis
+            FROM dispatch_backlog b
+            JOIN jobs j ON j.id = b.job_id
+            WHERE b.category_item_id = :categoryItemId
+            ORDER BY b.job_id
+            LIMIT :limit
+            FOR UPDATE OF b SKIP LOCKED
+            """, nativeQuery = true)
+    List<BacklogEntry> lockOldestEntries(@Param("categoryItemId") Integer categoryItemId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM dispatch_backlog WHERE job_id IN (:jobIds)", nativeQuery = true)
+    int deleteAllByJobIds(@Param("jobIds") Collection<Integer> jobIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM dispatch_backlog WHERE category_item_id = :categoryItemId", nativeQuery = true)
+    int deleteAllByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
+
+    @Query(value = """
+            SELECT job_type AS jobType, count(*) AS count
+            FROM dispatch_backlog
+            GROUP BY job_type
+            """, nativeQuery = true)
+    List<JobTypeCount> countByJobType();
+}
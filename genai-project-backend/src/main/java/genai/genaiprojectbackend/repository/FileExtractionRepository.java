@@ -0,0 +1,88 @@
+package genai.genaiprojectbackend.repository;
+
+import genai.genaiprojectbackend.model.entities.FileExtraction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FileExtractionRepository extends JpaRepository<FileExtraction, Long> {
+
+    /**
+     * Creates the file's row if needed and locks it until commit, so batches of one file are ingested one
+     * at a time and a redelivered batch sees the chunks of the first delivery.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO file_extractions (file_id, category_item_id)
+            VALUES (:fileId, :categoryItemId)
+            ON CONFLICT (file_id) DO UPDATE SET updated_at = now()
+            """, nativeQuery = true)
+    int lockForBatch(@Param("fileId") Long fileId, @Param("categoryItemId") Integer categoryItemId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO file_extractions (file_id, category_item_id, received_chunks)
+            VALUES (:fileId, :categoryItemId, :chunks)
+            ON CONFLICT (file_id) DO UPDATE
+            SET received_chunks = file_extractions.received_chunks + EXCLUDED.received_chunks,
+                updated_at = now()
+            """, nativeQuery = true)
+    int recordChunks(@Param("fileId") Long fileId, @Param("categoryItemId") Integer categoryItemId, @Param("chunks") int chunks);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO file_extractions (file_id, category_item_id, total_chunks)
+            VALUES (:fileId, :categoryItemId, :totalChunks)
+            ON CONFLICT (file_id) DO UPDATE
+            SET total_chunks = EXCLUDED.total_chunks, updated_at = now()
+            """, nativeQuery = true)
+    int recordTotal(@Param("fileId") Long fileId, @Param("categoryItemId") Integer categoryItemId, @Param("totalChunks") int totalChunks);
+
+    /**
+     * A file whose chunks were materialized from earlier results, without extraction.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO file_extractions (file_id, category_item_id, received_chunks, total_chunks, closed)
+            VALUES (:fileId, :categoryItemId, :chunks, :chunks, TRUE)
+            ON CONFLICT (file_id) DO NOTHING
+            """, nativeQuery = true)
+    int recordReused(@Param("fileId") Long fileId, @Param("categoryItemId") Integer categoryItemId, @Param("chunks") int chunks);
+
+    /**
+     * Closes the file once the end-of-file marker and all chunks have arrived, in whatever order.
+     * Like claimAggregation, exactly one caller sees an update count of 1.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE file_extractions
+            SET closed = TRUE, updated_at = now()
+            WHERE file_id = :fileId
+              AND NOT closed
+              AND total_chunks IS NOT NULL
+              AND received_chunks >= total_chunks
+            """, nativeQuery = true)
+    int claimClose(@Param("fileId") Long fileId);
+
+    /**
+     * Closes the file as failed; 1 if it was still open (or unknown), 0 if it was closed before.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO file_extractions (file_id, category_item_id, closed, failed)
+            VALUES (:fileId, :categoryItemId, TRUE, TRUE)
+            ON CONFLICT (file_id) DO UPDATE
+            SET closed = TRUE, failed = TRUE, updated_at = now()
+            WHERE NOT file_extractions.closed
+            """, nativeQuery = true)
+    int claimFailed(@Param("fileId") Long fileId, @Param("categoryItemId") Integer categoryItemId);
+
+    boolean existsByFileIdAndClosedTrue(Long fileId);
+
+    @Modifying
+    @Query(value = "DELETE FROM file_extractions WHERE category_item_id = :categoryItemId", nativeQuery = true)
+    int deleteAllByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
+}
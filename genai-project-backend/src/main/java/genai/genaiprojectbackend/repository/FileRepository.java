@@ -3,14 +3,29 @@ package genai.genaiprojectbackend.repository;
 import genai.genaiprojectbackend.model.dtos.WorkerFile;
 import genai.genaiprojectbackend.model.entities.File;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FileRepository extends JpaRepository<File, Long> {
     Optional<File> findFileByFilenameAndUploaded(String filename, Boolean uploaded);
+    List<File> findAllByFilenameIn(Collection<String> filenames);
+    List<File> findAllByFilenameInAndUploaded(Collection<String> filenames, Boolean uploaded);
     List<WorkerFile> findByCategoryItemId(Integer categoryItemId);
+    List<File> findAllByCategoryItem_IdAndContentHashIsNotNull(Integer categoryItemId);
+
+    @Query("SELECT f.contentHash FROM File f WHERE f.id = :id")
+    Optional<String> findContentHashById(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(SUM(f.sizeBytes), 0) FROM File f WHERE f.categoryItem.id = :categoryItemId")
+    long sumSizeBytesByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
+
+    @Query("SELECT f.filename FROM File f WHERE f.id = :id")
+    Optional<String> findFilenameById(@Param("id") Long id);
 }
 
@@ -2,20 +2,100 @@ package genai.genaiprojectbackend.repository;
 
 import genai.genaiprojectbackend.model.entities.Job;
 import genai.genaiprojectbackend.model.enums.JobStatus;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.repository.projection.JobTypeCount;
+import genai.genaiprojectbackend.repository.projection.StaleJob;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Integer> {
     long countByFileIdAndStatusIn(Long fileId, Collection<JobStatus> statuses);
     long countByCategoryItemIdAndStatusIn(Integer categoryItemId, Collection<JobStatus> statuses);
+    long countByCategoryItemIdAndJobTypeAndStatusIn(Integer categoryItemId, JobType jobType, Collection<JobStatus> statuses);
+
+    /**
+     * Marks a running job as alive, e.g. per streamed batch, without overwriting a concurrent status change.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE jobs SET status = 'IN_PROGRESS', updated_at = now()
+            WHERE id = :id AND status IN ('PENDING', 'IN_PROGRESS')
+            """, nativeQuery = true)
+    int heartbeat(@Param("id") Integer id);
+
+    /**
+     * Finishes a running job. Returns 0 if it was already finished, failed or cancelled, e.g. by an earlier
+     * copy of the same result, so the caller can drop the duplicate before any side effect.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE jobs SET status = 'FINISHED', updated_at = now()
+            WHERE id = :id AND status IN ('PENDING', 'IN_PROGRESS')
+            """, nativeQuery = true)
+    int finish(@Param("id") Integer id);
+
+    /**
+     * Fails a running job. Returns 0 if it was finished, failed or cancelled before, e.g. an error of the first,
+     * slow copy of a job whose republished copy already succeeded; such an error must not fail the item.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE jobs SET status = 'FAILED', updated_at = now()
+            WHERE id = :id AND status IN ('PENDING', 'IN_PROGRESS')
+            """, nativeQuery = true)
+    int fail(@Param("id") Integer id);
+
+    /**
+     * Counts a retry of a running job without touching its status; 0 if a result finished it meanwhile.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE jobs SET attempts = attempts + 1, updated_at = now()
+            WHERE id = :id AND status IN ('PENDING', 'IN_PROGRESS')
+            """, nativeQuery = true)
+    int incrementAttempts(@Param("id") Integer id);
+
+    /**
+     * Starts the deadline of jobs that waited in the dispatch backlog at the moment they are published.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE jobs SET updated_at = now()
+            WHERE id IN (:ids) AND status IN ('PENDING', 'IN_PROGRESS')
+            """, nativeQuery = true)
+    int markDispatched(@Param("ids") Collection<Integer> ids);
 
     @Modifying
     @Query("UPDATE Job j SET j.status = 'CANCELLED' WHERE j.categoryItemId = :categoryItemId AND j.status NOT IN ('FINISHED', 'FAILED')")
     void cancelRemainingJobs(@Param("categoryItemId") Integer categoryItemId);
-}
\ No newline at end of file
+
+    @Query(value = """
+            SELECT job_type AS jobType, count(*) AS count
+            FROM jobs
+            WHERE status IN ('PENDING', 'IN_PROGRESS')
+            GROUP BY job_type
+            """, nativeQuery = true)
+    List<JobTypeCount> countActiveJobsByType();
+
+    /**
+     * Active jobs of one type not updated since {@code before}, oldest first (idx_jobs_status_updated_at).
+     * Jobs still waiting in the dispatch backlog have not been published yet and are not stuck.
+     */
+    @Query(value = """
+            SELECT j.id AS id, j.category_item_id AS categoryItemId
+            FROM jobs j
+            WHERE j.status IN ('PENDING', 'IN_PROGRESS') AND j.updated_at < :before AND j.job_type = :jobType
+              AND NOT EXISTS (SELECT 1 FROM dispatch_backlog b WHERE b.job_id = j.id)
+            ORDER BY j.updated_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<StaleJob> findStaleJobs(@Param("jobType") String jobType, @Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package genai.genaiprojectbackend.repository;
+
+import genai.genaiprojectbackend.model.entities.PartialAggregation;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PartialAggregationRepository extends JpaRepository<PartialAggregation, Integer> {
+
+    @EntityGraph(attributePaths = "flashcards")
+    List<PartialAggregation> findAllByCategoryItemIdAndLevelOrderByJobId(Integer categoryItemId, Integer level);
+
+    @Query("SELECT max(p.level) FROM PartialAggregation p WHERE p.categoryItemId = :categoryItemId")
+    Integer findMaxLevelByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
+
+    /**
+     * Sources and flashcards go with their rows through ON DELETE CASCADE.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM partial_aggregations WHERE category_item_id = :categoryItemId", nativeQuery = true)
+    int deleteAllByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
+}
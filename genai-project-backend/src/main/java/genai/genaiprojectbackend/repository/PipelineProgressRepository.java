@@ -0,0 +1,120 @@
+package genai.genaiprojectbackend.repository;
+
+import genai.genaiprojectbackend.model.entities.PipelineProgress;
+import genai.genaiprojectbackend.repository.projection.PipelineStatusView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PipelineProgressRepository extends JpaRepository<PipelineProgress, Integer> {
+
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET extracted_files = extracted_files + 1, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordFileExtracted(@Param("categoryItemId") Integer categoryItemId);
+
+    /**
+     * Chunks of a file, counted as they arrive; the file itself is counted by recordFileExtracted.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET expected_chunks = expected_chunks + :chunks, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordChunksExtracted(@Param("categoryItemId") Integer categoryItemId, @Param("chunks") int chunks);
+
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET failed_files = failed_files + 1, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordFileFailed(@Param("categoryItemId") Integer categoryItemId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET summarized_chunks = summarized_chunks + :chunks, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordChunksSummarized(@Param("categoryItemId") Integer categoryItemId, @Param("chunks") int chunks);
+
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET completed_chunks = completed_chunks + 1, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordChunkCompleted(@Param("categoryItemId") Integer categoryItemId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET completed_chunks = completed_chunks + :chunks, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordChunksCompleted(@Param("categoryItemId") Integer categoryItemId, @Param("chunks") int chunks);
+
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress
+            SET failed_chunks = failed_chunks + 1, updated_at = now()
+            WHERE category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int recordChunkFailed(@Param("categoryItemId") Integer categoryItemId);
+
+    /**
+     * Flips aggregation_triggered once every file is extracted (or failed) and every chunk has finished or failed.
+     * The row lock taken by the UPDATE makes exactly one caller (across threads and backend instances)
+     * see an update count of 1.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE pipeline_progress p
+            SET aggregation_triggered = TRUE, updated_at = now()
+            WHERE p.category_item_id = :categoryItemId
+              AND NOT p.aggregation_triggered
+              AND p.extracted_files + p.failed_files >= p.expected_files
+              AND p.completed_chunks + p.failed_chunks >= p.expected_chunks
+              AND EXISTS (SELECT 1 FROM category_items ci WHERE ci.id = p.category_item_id AND ci.status = 'PROCESSING')
+            """, nativeQuery = true)
+    int claimAggregation(@Param("categoryItemId") Integer categoryItemId);
+
+    @Query(value = """
+            SELECT EXISTS (SELECT 1 FROM pipeline_progress
+                           WHERE category_item_id = :categoryItemId AND extracted_files + failed_files >= expected_files)
+            """, nativeQuery = true)
+    boolean allFilesExtracted(@Param("categoryItemId") Integer categoryItemId);
+
+    @Query(value = """
+            SELECT EXISTS (SELECT 1 FROM pipeline_progress
+                           WHERE category_item_id = :categoryItemId AND failed_files >= expected_files)
+            """, nativeQuery = true)
+    boolean allFilesFailed(@Param("categoryItemId") Integer categoryItemId);
+
+    @Query(value = """
+            SELECT ci.status AS status,
+                   ci.failed_job_type AS failedJobType,
+                   COALESCE(p.expected_files, 0) AS expectedFiles,
+                   COALESCE(p.extracted_files, 0) AS extractedFiles,
+                   COALESCE(p.failed_files, 0) AS failedFiles,
+                   COALESCE(p.expected_chunks, 0) AS extractedChunks,
+                   COALESCE(p.summarized_chunks, 0) AS summarizedChunks,
+                   COALESCE(p.completed_chunks, 0) AS flashcardChunks,
+                   COALESCE(p.failed_chunks, 0) AS failedChunks,
+                   COALESCE(p.aggregation_triggered, FALSE) AS aggregationStarted
+            FROM category_items ci
+            LEFT JOIN pipeline_progress p ON p.category_item_id = ci.id
+            WHERE ci.id = :categoryItemId
+            """, nativeQuery = true)
+    Optional<PipelineStatusView> findStatusView(@Param("categoryItemId") Integer categoryItemId);
+}
@@ -0,0 +1,50 @@
+package genai.genaiprojectbackend.repository;
+
+import genai.genaiprojectbackend.model.entities.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO scheduler_locks (name, locked_until, locked_by)
+            VALUES (:name, now(), '')
+            ON CONFLICT (name) DO NOTHING
+            """, nativeQuery = true)
+    void createIfAbsent(@Param("name") String name);
+
+    /**
+     * Like tryAcquire, but also extends the lease if the caller holds it already.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE scheduler_locks
+            SET locked_until = now() + make_interval(secs => :leaseSeconds), locked_by = :owner
+            WHERE name = :name AND (locked_until <= now() OR locked_by = :owner)
+            """, nativeQuery = true)
+    int tryAcquireOrRenew(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Takes the lease if it is free or expired. Returns 1 for the single caller that got it.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE scheduler_locks
+            SET locked_until = now() + make_interval(secs => :leaseSeconds), locked_by = :owner
+            WHERE name = :name AND locked_until <= now()
+            """, nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Query(value = """
+            UPDATE scheduler_locks
+            SET locked_until = now()
+            WHERE name = :name AND locked_by = :owner
+            """, nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -2,6 +2,9 @@ package genai.genaiprojectbackend.repository;
 
 import genai.genaiprojectbackend.model.entities.SummaryChunk;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,16 @@ import java.util.List;
 public interface SummaryChunkRepository extends JpaRepository<SummaryChunk, Integer> {
     List<SummaryChunk> findAllByTextChunk_File_Id(Long fileId);
     List<SummaryChunk> findAllByTextChunk_File_CategoryItem_Id(Integer categoryItemId);
+    List<SummaryChunk> findAllByTextChunk_File_CategoryItem_IdOrderByTextChunk_File_IdAscTextChunk_ChunkIndexAsc(Integer categoryItemId);
+
+    /**
+     * Bulk delete via idx_chunks_category_item and idx_summary_text_chunk; temporary flashcards must be gone first.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM summary_chunks sc
+            USING text_chunks tc
+            WHERE sc.text_chunk_id = tc.id AND tc.category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int deleteAllByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package genai.genaiprojectbackend.repository;
 
 import genai.genaiprojectbackend.model.entities.TemporaryFlashcard;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,15 @@ import java.util.List;
 public interface TemporaryFlashcardRepository extends JpaRepository<TemporaryFlashcard, Integer> {
     List<TemporaryFlashcard> findAllBySummaryChunk_TextChunk_File_Id(Long fileId);
     List<TemporaryFlashcard> findAllBySummaryChunk_TextChunk_File_CategoryItem_Id(Integer categoryItemId);
+
+    /**
+     * Bulk delete via idx_chunks_category_item, idx_summary_text_chunk and idx_temp_flashcards_summary_chunk.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM temporary_flashcards tf
+            USING summary_chunks sc, text_chunks tc
+            WHERE tf.summary_chunk_id = sc.id AND sc.text_chunk_id = tc.id AND tc.category_item_id = :categoryItemId
+            """, nativeQuery = true)
+    int deleteAllByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
 }
\ No newline at end of file
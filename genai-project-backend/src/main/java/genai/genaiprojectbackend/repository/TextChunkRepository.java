@@ -1,7 +1,11 @@
 package genai.genaiprojectbackend.repository;
 
 import genai.genaiprojectbackend.model.entities.TextChunk;
+import genai.genaiprojectbackend.repository.projection.ChunkPosition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +14,30 @@ import java.util.Optional;
 @Repository
 public interface TextChunkRepository extends JpaRepository<TextChunk, Integer> {
     Optional<TextChunk> findByFile_IdAndChunkIndex(Long fileId, Integer chunkIndex);
-    List<TextChunk> findAllByCategoryItem_Id(Integer categoryItemId);
+    boolean existsByFile_Id(Long fileId);
+    boolean existsByFile_IdAndChunkIndex(Long fileId, Integer chunkIndex);
+
+    @Query("""
+            SELECT t.contentHash AS contentHash, coalesce(t.pageStart, 0) AS pageStart, coalesce(t.pageEnd, 0) AS pageEnd
+            FROM TextChunk t WHERE t.file.id = :fileId ORDER BY t.chunkIndex
+            """)
+    List<ChunkPosition> findChunkPositionsByFileId(@Param("fileId") Long fileId);
+
+    /**
+     * Bulk delete via idx_chunks_category_item; summary chunks must be gone first.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM text_chunks WHERE category_item_id = :categoryItemId", nativeQuery = true)
+    int deleteAllByCategoryItemId(@Param("categoryItemId") Integer categoryItemId);
+
+    /**
+     * COMPLETED or FAILED items that still have temporary pipeline data, e.g. because the replica died before cleaning up.
+     */
+    @Query(value = """
+            SELECT ci.id FROM category_items ci
+            WHERE ci.status IN ('COMPLETED', 'FAILED')
+              AND EXISTS (SELECT 1 FROM text_chunks tc WHERE tc.category_item_id = ci.id)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Integer> findFinishedItemIdsWithChunks(@Param("limit") int limit);
 }
\ No newline at end of file
@@ -4,9 +4,13 @@ import genai.genaiprojectbackend.model.entities.File;
 import genai.genaiprojectbackend.model.entities.Url;
 import io.minio.http.Method;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,7 +62,28 @@ public interface UrlRepository extends JpaRepository<Url, Long> {
 
     void deleteByFileIdAndMethod(Long fileId, Method method);
 
+    /**
+     * Unexpired URLs of several files, with the file fetched in the same query.
+     */
+    @Query("SELECT u FROM Url u JOIN FETCH u.file f WHERE f.filename IN :filenames AND u.method = :method AND u.expiresAt > :after")
+    List<Url> findValidByFilenames(@Param("filenames") Collection<String> filenames, @Param("method") Method method,
+                                   @Param("after") Instant after);
+
+    @Modifying
+    @Query(value = "DELETE FROM urls WHERE file_id IN (:fileIds) AND method = :method", nativeQuery = true)
+    int deleteByFileIdsAndMethod(@Param("fileIds") Collection<Long> fileIds, @Param("method") String method);
+
     List<Url> getUrlsByExpiresAtBefore(Instant expiresAtBefore);
+
+    /**
+     * Deletes at most batchSize expired rows (served by idx_urls_expires_at) and returns how many were removed.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM urls
+            WHERE id IN (SELECT id FROM urls WHERE expires_at < :now LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
 }
 
 
@@ -0,0 +1,10 @@
+package genai.genaiprojectbackend.repository.projection;
+
+public interface BacklogEntry {
+    Integer getJobId();
+    String getJobType();
+    String getStatus();
+    Integer getSourceChunkId();
+    String getTraceParent();
+    long getWaitMillis();
+}
@@ -0,0 +1,7 @@
+package genai.genaiprojectbackend.repository.projection;
+
+public interface BacklogItem {
+    Integer getCategoryItemId();
+    int getJobs();
+    int getPriority();
+}
@@ -0,0 +1,11 @@
+package genai.genaiprojectbackend.repository.projection;
+
+import java.time.Instant;
+
+public interface CategoryItemSummary {
+    Integer getId();
+    Integer getCategoryId();
+    String getName();
+    String getDescription();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,11 @@
+package genai.genaiprojectbackend.repository.projection;
+
+import java.time.Instant;
+
+public interface CategorySummary {
+    Integer getId();
+    String getName();
+    String getDescription();
+    Instant getCreatedAt();
+    long getItemCount();
+}
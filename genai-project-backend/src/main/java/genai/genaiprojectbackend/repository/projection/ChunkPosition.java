@@ -0,0 +1,7 @@
+package genai.genaiprojectbackend.repository.projection;
+
+public interface ChunkPosition {
+    String getContentHash();
+    Integer getPageStart();
+    Integer getPageEnd();
+}
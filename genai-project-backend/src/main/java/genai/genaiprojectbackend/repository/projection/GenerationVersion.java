@@ -0,0 +1,6 @@
+package genai.genaiprojectbackend.repository.projection;
+
+public interface GenerationVersion {
+    String getStatus();
+    Integer getSummaryId();
+}
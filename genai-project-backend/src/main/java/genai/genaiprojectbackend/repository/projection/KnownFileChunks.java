@@ -0,0 +1,10 @@
+package genai.genaiprojectbackend.repository.projection;
+
+/**
+ * A row of file_chunk_hashes with its arrays joined by commas, in chunk order.
+ */
+public interface KnownFileChunks {
+    String getChunkHashes();
+    String getPageStarts();
+    String getPageEnds();
+}
@@ -0,0 +1,14 @@
+package genai.genaiprojectbackend.repository.projection;
+
+public interface PipelineStatusView {
+    String getStatus();
+    String getFailedJobType();
+    Integer getExpectedFiles();
+    Integer getExtractedFiles();
+    Integer getFailedFiles();
+    Integer getExtractedChunks();
+    Integer getSummarizedChunks();
+    Integer getFlashcardChunks();
+    Integer getFailedChunks();
+    Boolean getAggregationStarted();
+}
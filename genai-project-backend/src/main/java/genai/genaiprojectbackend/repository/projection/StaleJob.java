@@ -0,0 +1,6 @@
+package genai.genaiprojectbackend.repository.projection;
+
+public interface StaleJob {
+    Integer getId();
+    Integer getCategoryItemId();
+}
@@ -1,30 +1,45 @@
 package genai.genaiprojectbackend.service.category;
 
 import genai.genaiprojectbackend.api.category.dtos.CategoryDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategoryItemPageDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategoryPageDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategorySummaryDTO;
 import genai.genaiprojectbackend.api.category.dtos.CreateCategoryDTO;
 import genai.genaiprojectbackend.api.categoryitem.dtos.CategoryListItemDTO;
 import genai.genaiprojectbackend.api.exceptions.BadRequestException;
 import genai.genaiprojectbackend.api.exceptions.NotFoundException;
+import genai.genaiprojectbackend.mapper.CategoryMapper;
 import genai.genaiprojectbackend.model.entities.Category;
-import genai.genaiprojectbackend.model.entities.CategoryItem;
+import genai.genaiprojectbackend.repository.CategoryItemRepository;
 import genai.genaiprojectbackend.repository.CategoryRepository;
+import genai.genaiprojectbackend.repository.projection.CategoryItemSummary;
+import genai.genaiprojectbackend.repository.projection.CategorySummary;
 import genai.genaiprojectbackend.service.categoryitem.ICategoryItemService;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CategoryService implements ICategoryService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final CategoryRepository repository;
+    private final CategoryItemRepository itemRepository;
     private final ICategoryItemService categoryItemService;
+    private final CategoryMapper mapper;
 
-    public CategoryService(CategoryRepository repository, ICategoryItemService categoryItemService) {
+    public CategoryService(CategoryRepository repository, CategoryItemRepository itemRepository,
+                           ICategoryItemService categoryItemService, CategoryMapper mapper) {
         this.repository = repository;
+        this.itemRepository = itemRepository;
         this.categoryItemService = categoryItemService;
+        this.mapper = mapper;
     }
 
     @Override
@@ -46,15 +61,92 @@ public class CategoryService implements ICategoryService {
         return toDTO(category);
     }
 
+    /**
+     * Every category with all its items, read through projections and ordered by the database.
+     */
     @Override
     @Transactional(readOnly = true)
     public List<CategoryDTO> getAll() {
-        return repository.findAllWithItemsOrderByCreatedAtDesc()
+        Map<Integer, List<CategoryListItemDTO>> items = itemRepository.findAllSummaries().stream()
+                .collect(Collectors.groupingBy(CategoryItemSummary::getCategoryId,
+                        Collectors.mapping(mapper::toItemDTO, Collectors.toList())));
+        return repository.findSummaries(Limit.unlimited())
                 .stream()
-                .map(this::toDTO)
+                .map(category -> mapper.toDTO(category, items.getOrDefault(category.getId(), List.of())))
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CategoryPageDTO getPage(int size, String cursor, boolean countOnly, int itemsPerCategory) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<CategorySummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findSummaries(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = repository.findSummariesAfter(after.createdAt(), after.id(), limit);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<CategorySummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<Integer, List<CategoryListItemDTO>> items = countOnly || page.isEmpty()
+                ? Map.of()
+                : newestItems(page, Math.min(Math.max(itemsPerCategory, 0), MAX_PAGE_SIZE));
+        List<CategorySummaryDTO> categories = page.stream()
+                .map(category -> mapper.toSummaryDTO(category,
+                        countOnly ? null : items.getOrDefault(category.getId(), List.of())))
+                .toList();
+
+        CategorySummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new CategoryPageDTO(categories, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CategoryItemPageDTO getItemPage(Integer categoryId, int size, String cursor) {
+        if (!repository.existsById(categoryId)) {
+            throw new NotFoundException("Category not found with id: " + categoryId);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<CategoryItemSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = itemRepository.findSummariesByCategoryId(categoryId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = itemRepository.findSummariesByCategoryIdAfter(categoryId, after.createdAt(), after.id(), limit);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<CategoryItemSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        CategoryItemSummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new CategoryItemPageDTO(page.stream().map(mapper::toItemDTO).toList(), nextCursor);
+    }
+
+    private Map<Integer, List<CategoryListItemDTO>> newestItems(List<CategorySummary> categories, int perCategory) {
+        if (perCategory == 0) {
+            return Map.of();
+        }
+        Integer[] categoryIds = categories.stream()
+                .filter(category -> category.getItemCount() > 0)
+                .map(CategorySummary::getId)
+                .toArray(Integer[]::new);
+        if (categoryIds.length == 0) {
+            return Map.of();
+        }
+        List<Integer> itemIds = itemRepository.findNewestIdsPerCategory(categoryIds, perCategory);
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepository.findSummariesByIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CategoryItemSummary::getCategoryId,
+                        Collectors.mapping(mapper::toItemDTO, Collectors.toList())));
+    }
+
     @Override
     public void delete(Integer id) {
         if (!repository.existsById(id)) {
@@ -64,27 +156,6 @@ public class CategoryService implements ICategoryService {
     }
 
     private CategoryDTO toDTO(Category category) {
-        List<CategoryListItemDTO> items = category.getItems()
-                .stream()
-                .sorted(Comparator.comparing(CategoryItem::getCreatedAt).reversed())
-                .map(this::toItemDTO)
-                .toList();
-
-        return new CategoryDTO(
-                category.getId(),
-                category.getName(),
-                category.getDescription(),
-                category.getCreatedAt(),
-                items
-        );
-    }
-
-    private CategoryListItemDTO toItemDTO(CategoryItem item) {
-        return new CategoryListItemDTO(
-                item.getId(),
-                item.getName(),
-                item.getDescription(),
-                item.getCreatedAt()
-        );
+        return mapper.toDTO(category);
     }
 }
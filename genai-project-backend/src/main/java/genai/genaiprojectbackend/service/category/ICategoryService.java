@@ -1,6 +1,8 @@
 package genai.genaiprojectbackend.service.category;
 
 import genai.genaiprojectbackend.api.category.dtos.CategoryDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategoryItemPageDTO;
+import genai.genaiprojectbackend.api.category.dtos.CategoryPageDTO;
 import genai.genaiprojectbackend.api.category.dtos.CreateCategoryDTO;
 
 import java.util.List;
@@ -12,5 +14,19 @@ public interface ICategoryService {
 
     List<CategoryDTO> getAll();
 
+    /**
+     * Keyset page of categories, newest first.
+     *
+     * @param cursor           nextCursor of the previous page, null for the first page
+     * @param countOnly        only the item count per category, no items
+     * @param itemsPerCategory newest items included per category when not countOnly
+     */
+    CategoryPageDTO getPage(int size, String cursor, boolean countOnly, int itemsPerCategory);
+
+    /**
+     * Keyset page of a category's items, newest first.
+     */
+    CategoryItemPageDTO getItemPage(Integer categoryId, int size, String cursor);
+
     void delete(Integer id);
 }
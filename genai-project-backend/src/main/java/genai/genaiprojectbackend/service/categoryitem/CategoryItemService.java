@@ -3,19 +3,27 @@ package genai.genaiprojectbackend.service.categoryitem;
 import genai.genaiprojectbackend.api.categoryitem.dtos.*;
 import genai.genaiprojectbackend.api.exceptions.BadRequestException;
 import genai.genaiprojectbackend.api.exceptions.NotFoundException;
+import genai.genaiprojectbackend.configuration.DispatchProperties;
 import genai.genaiprojectbackend.mapper.CategoryItemMapper;
 import genai.genaiprojectbackend.model.dtos.StartTextExtractionJobDto;
 import genai.genaiprojectbackend.model.dtos.WorkerFile;
 import genai.genaiprojectbackend.model.entities.*;
 import genai.genaiprojectbackend.model.enums.CategoryItemStatus;
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
 import genai.genaiprojectbackend.model.enums.JobType;
 import genai.genaiprojectbackend.repository.*;
+import genai.genaiprojectbackend.repository.projection.GenerationVersion;
 import genai.genaiprojectbackend.repository.projection.StatusOnly;
-import genai.genaiprojectbackend.service.workers.WorkerStartService;
+import genai.genaiprojectbackend.service.extraction.TextExtractionStrategy;
+import genai.genaiprojectbackend.service.workers.PipelineCleanupService;
+import genai.genaiprojectbackend.service.workers.ResultReuseService;
+import genai.genaiprojectbackend.service.workers.WorkerResultService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -24,30 +32,51 @@ import java.util.stream.IntStream;
 public class CategoryItemService implements ICategoryItemService {
     private final CategoryItemRepository itemRepository;
     private final CategoryRepository categoryRepository;
-    private final WorkerStartService workerStartService;
     private final JobRepository jobRepository;
     private final FileRepository fileRepository;
     private final FinalFlashcardRepository flashcardRepository;
     private final FinalSummaryRepository summaryRepository;
+    private final PipelineProgressRepository pipelineProgressRepository;
+    private final ResultReuseService resultReuseService;
+    private final WorkerResultService workerResultService;
+    private final ApplicationEventPublisher eventPublisher;
     private final CategoryItemMapper mapper;
+    private final GenerationCache generationCache;
+    private final PipelineCleanupService pipelineCleanupService;
+    private final TextExtractionStrategy textExtractionStrategy;
+    private final DispatchProperties dispatchProperties;
 
     public CategoryItemService(
             CategoryItemRepository itemRepository,
             CategoryRepository categoryRepository,
-            WorkerStartService workerStartService,
             JobRepository jobRepository,
             FileRepository fileRepository,
             FinalFlashcardRepository flashcardRepository,
             FinalSummaryRepository summaryRepository,
-            CategoryItemMapper mapper) {
+            PipelineProgressRepository pipelineProgressRepository,
+            ResultReuseService resultReuseService,
+            WorkerResultService workerResultService,
+            ApplicationEventPublisher eventPublisher,
+            CategoryItemMapper mapper,
+            GenerationCache generationCache,
+            PipelineCleanupService pipelineCleanupService,
+            TextExtractionStrategy textExtractionStrategy,
+            DispatchProperties dispatchProperties) {
         this.itemRepository = itemRepository;
         this.categoryRepository = categoryRepository;
-        this.workerStartService = workerStartService;
         this.jobRepository = jobRepository;
         this.fileRepository = fileRepository;
         this.flashcardRepository = flashcardRepository;
         this.summaryRepository = summaryRepository;
+        this.pipelineProgressRepository = pipelineProgressRepository;
+        this.resultReuseService = resultReuseService;
+        this.workerResultService = workerResultService;
+        this.eventPublisher = eventPublisher;
         this.mapper = mapper;
+        this.generationCache = generationCache;
+        this.pipelineCleanupService = pipelineCleanupService;
+        this.textExtractionStrategy = textExtractionStrategy;
+        this.dispatchProperties = dispatchProperties;
     }
 
     @Override
@@ -78,19 +107,11 @@ public class CategoryItemService implements ICategoryItemService {
                 .orElseThrow(() -> new NotFoundException(
                         "Category item not found with id: " + id));
 
-        List<FinalFlashcard> flashcards = flashcardRepository.findAllByCategoryItemId(id);
-
-        List<FlashcardDTO> flashcardDTOs = flashcards.stream().map(flashcard -> new FlashcardDTO(
-                        flashcard.getId(),
-                        flashcard.getQuestion(),
-                        flashcard.getAnswer()
-                ))
-                .collect(Collectors.toList());
-
-        String summary = summaryRepository.findSummaryTextByCategoryItemId(id)
-                .orElse("");
+        Generation generation = readGeneration(id, item.getStatus() == CategoryItemStatus.COMPLETED
+                ? itemRepository.findGenerationVersionById(id).map(GenerationVersion::getSummaryId).orElse(null)
+                : null);
 
-        return mapper.toDetailsDTO(item, flashcardDTOs, summary);
+        return mapper.toDetailsDTO(item, generation.getFlashcards(), generation.getSummary());
     }
 
     @Override
@@ -108,17 +129,24 @@ public class CategoryItemService implements ICategoryItemService {
             throw new NotFoundException("Category item not found with id: " + id);
         }
         itemRepository.deleteById(id);
+        generationCache.evict(id);
     }
 
     @Override
     @Transactional
-    public void startGeneration(Integer categoryItemId) {
+    public void startGeneration(Integer categoryItemId, GenerationPriority priority) {
         CategoryItem item = itemRepository.findById(categoryItemId)
                 .orElseThrow(() -> new NotFoundException(
                         "Category item not found with id: " + categoryItemId));
+        if (item.getStatus() == CategoryItemStatus.PROCESSING) {
+            throw new BadRequestException("Generation is already running for this category item");
+        }
 
         item.setStatus(CategoryItemStatus.PROCESSING);
         itemRepository.save(item);
+        generationCache.evict(categoryItemId);
+        // Leftovers of the previous run whose asynchronous cleanup has not happened yet
+        pipelineCleanupService.deleteTemporaryData(categoryItemId);
 
         List<WorkerFile> files = fileRepository.findByCategoryItemId(categoryItemId);
 
@@ -126,16 +154,42 @@ public class CategoryItemService implements ICategoryItemService {
             throw new BadRequestException("No files found for this category item");
         }
 
-        Job job = new Job(
-                JobType.TEXT_EXTRACTION,
-                categoryItemId);
-        Job savedJob = jobRepository.save(job);
+        if (priority == null) {
+            priority = fileRepository.sumSizeBytesByCategoryItemId(categoryItemId) <= dispatchProperties.getInteractiveMaxBytes()
+                    ? GenerationPriority.INTERACTIVE
+                    : GenerationPriority.BULK;
+        }
+        pipelineProgressRepository.saveAndFlush(new PipelineProgress(categoryItemId, files.size(), priority));
 
-        StartTextExtractionJobDto jobDto = new StartTextExtractionJobDto(
-                savedJob.getId(),
-                categoryItemId,
-                files);
-        workerStartService.startTextExtractionJob(jobDto);
+        // Files whose content was processed before (for any item) skip the workers entirely
+        Set<Long> reusedFileIds = resultReuseService.materializeKnownFiles(categoryItemId);
+        eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItemId));
+        List<WorkerFile> filesToExtract = files.stream()
+                .filter(file -> !reusedFileIds.contains(file.getId()))
+                .toList();
+
+        if (filesToExtract.isEmpty()) {
+            workerResultService.startAggregationIfReady(categoryItemId);
+            return;
+        }
+
+        // One job per file: files are extracted in parallel and fail (or time out) independently
+        List<Job> jobs = filesToExtract.stream()
+                .map(file -> {
+                    Job job = new Job(JobType.TEXT_EXTRACTION, categoryItemId);
+                    job.setFileId(file.getId());
+                    return job;
+                })
+                .toList();
+        List<Job> savedJobs = jobRepository.saveAll(jobs);
+
+        for (int i = 0; i < savedJobs.size(); i++) {
+            StartTextExtractionJobDto jobDto = new StartTextExtractionJobDto(
+                    savedJobs.get(i).getId(),
+                    categoryItemId,
+                    List.of(filesToExtract.get(i)));
+            textExtractionStrategy.startExtraction(jobDto);
+        }
     }
 
     @Override
@@ -149,11 +203,43 @@ public class CategoryItemService implements ICategoryItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Generation getGenerationById(Integer id) {
-        boolean exists = itemRepository.existsById(id) ;
-        if(!exists) {
-            throw new NotFoundException("Category item not found with id: " + id);
+        GenerationVersion version = findGenerationVersion(id);
+        return readGeneration(id, isFinished(version) ? version.getSummaryId() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getGenerationEtag(Integer id) {
+        GenerationVersion version = findGenerationVersion(id);
+        return isFinished(version) ? GenerationCache.etagOf(id, version.getSummaryId()) : null;
+    }
+
+    private GenerationVersion findGenerationVersion(Integer id) {
+        return itemRepository.findGenerationVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Category item not found with id: " + id));
+    }
+
+    private static boolean isFinished(GenerationVersion version) {
+        return CategoryItemStatus.COMPLETED.name().equals(version.getStatus()) && version.getSummaryId() != null;
+    }
+
+    /**
+     * Generation of a finished item (summaryId set) is read through the cache, anything else from the database.
+     */
+    private Generation readGeneration(Integer id, Integer summaryId) {
+        if (summaryId == null || !generationCache.isEnabled()) {
+            return loadGeneration(id);
         }
+        return generationCache.get(id, summaryId).orElseGet(() -> {
+            Generation generation = loadGeneration(id);
+            generationCache.put(id, summaryId, generation);
+            return generation;
+        });
+    }
+
+    private Generation loadGeneration(Integer id) {
         List<FinalFlashcard> flashcards = flashcardRepository.findAllByCategoryItemId(id);
 
         List<FlashcardDTO> flashcardDTOs = flashcards.stream().map(flashcard -> new FlashcardDTO(
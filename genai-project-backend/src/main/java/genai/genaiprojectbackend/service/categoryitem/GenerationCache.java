@@ -0,0 +1,144 @@
+package genai.genaiprojectbackend.service.categoryitem;
+
+import genai.genaiprojectbackend.api.categoryitem.dtos.Generation;
+import genai.genaiprojectbackend.configuration.GenerationCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LRU cache of the generations of COMPLETED category items, bounded by the summed JSON size of the entries.
+ * <p>
+ * Entries are keyed by item id and versioned by the id of the item's final summary: a new generation
+ * writes a new final_summaries row, so an entry of an earlier generation (e.g. cached on another replica)
+ * is never served. The same version is the ETag of the generation endpoint.
+ */
+@Component
+public class GenerationCache implements MeterBinder {
+    private final GenerationCacheProperties settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Integer, CachedGeneration> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weightBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public GenerationCache(GenerationCacheProperties settings) {
+        this.settings = settings;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public static String etagOf(Integer categoryItemId, Integer summaryId) {
+        return "\"" + categoryItemId + "-" + summaryId + "\"";
+    }
+
+    public Optional<Generation> get(Integer categoryItemId, Integer summaryId) {
+        lock.lock();
+        try {
+            CachedGeneration cached = entries.get(categoryItemId);
+            if (cached != null && cached.summaryId().equals(summaryId)) {
+                hits.increment();
+                return Optional.of(cached.generation());
+            }
+            if (cached != null) {
+                remove(categoryItemId);
+            }
+            misses.increment();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Integer categoryItemId, Integer summaryId, Generation generation) {
+        if (!isEnabled()) {
+            return;
+        }
+        long weight = JsonMapper.shared().writeValueAsBytes(generation).length;
+        if (weight > settings.getMaxBytes()) {
+            return;
+        }
+        lock.lock();
+        try {
+            remove(categoryItemId);
+            entries.put(categoryItemId, new CachedGeneration(summaryId, generation, weight));
+            weightBytes += weight;
+            Iterator<Map.Entry<Integer, CachedGeneration>> eldest = entries.entrySet().iterator();
+            while (weightBytes > settings.getMaxBytes() && eldest.hasNext()) {
+                weightBytes -= eldest.next().getValue().weightBytes();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(Integer categoryItemId) {
+        lock.lock();
+        try {
+            remove(categoryItemId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weightBytes() {
+        lock.lock();
+        try {
+            return weightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("generation.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("generation.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("generation.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("generation.cache.size", this, GenerationCache::size)
+                .register(registry);
+        Gauge.builder("generation.cache.weight", this, GenerationCache::weightBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void remove(Integer categoryItemId) {
+        CachedGeneration removed = entries.remove(categoryItemId);
+        if (removed != null) {
+            weightBytes -= removed.weightBytes();
+        }
+    }
+
+    private record CachedGeneration(Integer summaryId, Generation generation, long weightBytes) {
+    }
+}
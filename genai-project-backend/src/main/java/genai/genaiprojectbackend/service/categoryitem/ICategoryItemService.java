@@ -1,6 +1,7 @@
 package genai.genaiprojectbackend.service.categoryitem;
 
 import genai.genaiprojectbackend.api.categoryitem.dtos.*;
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
 
 import java.util.List;
 
@@ -13,9 +14,21 @@ public interface ICategoryItemService {
 
     void delete(Integer id);
 
-    void startGeneration(Integer id);
+    /**
+     * Starts a generation run in the given lane; null derives the lane from the size of the item's files.
+     */
+    void startGeneration(Integer id, GenerationPriority priority);
+
+    default void startGeneration(Integer id) {
+        startGeneration(id, null);
+    }
 
     StatusInfo getStatusById(Integer id);
 
     Generation getGenerationById(Integer id);
+
+    /**
+     * Version tag of the item's finished generation, or null while the item is not COMPLETED.
+     */
+    String getGenerationEtag(Integer id);
 }
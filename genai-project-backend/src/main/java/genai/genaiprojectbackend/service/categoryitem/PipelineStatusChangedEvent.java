@@ -0,0 +1,8 @@
+package genai.genaiprojectbackend.service.categoryitem;
+
+/**
+ * Published inside the transaction that changed a category item's pipeline state;
+ * subscribers are notified after that transaction commits.
+ */
+public record PipelineStatusChangedEvent(Integer categoryItemId) {
+}
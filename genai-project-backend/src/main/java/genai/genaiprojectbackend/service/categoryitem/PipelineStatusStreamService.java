@@ -0,0 +1,138 @@
+package genai.genaiprojectbackend.service.categoryitem;
+
+import genai.genaiprojectbackend.api.categoryitem.dtos.PipelineStatus;
+import genai.genaiprojectbackend.api.exceptions.NotFoundException;
+import genai.genaiprojectbackend.repository.PipelineProgressRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Pushes pipeline progress of category items to SSE subscribers.
+ * <p>
+ * Emitters run on async servlet requests, so an idle subscriber holds no thread. Each committed
+ * change reads the status once per item (not per subscriber) on the task executor and fans it
+ * out to every open stream; streams are completed once the item reaches COMPLETED or FAILED.
+ * Changes that commit while a refresh of the item is still queued are covered by that refresh,
+ * so a busy item costs one status query per executor turn rather than one per chunk result.
+ */
+@Slf4j
+@Service
+public class PipelineStatusStreamService {
+    private static final String EVENT_NAME = "status";
+
+    private final PipelineProgressRepository pipelineProgressRepository;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMillis;
+    private final Map<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Integer> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    public PipelineStatusStreamService(
+            PipelineProgressRepository pipelineProgressRepository,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${pipeline.status-stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.pipelineProgressRepository = pipelineProgressRepository;
+        this.taskExecutor = taskExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(Integer categoryItemId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remove(categoryItemId, emitter));
+        emitter.onTimeout(() -> remove(categoryItemId, emitter));
+        emitter.onError(e -> remove(categoryItemId, emitter));
+
+        // Registered before the first read so that no change committed in between is missed
+        subscribers.compute(categoryItemId, (id, emitters) -> {
+            Set<SseEmitter> target = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            target.add(emitter);
+            return target;
+        });
+
+        PipelineStatus current;
+        try {
+            current = loadStatus(categoryItemId);
+        } catch (NotFoundException e) {
+            remove(categoryItemId, emitter);
+            throw e;
+        }
+
+        send(categoryItemId, emitter, current);
+        if (current.isTerminal()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(PipelineStatusChangedEvent event) {
+        Integer categoryItemId = event.categoryItemId();
+        if (!subscribers.containsKey(categoryItemId) || !pendingRefreshes.add(categoryItemId)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> broadcast(categoryItemId));
+        } catch (RuntimeException e) {
+            pendingRefreshes.remove(categoryItemId);
+            throw e;
+        }
+    }
+
+    private void broadcast(Integer categoryItemId) {
+        // Cleared before the read: a change committed from here on queues the next refresh
+        pendingRefreshes.remove(categoryItemId);
+        Set<SseEmitter> emitters = subscribers.get(categoryItemId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        PipelineStatus status;
+        try {
+            status = loadStatus(categoryItemId);
+        } catch (NotFoundException e) {
+            emitters.forEach(SseEmitter::complete);
+            subscribers.remove(categoryItemId);
+            return;
+        }
+
+        for (SseEmitter emitter : emitters) {
+            send(categoryItemId, emitter, status);
+            if (status.isTerminal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(Integer categoryItemId, SseEmitter emitter, PipelineStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(status));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping status subscriber of CategoryItem {}: {}", categoryItemId, e.getMessage());
+            remove(categoryItemId, emitter);
+        }
+    }
+
+    private void remove(Integer categoryItemId, SseEmitter emitter) {
+        subscribers.computeIfPresent(categoryItemId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private PipelineStatus loadStatus(Integer categoryItemId) {
+        return pipelineProgressRepository.findStatusView(categoryItemId)
+                .map(PipelineStatus::of)
+                .orElseThrow(() -> new NotFoundException("Category item not found with id: " + categoryItemId));
+    }
+}
@@ -0,0 +1,333 @@
+package genai.genaiprojectbackend.service.dispatch;
+
+import genai.genaiprojectbackend.configuration.DispatchProperties;
+import genai.genaiprojectbackend.model.dtos.StartFlashcardGenerationJobDto;
+import genai.genaiprojectbackend.model.dtos.StartSummaryGenerationJobDto;
+import genai.genaiprojectbackend.model.entities.Job;
+import genai.genaiprojectbackend.model.entities.SummaryChunk;
+import genai.genaiprojectbackend.model.entities.TextChunk;
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import genai.genaiprojectbackend.model.enums.JobStatus;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.repository.DispatchBacklogRepository;
+import genai.genaiprojectbackend.repository.JobRepository;
+import genai.genaiprojectbackend.repository.SummaryChunkRepository;
+import genai.genaiprojectbackend.repository.TextChunkRepository;
+import genai.genaiprojectbackend.repository.projection.BacklogEntry;
+import genai.genaiprojectbackend.repository.projection.BacklogItem;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
+import genai.genaiprojectbackend.service.scheduling.ClusterLockService;
+import genai.genaiprojectbackend.service.tracing.PipelineTracing;
+import genai.genaiprojectbackend.service.workers.WorkerStartService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admission control in front of the LLM workers. Summary and flashcard jobs are not published when they are
+ * created but queued in dispatch_backlog in the creating transaction, so they survive restarts.
+ * <p>
+ * One replica at a time (the holder of the job-dispatch lease) drains the backlog: every run takes turns among
+ * the items with waiting jobs, one job per item and turn, as long as the global bucket and the item's own bucket
+ * (pipeline.dispatch.*) have tokens; INTERACTIVE items take several jobs per turn, and their messages carry a
+ * higher AMQP priority so they also overtake BULK messages already waiting in the queue. A large upload
+ * therefore only delays itself, and the workers never see more requests than the LLM quota allows. Messages
+ * are rebuilt from the jobs' source chunks and published in the transaction that deletes their backlog rows;
+ * a duplicate after a failed commit is ignored by the result handlers.
+ * <p>
+ * The buckets live in memory of the lease holder and start full when the lease moves to another replica.
+ */
+@Slf4j
+@Service
+public class DispatchScheduler {
+    private static final String DISPATCH_LOCK = "job-dispatch";
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final Set<String> ACTIVE_STATUSES = Set.of(JobStatus.PENDING.name(), JobStatus.IN_PROGRESS.name());
+
+    private final DispatchProperties settings;
+    private final DispatchBacklogRepository dispatchBacklogRepository;
+    private final JobRepository jobRepository;
+    private final TextChunkRepository textChunkRepository;
+    private final SummaryChunkRepository summaryChunkRepository;
+    private final WorkerStartService workerStartService;
+    private final ClusterLockService clusterLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineMetrics pipelineMetrics;
+    private final PipelineTracing pipelineTracing;
+
+    private final TokenBucket globalBucket;
+    private final Map<Integer, TokenBucket> itemBuckets = new HashMap<>();
+    private Integer lastServedItemId;
+    private int turnLeft;
+    private long leaseRenewAt;
+
+    public DispatchScheduler(
+            DispatchProperties settings,
+            DispatchBacklogRepository dispatchBacklogRepository,
+            JobRepository jobRepository,
+            TextChunkRepository textChunkRepository,
+            SummaryChunkRepository summaryChunkRepository,
+            WorkerStartService workerStartService,
+            ClusterLockService clusterLockService,
+            TransactionTemplate transactionTemplate,
+            PipelineMetrics pipelineMetrics,
+            PipelineTracing pipelineTracing) {
+        this.settings = settings;
+        this.dispatchBacklogRepository = dispatchBacklogRepository;
+        this.jobRepository = jobRepository;
+        this.textChunkRepository = textChunkRepository;
+        this.summaryChunkRepository = summaryChunkRepository;
+        this.workerStartService = workerStartService;
+        this.clusterLockService = clusterLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pipelineTracing = pipelineTracing;
+        this.globalBucket = new TokenBucket(settings.getGlobalRate(), settings.getGlobalBurst());
+    }
+
+    /**
+     * Queues saved summary/flashcard jobs in the caller's transaction. They are published once admitted.
+     */
+    public void enqueue(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        dispatchBacklogRepository.enqueue(jobs.stream().map(Job::getId).toList(), pipelineTracing.currentTraceParent());
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.dispatch.interval-ms:250}")
+    public void dispatch() {
+        if (!globalBucket.hasToken() || !holdLease()) {
+            return;
+        }
+        try {
+            List<BacklogItem> items = dispatchBacklogRepository.findBacklogItems(cursor(), settings.getMaxItemsPerRun());
+            Map<Integer, GenerationPriority> lanes = items.stream()
+                    .collect(Collectors.toMap(BacklogItem::getCategoryItemId, DispatchScheduler::lane));
+            Map<Integer, Integer> grants = allocate(items);
+
+            for (Map.Entry<Integer, Integer> grant : grants.entrySet()) {
+                int granted = grant.getValue();
+                int published = dispatchItem(grant.getKey(), lanes.get(grant.getKey()), granted);
+                if (published < granted) {
+                    globalBucket.giveBack(granted - published);
+                    itemBuckets.get(grant.getKey()).giveBack(granted - published);
+                }
+            }
+
+            Set<Integer> waitingItems = items.stream().map(BacklogItem::getCategoryItemId).collect(Collectors.toSet());
+            itemBuckets.entrySet().removeIf(bucket -> !waitingItems.contains(bucket.getKey()) && bucket.getValue().isFull());
+        } catch (RuntimeException e) {
+            log.warn("Backend: Dispatch run failed, retrying with the next run", e);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leaseRenewAt != 0) {
+            clusterLockService.release(DISPATCH_LOCK);
+        }
+    }
+
+    /**
+     * Where the backlog is read from: after the item served last, or at it while its turn is not over yet.
+     */
+    private int cursor() {
+        if (lastServedItemId == null) {
+            return 0;
+        }
+        return turnLeft > 0 ? lastServedItemId - 1 : lastServedItemId;
+    }
+
+    /**
+     * Hands out tokens round-robin over the waiting items, which come in turn order from {@link #cursor()}.
+     * A turn is one token for BULK items and pipeline.dispatch.interactive-weight tokens for INTERACTIVE ones;
+     * a turn cut short by the global bucket is continued in the next run.
+     *
+     * @return jobs to publish per item
+     */
+    private Map<Integer, Integer> allocate(List<BacklogItem> items) {
+        Map<Integer, Integer> grants = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return grants;
+        }
+        if (!items.get(0).getCategoryItemId().equals(lastServedItemId)) {
+            turnLeft = 0;
+        }
+
+        boolean granted = true;
+        while (granted && globalBucket.hasToken()) {
+            granted = false;
+            for (int i = 0; i < items.size() && globalBucket.hasToken(); i++) {
+                BacklogItem item = items.get(i);
+                Integer itemId = item.getCategoryItemId();
+                int turn = turnLeft > 0 ? turnLeft : turnSize(item);
+                turnLeft = 0;
+                TokenBucket itemBucket = itemBuckets.computeIfAbsent(itemId,
+                        id -> new TokenBucket(settings.getItemRate(), settings.getItemBurst()));
+
+                int taken = 0;
+                while (taken < turn && grants.getOrDefault(itemId, 0) < item.getJobs()
+                        && globalBucket.hasToken() && itemBucket.tryTake()) {
+                    globalBucket.tryTake();
+                    grants.merge(itemId, 1, Integer::sum);
+                    taken++;
+                }
+                if (taken > 0) {
+                    lastServedItemId = itemId;
+                    granted = true;
+                    if (taken < turn && !globalBucket.hasToken() && grants.get(itemId) < item.getJobs()) {
+                        turnLeft = turn - taken;
+                    }
+                }
+            }
+        }
+        return grants;
+    }
+
+    private int turnSize(BacklogItem item) {
+        return lane(item) == GenerationPriority.INTERACTIVE ? Math.max(1, settings.getInteractiveWeight()) : 1;
+    }
+
+    private static GenerationPriority lane(BacklogItem item) {
+        return GenerationPriority.ofLevel(item.getPriority());
+    }
+
+    /**
+     * Publishes up to {@code limit} of the item's oldest waiting jobs and removes them from the backlog.
+     * Entries of jobs that were cancelled meanwhile are dropped. Jobs whose source chunk is gone are not
+     * published or marked as dispatched; out of the backlog, the reaper finds them and fails them.
+     *
+     * @return published jobs
+     */
+    private int dispatchItem(Integer categoryItemId, GenerationPriority priority, int limit) {
+        Integer published = transactionTemplate.execute(status -> {
+            List<BacklogEntry> entries = dispatchBacklogRepository.lockOldestEntries(categoryItemId, limit);
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            dispatchBacklogRepository.deleteAllByJobIds(entries.stream().map(BacklogEntry::getJobId).toList());
+
+            List<BacklogEntry> active = entries.stream().filter(entry -> ACTIVE_STATUSES.contains(entry.getStatus())).toList();
+            Sources sources = loadSources(active);
+            List<BacklogEntry> sendable = active.stream().filter(sources::has).toList();
+            if (sendable.isEmpty()) {
+                return 0;
+            }
+            jobRepository.markDispatched(sendable.stream().map(BacklogEntry::getJobId).toList());
+            publish(categoryItemId, priority, sendable, sources);
+            return sendable.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    private Sources loadSources(List<BacklogEntry> entries) {
+        if (entries.isEmpty()) {
+            return new Sources(Map.of(), Map.of());
+        }
+        Map<Integer, TextChunk> textChunks = textChunkRepository.findAllById(sourceIds(entries, JobType.SUMMARY_GENERATION))
+                .stream().collect(Collectors.toMap(TextChunk::getId, Function.identity()));
+        Map<Integer, SummaryChunk> summaryChunks = summaryChunkRepository.findAllById(sourceIds(entries, JobType.FLASHCARD_GENERATION))
+                .stream().collect(Collectors.toMap(SummaryChunk::getId, Function.identity()));
+        return new Sources(textChunks, summaryChunks);
+    }
+
+    private void publish(Integer categoryItemId, GenerationPriority priority, List<BacklogEntry> entries, Sources sources) {
+        // Jobs created by the same result share its trace; they are published together in a span of that trace
+        Map<String, List<BacklogEntry>> byTrace = entries.stream()
+                .collect(Collectors.groupingBy(entry -> Objects.toString(entry.getTraceParent(), ""), LinkedHashMap::new, Collectors.toList()));
+        byTrace.forEach((traceParent, traceEntries) -> {
+            List<StartSummaryGenerationJobDto> summaryJobs = new ArrayList<>();
+            List<StartFlashcardGenerationJobDto> flashcardJobs = new ArrayList<>();
+            for (BacklogEntry entry : traceEntries) {
+                JobType jobType = JobType.valueOf(entry.getJobType());
+                pipelineMetrics.recordAdmissionWait(jobType, Duration.ofMillis(entry.getWaitMillis()));
+                switch (jobType) {
+                    case SUMMARY_GENERATION -> {
+                        TextChunk textChunk = sources.textChunks().get(entry.getSourceChunkId());
+                        summaryJobs.add(StartSummaryGenerationJobDto.builder()
+                                .jobId(entry.getJobId())
+                                .text(textChunk.getTextContent())
+                                .categoryId(categoryItemId)
+                                .chunkNumber(textChunk.getChunkIndex())
+                                .build());
+                    }
+                    case FLASHCARD_GENERATION -> {
+                        SummaryChunk summaryChunk = sources.summaryChunks().get(entry.getSourceChunkId());
+                        flashcardJobs.add(StartFlashcardGenerationJobDto.builder()
+                                .jobId(entry.getJobId())
+                                .summaryChunkId(summaryChunk.getId())
+                                .text(summaryChunk.getSummaryText())
+                                .categoryItemId(categoryItemId)
+                                .build());
+                    }
+                    default -> { }
+                }
+            }
+            String parent = traceParent.isEmpty() ? null : traceParent;
+            if (!summaryJobs.isEmpty()) {
+                pipelineTracing.inDispatchSpan(parent, JobType.SUMMARY_GENERATION, summaryJobs.size(),
+                        () -> workerStartService.startSummaryGenerationJobs(summaryJobs, priority));
+            }
+            if (!flashcardJobs.isEmpty()) {
+                pipelineTracing.inDispatchSpan(parent, JobType.FLASHCARD_GENERATION, flashcardJobs.size(),
+                        () -> flashcardJobs.forEach(dto -> workerStartService.startFlashcardGenerationJob(dto, priority)));
+            }
+        });
+    }
+
+    private static List<Integer> sourceIds(List<BacklogEntry> entries, JobType jobType) {
+        return entries.stream()
+                .filter(entry -> jobType.name().equals(entry.getJobType()))
+                .map(BacklogEntry::getSourceChunkId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Source chunks of the jobs to publish, by id.
+     */
+    private record Sources(Map<Integer, TextChunk> textChunks, Map<Integer, SummaryChunk> summaryChunks) {
+
+        boolean has(BacklogEntry entry) {
+            Object source = switch (JobType.valueOf(entry.getJobType())) {
+                case SUMMARY_GENERATION -> textChunks.get(entry.getSourceChunkId());
+                case FLASHCARD_GENERATION -> summaryChunks.get(entry.getSourceChunkId());
+                default -> null;
+            };
+            if (source == null) {
+                log.warn("Backend: Source of Job {} ({}) is gone, leaving the job to the reaper", entry.getJobId(), entry.getJobType());
+            }
+            return source != null;
+        }
+    }
+
+    /**
+     * Takes or renews the lease; renewed halfway through so the database is not asked on every run.
+     */
+    private boolean holdLease() {
+        long now = System.nanoTime();
+        if (leaseRenewAt != 0 && now - leaseRenewAt < 0) {
+            return true;
+        }
+        if (!clusterLockService.tryHold(DISPATCH_LOCK, LEASE)) {
+            leaseRenewAt = 0;
+            return false;
+        }
+        leaseRenewAt = now + LEASE.toNanos() / 2;
+        return true;
+    }
+}
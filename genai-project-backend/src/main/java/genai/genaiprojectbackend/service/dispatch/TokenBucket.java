@@ -0,0 +1,50 @@
+package genai.genaiprojectbackend.service.dispatch;
+
+/**
+ * Token bucket refilled continuously at {@code rate} tokens per second up to {@code capacity}.
+ * Not thread-safe; used by the single dispatch thread.
+ */
+class TokenBucket {
+    private final double rate;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double rate, int capacity) {
+        this.rate = rate;
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    boolean hasToken() {
+        refill();
+        return tokens >= 1;
+    }
+
+    boolean tryTake() {
+        if (!hasToken()) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Returns tokens that were taken but not used.
+     */
+    void giveBack(int count) {
+        tokens = Math.min(capacity, tokens + count);
+    }
+
+    boolean isFull() {
+        refill();
+        return tokens >= capacity;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) / 1_000_000_000.0 * rate);
+        refilledAt = now;
+    }
+}
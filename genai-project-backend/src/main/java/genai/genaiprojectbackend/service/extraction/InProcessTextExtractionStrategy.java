@@ -0,0 +1,83 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import genai.genaiprojectbackend.model.dtos.StartTextExtractionJobDto;
+import genai.genaiprojectbackend.model.dtos.WorkerFile;
+import genai.genaiprojectbackend.repository.FileRepository;
+import genai.genaiprojectbackend.service.workers.WorkerResultService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Extracts the files with {@link StreamingTextExtractor} and ingests every batch of chunks in its own
+ * transaction as soon as it is complete, followed by the end-of-file marker. A file that cannot be read or
+ * parsed fails the job, like an error result of the worker.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "pipeline.extraction", name = "engine", havingValue = "in-process")
+public class InProcessTextExtractionStrategy implements TextExtractionStrategy {
+    private final StreamingTextExtractor extractor;
+    private final FileRepository fileRepository;
+    private final WorkerResultService workerResultService;
+
+    public InProcessTextExtractionStrategy(
+            StreamingTextExtractor extractor,
+            FileRepository fileRepository,
+            WorkerResultService workerResultService) {
+        this.extractor = extractor;
+        this.fileRepository = fileRepository;
+        this.workerResultService = workerResultService;
+    }
+
+    @Override
+    public void startExtraction(StartTextExtractionJobDto job) {
+        Map<Long, String> objectNames = new LinkedHashMap<>();
+        for (WorkerFile file : job.getFiles()) {
+            objectNames.put(file.getId(), fileRepository.findFilenameById(file.getId()).orElse(null));
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                log.info("Backend: Extracting {} files of Job {} in-process", objectNames.size(), job.getJobId());
+                objectNames.forEach((fileId, objectName) -> extract(job, fileId, objectName));
+            }
+        });
+    }
+
+    private void extract(StartTextExtractionJobDto job, Long fileId, String objectName) {
+        if (objectName == null) {
+            workerResultService.failExtraction(job.getJobId(), fileId, new IllegalStateException("File " + fileId + " no longer exists"));
+            return;
+        }
+        extractor.extract(objectName, (chunkOffset, batch) ->
+                        workerResultService.processExtractedBatch(job.getJobId(), fileId, job.getCategoryItemId(), chunkOffset, batch))
+                .whenComplete((totalChunks, error) -> {
+                    try {
+                        if (error == null) {
+                            workerResultService.processExtractedFileEnd(job.getJobId(), fileId, job.getCategoryItemId(), totalChunks);
+                        } else if (unwrap(error) instanceof UncheckedIOException) {
+                            workerResultService.failExtraction(job.getJobId(), fileId, unwrap(error));
+                        } else {
+                            throw unwrap(error);
+                        }
+                    } catch (Throwable e) {
+                        // Storing the result failed, not the file: the job stays unfinished, the job reaper
+                        // publishes it again and batches stored before are skipped
+                        log.error("Backend: Could not store the extraction of file {} for Job {}", fileId, job.getJobId(), e);
+                    }
+                });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,134 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import com.itextpdf.text.io.RandomAccessSource;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Random access to a MinIO object through ranged GETs of fixed-size blocks. At most {@code cachedBlocks}
+ * blocks are kept (least recently used first out), so a file is never held in memory as a whole.
+ * <p>
+ * Thread-safe: the page-range readers of one file share a source, each through its own
+ * {@code IndependentRandomAccessSource}. Blocks are fetched outside the lock; two readers missing the
+ * same block may both fetch it.
+ */
+final class MinioRangeSource implements RandomAccessSource {
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final String objectName;
+    private final long length;
+    private final int blockSize;
+    private final int cachedBlocks;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, byte[]> blocks = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong fetchedBytes = new AtomicLong();
+
+    MinioRangeSource(MinioClient minioClient, String bucket, String objectName, long length, int blockSize, int cachedBlocks) {
+        this.minioClient = minioClient;
+        this.bucket = bucket;
+        this.objectName = objectName;
+        this.length = length;
+        this.blockSize = blockSize;
+        this.cachedBlocks = Math.max(1, cachedBlocks);
+    }
+
+    @Override
+    public int get(long position) throws IOException {
+        if (position < 0 || position >= length) {
+            return -1;
+        }
+        byte[] block = block(position / blockSize);
+        return block[(int) (position % blockSize)] & 0xff;
+    }
+
+    @Override
+    public int get(long position, byte[] bytes, int off, int len) throws IOException {
+        if (position < 0 || position >= length) {
+            return -1;
+        }
+        int copied = 0;
+        while (copied < len && position < length) {
+            byte[] block = block(position / blockSize);
+            int offsetInBlock = (int) (position % blockSize);
+            int n = Math.min(len - copied, block.length - offsetInBlock);
+            System.arraycopy(block, offsetInBlock, bytes, off + copied, n);
+            copied += n;
+            position += n;
+        }
+        return copied;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            blocks.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bytes read from MinIO so far, including blocks read more than once after eviction.
+     */
+    long fetchedBytes() {
+        return fetchedBytes.get();
+    }
+
+    private byte[] block(long index) throws IOException {
+        lock.lock();
+        try {
+            byte[] cached = blocks.get(index);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        byte[] block = fetch(index * blockSize, (int) Math.min(blockSize, length - index * blockSize));
+        lock.lock();
+        try {
+            blocks.put(index, block);
+            if (blocks.size() > cachedBlocks) {
+                blocks.remove(blocks.keySet().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return block;
+    }
+
+    private byte[] fetch(long offset, int count) throws IOException {
+        try (GetObjectResponse response = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .offset(offset)
+                .length((long) count)
+                .build())) {
+            byte[] block = response.readNBytes(count);
+            if (block.length != count) {
+                throw new IOException("Short read of " + objectName + " at " + offset + ": " + block.length + " of " + count + " bytes");
+            }
+            fetchedBytes.addAndGet(count);
+            return block;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not read " + objectName + " at " + offset, e);
+        }
+    }
+}
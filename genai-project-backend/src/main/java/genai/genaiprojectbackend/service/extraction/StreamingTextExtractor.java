@@ -0,0 +1,265 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import com.itextpdf.text.io.IndependentRandomAccessSource;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.RandomAccessFileOrArray;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import genai.genaiprojectbackend.configuration.ExtractionProperties;
+import genai.genaiprojectbackend.configuration.MinioProperties;
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.Tika;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts the text of uploaded files in the backend, reading them from MinIO in ranged blocks
+ * (see {@link MinioRangeSource}) instead of downloading them.
+ * <p>
+ * The type is detected by Tika from the first bytes. PDFs are opened with iText in partial mode, so only
+ * the objects of the pages being read are loaded, and split into page ranges (pipeline.extraction.pages-per-task)
+ * that are extracted in parallel on a fixed pool of pipeline.extraction.threads shared by all files. Ranges are
+ * chunked in page order as they complete; at most two ranges per thread are in flight per file. Plain text
+ * files are streamed through the chunker directly.
+ * <p>
+ * Chunks are handed out in batches of pipeline.extraction.batch-size as soon as they are complete, so they
+ * can be ingested while the rest of the file is still being read.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pipeline.extraction", name = "engine", havingValue = "in-process")
+public class StreamingTextExtractor {
+    private static final String PDF = "application/pdf";
+    private static final int DETECTION_BYTES = 8192;
+    private static final int TEXT_READ_CHARS = 64 * 1024;
+
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final ExtractionProperties settings;
+    private final ExecutorService fileExecutor;
+    private final ExecutorService pageExecutor;
+    private final Tika tika = new Tika();
+
+    public StreamingTextExtractor(MinioClient minioClient, MinioProperties minioProperties, ExtractionProperties settings) {
+        this.minioClient = minioClient;
+        this.bucket = minioProperties.getBucket();
+        this.settings = settings;
+        this.fileExecutor = fixedPool(settings.getFileParallelism(), "extraction-file-");
+        this.pageExecutor = fixedPool(settings.getThreads(), "extraction-page-");
+    }
+
+    /**
+     * Receives the chunks of a file in document order, on the file's extraction thread.
+     */
+    @FunctionalInterface
+    public interface ChunkBatchSink {
+        /**
+         * @param chunkOffset index of the first chunk of the batch within the file
+         */
+        void accept(int chunkOffset, List<ExtractedChunk> batch);
+    }
+
+    /**
+     * Extracts and chunks the object on the file pool, passing batches to the sink as they are complete.
+     * Read and parse errors, including runtime exceptions of the PDF parser, complete the future with an
+     * {@link UncheckedIOException}; exceptions thrown by the sink stop the extraction and complete it with
+     * the sink's exception.
+     *
+     * @return the number of chunks of the file
+     */
+    public CompletableFuture<Integer> extract(String objectName, ChunkBatchSink sink) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return extractNow(objectName, new Batcher(sink));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, fileExecutor);
+    }
+
+    /**
+     * Extracts the whole object into one list.
+     */
+    public CompletableFuture<List<ExtractedChunk>> extract(String objectName) {
+        List<ExtractedChunk> chunks = new ArrayList<>();
+        return extract(objectName, (chunkOffset, batch) -> chunks.addAll(batch)).thenApply(count -> chunks);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fileExecutor.shutdownNow();
+        pageExecutor.shutdownNow();
+    }
+
+    private int extractNow(String objectName, Batcher batcher) throws IOException {
+        long start = System.nanoTime();
+        MinioRangeSource source = new MinioRangeSource(minioClient, bucket, objectName, size(objectName),
+                settings.getBlockSizeBytes(), settings.getCachedBlocks());
+        try {
+            byte[] head = new byte[(int) Math.min(DETECTION_BYTES, source.length())];
+            if (head.length > 0) {
+                source.get(0, head, 0, head.length);
+            }
+            String type = tika.detect(head, objectName);
+            if (PDF.equals(type)) {
+                extractPdf(source, batcher);
+            } else if (type.startsWith("text/")) {
+                extractText(objectName, batcher);
+            } else {
+                throw new IOException("Unsupported content type " + type + " of " + objectName);
+            }
+            log.debug("Backend: Extracted {} chunks from {} ({} of {} bytes read) in {} ms", batcher.total, objectName,
+                    source.fetchedBytes(), source.length(), (System.nanoTime() - start) / 1_000_000);
+            return batcher.total;
+        } finally {
+            source.close();
+        }
+    }
+
+    private void extractPdf(MinioRangeSource source, Batcher batcher) throws IOException {
+        int pages;
+        try {
+            PdfReader reader = open(source);
+            try {
+                pages = reader.getNumberOfPages();
+            } finally {
+                reader.close();
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Could not parse the PDF", e);
+        }
+
+        TextChunker chunker = new TextChunker(settings.getChunkSize());
+        int pagesPerTask = Math.max(1, settings.getPagesPerTask());
+        int maxInFlight = 2 * Math.max(1, settings.getThreads());
+        Deque<CompletableFuture<List<String>>> inFlight = new ArrayDeque<>();
+        int nextPage = 1;
+        try {
+            while (nextPage <= pages || !inFlight.isEmpty()) {
+                while (nextPage <= pages && inFlight.size() < maxInFlight) {
+                    int from = nextPage;
+                    int to = Math.min(pages, from + pagesPerTask - 1);
+                    inFlight.add(CompletableFuture.supplyAsync(() -> readPages(source, from, to), pageExecutor));
+                    nextPage = to + 1;
+                }
+                inFlight.poll().join().forEach(chunker::addPage);
+                batcher.offer(chunker.takeChunks(), false);
+            }
+        } catch (CompletionException e) {
+            inFlight.forEach(range -> range.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            inFlight.forEach(range -> range.cancel(true));
+            throw e;
+        }
+        batcher.offer(chunker.finish(), true);
+    }
+
+    private List<String> readPages(MinioRangeSource source, int from, int to) {
+        try {
+            PdfReader reader = open(source);
+            try {
+                List<String> texts = new ArrayList<>(to - from + 1);
+                for (int page = from; page <= to; page++) {
+                    texts.add(PdfTextExtractor.getTextFromPage(reader, page));
+                }
+                return texts;
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            // A broken page fails the same way on every retry, so it is reported like a read error
+            throw new UncheckedIOException(new IOException("Could not parse pages " + from + "-" + to, e));
+        }
+    }
+
+    private void extractText(String objectName, Batcher batcher) throws IOException {
+        TextChunker chunker = new TextChunker(settings.getChunkSize());
+        try (GetObjectResponse response = minioClient.getObject(GetObjectArgs.builder().bucket(bucket).object(objectName).build());
+             BufferedReader text = new BufferedReader(new InputStreamReader(response, StandardCharsets.UTF_8))) {
+            char[] buffer = new char[TEXT_READ_CHARS];
+            int read;
+            while ((read = text.read(buffer)) != -1) {
+                chunker.addText(new String(buffer, 0, read));
+                batcher.offer(chunker.takeChunks(), false);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not read " + objectName, e);
+        }
+        batcher.offer(chunker.finish(), true);
+    }
+
+    /**
+     * A reader over the shared source; closing it leaves the source open.
+     */
+    private static PdfReader open(MinioRangeSource source) throws IOException {
+        return new PdfReader(new RandomAccessFileOrArray(new IndependentRandomAccessSource(source)), null, true);
+    }
+
+    private long size(String objectName) throws IOException {
+        try {
+            return minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(objectName).build()).size();
+        } catch (Exception e) {
+            throw new IOException("Could not stat " + objectName, e);
+        }
+    }
+
+    /**
+     * Cuts the chunker's output into batches of pipeline.extraction.batch-size for the sink.
+     */
+    private final class Batcher {
+        private final ChunkBatchSink sink;
+        private final List<ExtractedChunk> pending = new ArrayList<>();
+        private int total;
+
+        private Batcher(ChunkBatchSink sink) {
+            this.sink = sink;
+        }
+
+        void offer(List<ExtractedChunk> chunks, boolean last) {
+            pending.addAll(chunks);
+            int batchSize = Math.max(1, settings.getBatchSize());
+            while (pending.size() >= batchSize || (last && !pending.isEmpty())) {
+                List<ExtractedChunk> batch = new ArrayList<>(pending.subList(0, Math.min(batchSize, pending.size())));
+                pending.subList(0, batch.size()).clear();
+                sink.accept(total, batch);
+                total += batch.size();
+            }
+        }
+    }
+
+    private static ExecutorService fixedPool(int threads, String namePrefix) {
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(namePrefix));
+    }
+}
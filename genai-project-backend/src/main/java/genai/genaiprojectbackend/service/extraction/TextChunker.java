@@ -0,0 +1,140 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental version of chunk_text of the Python text-extraction-worker: a chunk is at least minChunkSize
+ * characters long and ends after the first separator (by priority) behind that point. Pages are joined
+ * with a newline, as the worker does.
+ * <p>
+ * To keep only a bounded tail of the document in memory, separators are searched in a window of
+ * minChunkSize characters behind the minimum instead of in the whole rest of the text; without a separator
+ * in the window the chunk is cut at the end of the window. Not thread-safe.
+ */
+final class TextChunker {
+    private static final String[] SEPARATORS = {"\n\n", "\n", ". ", "? ", "! "};
+    private static final int MAX_SEPARATOR_LENGTH = 2;
+
+    private final int minChunkSize;
+    private final StringBuilder buffer = new StringBuilder();
+    private final List<ExtractedChunk> chunks = new ArrayList<>();
+    /** Page numbers and the offsets (from the start of the document) where they begin. */
+    private final List<long[]> pageStarts = new ArrayList<>();
+    /** Offset of buffer[0] from the start of the document. */
+    private long bufferOffset;
+    private int pages;
+
+    TextChunker(int minChunkSize) {
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+
+    /**
+     * Appends the text of the next page (pages are numbered from 1).
+     */
+    void addPage(String text) {
+        if (pages > 0) {
+            buffer.append('\n');
+        }
+        pages++;
+        pageStarts.add(new long[]{pages, bufferOffset + buffer.length()});
+        buffer.append(text);
+        drain(false);
+    }
+
+    /**
+     * Appends text of a document without pages; its chunks get page 0.
+     */
+    void addText(CharSequence text) {
+        buffer.append(text);
+        drain(false);
+    }
+
+    /**
+     * Chunks completed since the last call, in document order.
+     */
+    List<ExtractedChunk> takeChunks() {
+        List<ExtractedChunk> taken = new ArrayList<>(chunks);
+        chunks.clear();
+        return taken;
+    }
+
+    /**
+     * Chunks the rest of the text and returns the chunks not taken yet.
+     */
+    List<ExtractedChunk> finish() {
+        drain(true);
+        return takeChunks();
+    }
+
+    private void drain(boolean last) {
+        int pos = 0;
+        while (pos < buffer.length()) {
+            int remaining = buffer.length() - pos;
+            if (remaining <= minChunkSize) {
+                if (last) {
+                    emit(pos, buffer.length());
+                    pos = buffer.length();
+                }
+                break;
+            }
+            int windowEnd = pos + 2 * minChunkSize;
+            if (!last && buffer.length() < windowEnd + MAX_SEPARATOR_LENGTH) {
+                break;
+            }
+            int end = findChunkEnd(pos + minChunkSize, Math.min(windowEnd, buffer.length()));
+            if (end < 0) {
+                end = Math.min(windowEnd, buffer.length());
+            }
+            emit(pos, end);
+            pos = end;
+        }
+        buffer.delete(0, pos);
+        bufferOffset += pos;
+        while (pageStarts.size() > 1 && pageStarts.get(1)[1] <= bufferOffset) {
+            pageStarts.remove(0);
+        }
+    }
+
+    /**
+     * End of the chunk after the first separator, by priority, that starts in [from, to); -1 if there is none.
+     */
+    private int findChunkEnd(int from, int to) {
+        for (String separator : SEPARATORS) {
+            int found = indexOf(separator, from, to);
+            if (found >= 0) {
+                return found + separator.length();
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(String separator, int from, int to) {
+        int last = Math.min(to, buffer.length() - separator.length() + 1);
+        for (int i = from; i < last; i++) {
+            if (buffer.charAt(i) == separator.charAt(0)
+                    && (separator.length() == 1 || buffer.charAt(i + 1) == separator.charAt(1))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void emit(int start, int end) {
+        String text = buffer.substring(start, end).strip();
+        if (!text.isEmpty()) {
+            chunks.add(new ExtractedChunk(text, pageAt(bufferOffset + start), pageAt(bufferOffset + end - 1)));
+        }
+    }
+
+    private int pageAt(long offset) {
+        for (int i = pageStarts.size() - 1; i >= 0; i--) {
+            if (pageStarts.get(i)[1] <= offset) {
+                return (int) pageStarts.get(i)[0];
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import genai.genaiprojectbackend.model.dtos.StartTextExtractionJobDto;
+
+/**
+ * Runs a TEXT_EXTRACTION job, selected by pipeline.extraction.engine. Implementations report every
+ * extracted file to the TextChunk ingestion of {@code WorkerResultService}.
+ */
+public interface TextExtractionStrategy {
+
+    /**
+     * Starts the extraction of the job's files. Called in the transaction that saved the job; work starts
+     * after it commits.
+     */
+    void startExtraction(StartTextExtractionJobDto job);
+}
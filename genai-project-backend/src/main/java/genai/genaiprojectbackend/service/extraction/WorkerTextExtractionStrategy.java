@@ -0,0 +1,31 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import genai.genaiprojectbackend.model.dtos.StartTextExtractionJobDto;
+import genai.genaiprojectbackend.service.workers.WorkerStartService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes the job to the Python text-extraction-worker; its results come back through the worker result queue.
+ */
+@Service
+@ConditionalOnProperty(prefix = "pipeline.extraction", name = "engine", havingValue = "worker", matchIfMissing = true)
+public class WorkerTextExtractionStrategy implements TextExtractionStrategy {
+    private final WorkerStartService workerStartService;
+
+    public WorkerTextExtractionStrategy(WorkerStartService workerStartService) {
+        this.workerStartService = workerStartService;
+    }
+
+    @Override
+    public void startExtraction(StartTextExtractionJobDto job) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                workerStartService.startTextExtractionJob(job);
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package genai.genaiprojectbackend.service.files;
+
+import genai.genaiprojectbackend.configuration.ClaimCheckProperties;
+import genai.genaiprojectbackend.configuration.MinioProperties;
+import genai.genaiprojectbackend.model.dtos.ClaimCheckRef;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.errors.MinioException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores large worker message bodies in the bucket (claim-check pattern) and resolves them again.
+ * Objects are grouped by category item: {keyPrefix}{categoryItemId}/{name}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimCheckService {
+    private final MinioAsyncClient minioClient;
+    private final MinioProperties minioProperties;
+    private final ClaimCheckProperties claimCheckProperties;
+
+    public boolean isEnabled() {
+        return claimCheckProperties.isEnabled();
+    }
+
+    /**
+     * Offloads the body if claim-check mode is enabled and the body exceeds the threshold.
+     * Falls back to inline delivery (empty Optional) if the upload fails.
+     */
+    public Optional<ClaimCheckRef> offload(Integer categoryItemId, String name, byte[] body, String contentType) {
+        if (!isEnabled() || body.length <= claimCheckProperties.getThresholdBytes()) {
+            return Optional.empty();
+        }
+
+        String objectKey = claimCheckProperties.getKeyPrefix() + categoryItemId + "/" + name;
+        try {
+            PutObjectArgs args = PutObjectArgs.builder()
+                    .bucket(minioProperties.getBucket())
+                    .object(objectKey)
+                    .stream(new ByteArrayInputStream(body), body.length, -1)
+                    .contentType(contentType)
+                    .build();
+            minioClient.putObject(args).join();
+            return Optional.of(new ClaimCheckRef(minioProperties.getBucket(), objectKey, sha256(body), (long) body.length));
+        } catch (MinioException | GeneralSecurityException | IOException | RuntimeException e) {
+            log.warn("Could not offload {} bytes to {}, sending inline", body.length, objectKey, e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<ClaimCheckRef> offloadText(Integer categoryItemId, String name, String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        return offload(categoryItemId, name, text.getBytes(StandardCharsets.UTF_8), "text/plain; charset=utf-8");
+    }
+
+    /**
+     * Loads a claim-checked body and verifies its checksum.
+     *
+     * @throws IllegalStateException if the object cannot be read or the checksum does not match
+     */
+    public byte[] retrieve(ClaimCheckRef ref) {
+        GetObjectArgs args = GetObjectArgs.builder()
+                .bucket(ref.getBucket())
+                .object(ref.getObjectKey())
+                .build();
+        try (GetObjectResponse response = minioClient.getObject(args).join()) {
+            byte[] body = response.readAllBytes();
+            if (ref.getSha256() != null && !ref.getSha256().equalsIgnoreCase(sha256(body))) {
+                throw new IllegalStateException("Checksum mismatch for claim-checked object " + ref.getObjectKey());
+            }
+            return body;
+        } catch (MinioException | GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Could not read claim-checked object " + ref.getObjectKey(), e);
+        }
+    }
+
+    public String retrieveText(ClaimCheckRef ref) {
+        return new String(retrieve(ref), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes every claim-checked object of a category item. Best effort, failures are only logged.
+     */
+    public void discard(Integer categoryItemId) {
+        if (!isEnabled()) {
+            return;
+        }
+        String prefix = claimCheckProperties.getKeyPrefix() + categoryItemId + "/";
+        try {
+            List<DeleteObject> objects = new ArrayList<>();
+            for (Result<Item> item : minioClient.listObjects(ListObjectsArgs.builder()
+                    .bucket(minioProperties.getBucket())
+                    .prefix(prefix)
+                    .recursive(true)
+                    .build())) {
+                objects.add(new DeleteObject(item.get().objectName()));
+            }
+            if (objects.isEmpty()) {
+                return;
+            }
+            for (Result<DeleteError> error : minioClient.removeObjects(RemoveObjectsArgs.builder()
+                    .bucket(minioProperties.getBucket())
+                    .objects(objects)
+                    .build())) {
+                log.warn("Could not remove claim-checked object {}", error.get().objectName());
+            }
+        } catch (MinioException | GeneralSecurityException | IOException e) {
+            log.warn("Could not discard claim-checked objects under {}", prefix, e);
+        }
+    }
+
+    private static String sha256(byte[] body) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+    }
+}
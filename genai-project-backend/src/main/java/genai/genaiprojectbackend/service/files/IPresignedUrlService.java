@@ -1,5 +1,6 @@
 package genai.genaiprojectbackend.service.files;
 
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadResult;
 import genai.genaiprojectbackend.api.bucket.dtos.FileInfoDto;
 import io.minio.BucketExistsArgs;
 import io.minio.MinioAsyncClient;
@@ -8,6 +9,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.NonNull;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -50,18 +52,38 @@ public interface IPresignedUrlService {
     Optional<FileInfoDto> fetchUploadUrl(String fileName, String originalFileName, Integer categoryItemId);
 
     /**
-     * Marks the upload as finished for the given file name.
+     * Marks the upload as finished for the given file name once the object is confirmed in the bucket.
      * <p>
      * Contract:
      * - Input: non-null, non-empty hash.
-     * - Output: Optional containing a populated FileInfoDto (hash, originalFileName, presignedURL, uploaded=true)
+     * - Output: future of an Optional containing a populated FileInfoDto (hash, originalFileName, presignedURL, uploaded=true)
      * or Optional.empty() if the file upload could not be confirmed.
-     * - Error modes: throw IllegalArgumentException for invalid input e.g. file already uploaded.
+     * - Error modes: throw IllegalArgumentException for invalid input e.g. file already uploaded;
+     * the future completes with a TimeoutException if MinIO does not answer in time.
      *
      * @param hash the name of the file that has been uploaded
-     * @return Optional with FileInfoDto if upload is confirmed
+     * @return future of an Optional with FileInfoDto if upload is confirmed
      */
-    Optional<FileInfoDto> uploadFinished(@NonNull @NotBlank FileInfoDto hash);
+    CompletableFuture<Optional<FileInfoDto>> uploadFinished(@NonNull @NotBlank FileInfoDto hash);
+
+    /**
+     * Batch variant of {@link #fetchUploadUrl}: one result per distinct file name, in request order,
+     * with status NEW (upload URL issued), ALREADY_UPLOADED (dedup) or FAILED.
+     *
+     * @param files          the files to be uploaded
+     * @param categoryItemId category item the new files are connected to, may be null
+     * @return per-file results
+     */
+    List<BatchUploadResult> fetchUploadUrls(List<FileInfoDto> files, Integer categoryItemId);
+
+    /**
+     * Batch variant of {@link #uploadFinished}: one result per distinct file name, in request order,
+     * with status UPLOADED, ALREADY_UPLOADED or FAILED. Timeouts are reported per file.
+     *
+     * @param files the files whose upload has finished
+     * @return future of the per-file results
+     */
+    CompletableFuture<List<BatchUploadResult>> uploadsFinished(List<FileInfoDto> files);
 
 }
 
@@ -0,0 +1,134 @@
+package genai.genaiprojectbackend.service.files;
+
+import genai.genaiprojectbackend.configuration.MinioProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.minio.http.Method;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, expiry-aware LRU cache of presigned URLs keyed by (object name, method).
+ * <p>
+ * An entry is served until its presigned URL expires minus minio.url-cache.safety-margin-seconds,
+ * so a URL handed out from the cache is always valid for at least that long.
+ */
+@Component
+public class PresignedUrlCache implements MeterBinder {
+    private final MinioProperties.UrlCache settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, CachedUrl> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PresignedUrlCache(MinioProperties minioProperties) {
+        this.settings = minioProperties.getUrlCache();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedUrl> eldest) {
+                if (size() > settings.getMaxEntries()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public Optional<CachedUrl> get(String fileName, Method method) {
+        Key key = new Key(fileName, method);
+        lock.lock();
+        try {
+            CachedUrl cached = entries.get(key);
+            if (cached != null && cached.servableUntil().isAfter(Instant.now())) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            if (cached != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String fileName, Method method, String presignedUrl, Instant expiresAt) {
+        Instant servableUntil = expiresAt.minusSeconds(settings.getSafetyMarginSeconds());
+        if (!servableUntil.isAfter(Instant.now())) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(new Key(fileName, method), new CachedUrl(presignedUrl, expiresAt, servableUntil));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String fileName, Method method) {
+        lock.lock();
+        try {
+            entries.remove(new Key(fileName, method));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("minio.url.cache.requests", this, PresignedUrlCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("minio.url.cache.requests", this, PresignedUrlCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("minio.url.cache.evictions", this, PresignedUrlCache::evictionCount)
+                .register(registry);
+        Gauge.builder("minio.url.cache.size", this, PresignedUrlCache::size)
+                .register(registry);
+    }
+
+    private record Key(String fileName, Method method) {
+    }
+
+    public record CachedUrl(String presignedUrl, Instant expiresAt, Instant servableUntil) {
+    }
+}
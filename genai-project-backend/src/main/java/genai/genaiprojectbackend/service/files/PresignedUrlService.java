@@ -1,15 +1,18 @@
 package genai.genaiprojectbackend.service.files;
 
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadResult;
+import genai.genaiprojectbackend.api.bucket.dtos.BatchUploadStatus;
 import genai.genaiprojectbackend.api.bucket.dtos.FileInfoDto;
 import genai.genaiprojectbackend.model.entities.CategoryItem;
 import genai.genaiprojectbackend.repository.CategoryItemRepository;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioAsyncClient;
 import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
 import io.minio.errors.MinioException;
 import io.minio.http.Method;
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotBlank;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -17,26 +20,46 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import genai.genaiprojectbackend.configuration.MinioProperties;
 import genai.genaiprojectbackend.mapper.UrlMapper;
 import genai.genaiprojectbackend.model.entities.File;
 import genai.genaiprojectbackend.model.entities.Url;
 import genai.genaiprojectbackend.repository.FileRepository;
 import genai.genaiprojectbackend.repository.UrlRepository;
+import genai.genaiprojectbackend.service.scheduling.ClusterLockService;
+import genai.genaiprojectbackend.service.workers.ResultReuseService;
 
 @Slf4j
 @Profile("!development")
 @Service
 @RequiredArgsConstructor
 public class PresignedUrlService implements IPresignedUrlService {
+    private static final String URL_PURGE_LOCK = "url-purge";
+
     protected final MinioAsyncClient minioClient;
     protected final MinioProperties minioProperties;
 
@@ -44,19 +67,45 @@ public class PresignedUrlService implements IPresignedUrlService {
     private final FileRepository fileRepository;
     private final CategoryItemRepository categoryItemRepository;
     private final UrlMapper urlMapper;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ClusterLockService clusterLockService;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier("applicationTaskExecutor")
+    private final TaskExecutor taskExecutor;
     private final int minimumAddedTime = 20;
     @Value("${spring.rabbitmq.template.routing-key:metadata_trigger}")
     private String routingKey;
 
+    /**
+     * Purges expired presigned URLs in bounded batches, each in its own transaction, on one replica at a time.
+     */
     @Scheduled(fixedDelayString = "${minio.defaultRefresh:2000}")
-    @Transactional
     public void invalidateUrls() {
-        urlRepository.getUrlsByExpiresAtBefore(Instant.now()).forEach(url -> {
-            log.info("Deleting expired URL for file: {}",
-                    url.getFile() != null ? url.getFile().getFilename() : "unknown");
-            urlRepository.delete(url);
-        });
+        MinioProperties.UrlPurge purge = minioProperties.getUrlPurge();
+        if (!clusterLockService.tryAcquire(URL_PURGE_LOCK, Duration.ofSeconds(purge.getLockLeaseSeconds()))) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Instant now = Instant.now();
+            int total = 0;
+            int batches = 0;
+            int deleted;
+            do {
+                Integer batch = transactionTemplate.execute(status ->
+                        urlRepository.deleteExpiredBatch(now, purge.getBatchSize()));
+                deleted = batch != null ? batch : 0;
+                total += deleted;
+                batches++;
+            } while (deleted == purge.getBatchSize() && batches < purge.getMaxBatches());
 
+            if (total > 0) {
+                log.info("Purged {} expired URLs in {} batches ({} ms)", total, batches,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } finally {
+            clusterLockService.release(URL_PURGE_LOCK);
+        }
     }
 
     @PostConstruct
@@ -70,12 +119,19 @@ public class PresignedUrlService implements IPresignedUrlService {
 
     @Override
     public Optional<FileInfoDto> fetchFileInfo(@NonNull @NotBlank String fileName, String originalFileName) {
-        List<Url> presignedUrls = urlRepository.findByFile_Filename_AndMethod_AndExpiresAtAfter(fileName, Method.GET,
-                Instant.now().plusSeconds(minimumAddedTime));
-        if (!presignedUrls.isEmpty()) {
-            Url url = presignedUrls.get(0);
-            FileInfoDto fileInfoDto = urlMapper.urlToFileInfoDto(url);
-            return Optional.of(fileInfoDto);
+        if (presignedUrlCache.isEnabled()) {
+            Optional<PresignedUrlCache.CachedUrl> cached = presignedUrlCache.get(fileName, Method.GET);
+            if (cached.isPresent()) {
+                return Optional.of(cachedFileInfo(fileName, cached.get()));
+            }
+        } else {
+            List<Url> presignedUrls = urlRepository.findByFile_Filename_AndMethod_AndExpiresAtAfter(fileName, Method.GET,
+                    Instant.now().plusSeconds(minimumAddedTime));
+            if (!presignedUrls.isEmpty()) {
+                Url url = presignedUrls.get(0);
+                FileInfoDto fileInfoDto = urlMapper.urlToFileInfoDto(url);
+                return Optional.of(fileInfoDto);
+            }
         }
 
         GetPresignedObjectUrlArgs presignedObjectUrlArgs = getPresignedObjectUrlArgs(fileName, Method.GET);
@@ -91,6 +147,11 @@ public class PresignedUrlService implements IPresignedUrlService {
             if (f.isEmpty()) {
                 return Optional.empty();
             }
+            if (presignedUrlCache.isEnabled()) {
+                presignedUrlCache.put(fileName, Method.GET, fileInfoDtoActual.getPresignedURL(), expiresAt);
+                fileInfoDtoActual.setUrlExpiresAt(expiresAt);
+                return Optional.of(fileInfoDtoActual);
+            }
             Url url = new Url();
             url.setFile(f.get());
             url.setPresignedURL(fileInfoDtoActual.getPresignedURL());
@@ -121,8 +182,19 @@ public class PresignedUrlService implements IPresignedUrlService {
         Optional<File> fileOpt = fileRepository.findFileByFilenameAndUploaded(fileName, false);
         File file;
         if (fileOpt.isPresent()) {
-            List<Url> presignedUrls = urlRepository.findByFile_Filename_AndMethod_AndExpiresAtAfter(fileName,
-                    Method.PUT, Instant.now());
+            if (presignedUrlCache.isEnabled()) {
+                Optional<PresignedUrlCache.CachedUrl> cached = presignedUrlCache.get(fileName, Method.PUT);
+                if (cached.isPresent()) {
+                    FileInfoDto fileInfo = new FileInfoDto(fileOpt.get());
+                    fileInfo.setPresignedURL(cached.get().presignedUrl());
+                    fileInfo.setUrlExpiresAt(cached.get().expiresAt());
+                    fileInfo.setUploaded(false);
+                    return Optional.of(fileInfo);
+                }
+            }
+            List<Url> presignedUrls = presignedUrlCache.isEnabled()
+                    ? List.of()
+                    : urlRepository.findByFile_Filename_AndMethod_AndExpiresAtAfter(fileName, Method.PUT, Instant.now());
             Optional<Url> createdUpload = presignedUrls.stream().findAny();
             if (createdUpload.isPresent()) {
                 FileInfoDto fileInfo;
@@ -136,6 +208,7 @@ public class PresignedUrlService implements IPresignedUrlService {
         } else {
             file = new File();
             file.setFilename(fileName);
+            file.setContentHash(ResultReuseService.contentHashOf(fileName));
             file.setUploaded(false);
             file.setOriginalFilename(originalFileName);
             if (categoryItemId != null) {
@@ -156,6 +229,10 @@ public class PresignedUrlService implements IPresignedUrlService {
             fileInfo.setOriginalFileName(originalFileName);
             fileInfo = fOpt.get();
             fileInfo.setUrlExpiresAt(expiresAt);
+            if (presignedUrlCache.isEnabled()) {
+                presignedUrlCache.put(fileName, Method.PUT, fileInfo.getPresignedURL(), expiresAt);
+                return Optional.of(fileInfo);
+            }
             url.setFile(file);
             url.setPresignedURL(fOpt.get().getPresignedURL());
             url.setMethod(Method.PUT);
@@ -169,52 +246,329 @@ public class PresignedUrlService implements IPresignedUrlService {
         }
     }
 
+    /**
+     * Stats the uploaded object and presigns its GET URL concurrently, each bounded by
+     * minio.operation-timeout-ms, and only then marks the file as uploaded with the size and ETag
+     * MinIO reports. A missing object completes with Optional.empty(), a timeout exceptionally
+     * with {@link TimeoutException}.
+     */
     @Override
-    @Transactional
-    public Optional<FileInfoDto> uploadFinished(@NonNull FileInfoDto body) {
-        File file = fileRepository.findFileByFilenameAndUploaded(body.getFileName(), false)
-                .orElse(null);
-        if (file == null) {
-            return Optional.empty();
+    public CompletableFuture<Optional<FileInfoDto>> uploadFinished(@NonNull FileInfoDto body) {
+        String fileName = body.getFileName();
+        if (fileRepository.findFileByFilenameAndUploaded(fileName, false).isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
         }
-        GetPresignedObjectUrlArgs presignedObjectUrlArgs = getPresignedObjectUrlArgs(body.getFileName(), Method.GET);
-        if (presignedObjectUrlArgs == null) {
+        Instant expiresAt = Instant.now().plusSeconds(minioProperties.getDefaultExpiryTime());
+        return verifyUpload(fileName, body.getOriginalFileName())
+                .exceptionally(error -> notConfirmed(fileName, error))
+                .thenApplyAsync(confirmed -> confirmed.flatMap(upload -> confirmUpload(fileName, upload, expiresAt)),
+                        taskExecutor);
+    }
+
+    /**
+     * Stat of the uploaded object combined with its presigned GET URL; both calls run concurrently.
+     */
+    private CompletableFuture<Optional<ConfirmedUpload>> verifyUpload(String fileName, String originalFileName) {
+        long timeoutMs = minioProperties.getOperationTimeoutMs();
+        CompletableFuture<StatObjectResponse> stat = statObject(fileName)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        CompletableFuture<Optional<FileInfoDto>> presign = presignAsync(fileName, originalFileName, Method.GET);
+        return stat.thenCombine(presign, (objectStat, fileInfo) -> fileInfo
+                .map(info -> new ConfirmedUpload(objectStat, info.getPresignedURL())));
+    }
+
+    private CompletableFuture<Optional<FileInfoDto>> presignAsync(String fileName, String originalFileName, Method method) {
+        return CompletableFuture
+                .supplyAsync(() -> getUrl(getPresignedObjectUrlArgs(fileName, method), fileName, originalFileName),
+                        taskExecutor)
+                .orTimeout(minioProperties.getOperationTimeoutMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private Optional<FileInfoDto> confirmUpload(String fileName, ConfirmedUpload upload, Instant expiresAt) {
+        Optional<File> confirmed = transactionTemplate.execute(status -> {
+            Optional<File> pending = fileRepository.findFileByFilenameAndUploaded(fileName, false);
+            if (pending.isEmpty()) {
+                return Optional.<File>empty();
+            }
+            File file = pending.get();
+            file.setUrl(upload.presignedUrl());
+            file.setUploaded(true);
+            file.setUploadedAt(Instant.now());
+            file.setSizeBytes(upload.stat().size());
+            file.setEtag(upload.stat().etag());
+            file = fileRepository.save(file);
+            urlRepository.deleteByFileIdAndMethod(file.getId(), Method.PUT);
+            return Optional.of(file);
+        });
+        if (confirmed == null || confirmed.isEmpty()) {
             return Optional.empty();
         }
+        if (presignedUrlCache.isEnabled()) {
+            presignedUrlCache.invalidate(fileName, Method.PUT);
+            presignedUrlCache.put(fileName, Method.GET, upload.presignedUrl(), expiresAt);
+        }
+
+        FileInfoDto dto = new FileInfoDto(confirmed.get());
+        dto.setUploaded(true);
+        dto.setPresignedURL(upload.presignedUrl());
+        dto.setUrlExpiresAt(expiresAt);
+        return Optional.of(dto);
+    }
+
+    /**
+     * Resolves all requested hashes with one query, presigns the missing PUT URLs in parallel and
+     * inserts the new files (and URLs, without the cache) in one batched transaction.
+     */
+    @Override
+    public List<BatchUploadResult> fetchUploadUrls(List<FileInfoDto> files, Integer categoryItemId) {
+        Map<String, FileInfoDto> requested = distinctByFileName(files);
+        CategoryItem categoryItem = categoryItemId == null ? null : categoryItemRepository.findById(categoryItemId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + categoryItemId));
+        Map<String, File> existing = fileRepository.findAllByFilenameIn(requested.keySet()).stream()
+                .collect(Collectors.toMap(File::getFilename, Function.identity()));
+        Map<String, BatchUploadResult> results = new HashMap<>();
         Instant expiresAt = Instant.now().plusSeconds(minioProperties.getDefaultExpiryTime());
-        Optional<FileInfoDto> fileInfoOpt = getUrl(presignedObjectUrlArgs, body.getFileName(),
-                body.getOriginalFileName());
-        if (fileInfoOpt.isEmpty()) {
-            return Optional.empty();
+
+        List<String> pending = new ArrayList<>();
+        for (String fileName : requested.keySet()) {
+            File file = existing.get(fileName);
+            if (file != null && Boolean.TRUE.equals(file.getUploaded())) {
+                results.put(fileName, BatchUploadResult.of(BatchUploadStatus.ALREADY_UPLOADED, new FileInfoDto(file)));
+            } else if (file != null) {
+                pending.add(fileName);
+            }
         }
+        reusableUploadUrls(pending).forEach((fileName, url) -> {
+            FileInfoDto fileInfo = new FileInfoDto(existing.get(fileName));
+            fileInfo.setPresignedURL(url.presignedUrl());
+            fileInfo.setUrlExpiresAt(url.expiresAt());
+            fileInfo.setUploaded(false);
+            results.put(fileName, BatchUploadResult.of(BatchUploadStatus.NEW, fileInfo));
+        });
 
-        if (!checkExistence(body)) {
-            return Optional.empty();
+        Map<String, CompletableFuture<Optional<FileInfoDto>>> presigns = new LinkedHashMap<>();
+        requested.forEach((fileName, body) -> {
+            if (!results.containsKey(fileName)) {
+                presigns.put(fileName, presignAsync(fileName, body.getOriginalFileName(), Method.PUT));
+            }
+        });
+        Map<String, String> presignedUrls = new LinkedHashMap<>();
+        presigns.forEach((fileName, presign) -> {
+            try {
+                presign.join().ifPresentOrElse(
+                        fileInfo -> presignedUrls.put(fileName, fileInfo.getPresignedURL()),
+                        () -> results.put(fileName, BatchUploadResult.failed(fileName, "presigning failed")));
+            } catch (CompletionException e) {
+                log.info("Could not presign upload URL for file: {}", fileName, e.getCause());
+                results.put(fileName, BatchUploadResult.failed(fileName, describe(e)));
+            }
+        });
+
+        if (!presignedUrls.isEmpty()) {
+            try {
+                List<File> saved = insertUploads(requested, existing, presignedUrls, categoryItem, expiresAt);
+                for (File file : saved) {
+                    String url = presignedUrls.get(file.getFilename());
+                    if (presignedUrlCache.isEnabled()) {
+                        presignedUrlCache.put(file.getFilename(), Method.PUT, url, expiresAt);
+                    }
+                    FileInfoDto fileInfo = new FileInfoDto(file);
+                    fileInfo.setPresignedURL(url);
+                    fileInfo.setUrlExpiresAt(expiresAt);
+                    fileInfo.setUploaded(false);
+                    results.put(file.getFilename(), BatchUploadResult.of(BatchUploadStatus.NEW, fileInfo));
+                }
+            } catch (DataIntegrityViolationException e) {
+                log.info("Batch upload of {} files collided with a concurrent upload", presignedUrls.size(), e);
+                presignedUrls.keySet().forEach(fileName -> results.put(fileName,
+                        BatchUploadResult.failed(fileName, "concurrent upload of the same file, retry")));
+            }
         }
+        return requested.keySet().stream().map(results::get).toList();
+    }
 
-        file.setUrl(fileInfoOpt.get().getPresignedURL());
-        file.setUploaded(true);
-        file.setUploadedAt(Instant.now());
-        file = fileRepository.save(file);
-        FileInfoDto dto = new FileInfoDto(file);
-        urlRepository.deleteByFileIdAndMethod(file.getId(), Method.PUT);
+    private List<File> insertUploads(Map<String, FileInfoDto> requested, Map<String, File> existing,
+                                     Map<String, String> presignedUrls, CategoryItem categoryItem, Instant expiresAt) {
+        return transactionTemplate.execute(status -> {
+            List<File> newFiles = new ArrayList<>();
+            List<File> uploads = new ArrayList<>(presignedUrls.size());
+            for (String fileName : presignedUrls.keySet()) {
+                File file = existing.get(fileName);
+                if (file == null) {
+                    file = new File();
+                    file.setFilename(fileName);
+                    file.setContentHash(ResultReuseService.contentHashOf(fileName));
+                    file.setUploaded(false);
+                    file.setOriginalFilename(requested.get(fileName).getOriginalFileName());
+                    file.setCategoryItem(categoryItem);
+                    newFiles.add(file);
+                }
+                uploads.add(file);
+            }
+            fileRepository.saveAll(newFiles);
 
-        dto.setUploaded(true);
-        dto.setPresignedURL(fileInfoOpt.get().getPresignedURL());
-        dto.setUrlExpiresAt(expiresAt);
+            if (!presignedUrlCache.isEnabled()) {
+                Instant now = Instant.now();
+                urlRepository.saveAll(uploads.stream().map(file -> {
+                    Url url = new Url();
+                    url.setFile(file);
+                    url.setPresignedURL(presignedUrls.get(file.getFilename()));
+                    url.setMethod(Method.PUT);
+                    url.setExpiresAt(expiresAt);
+                    url.setCreatedAt(now);
+                    url.setBucket(minioProperties.getBucket());
+                    return url;
+                }).toList());
+            }
+            return uploads;
+        });
+    }
 
-        return Optional.of(dto);
+    /**
+     * Still valid PUT URLs of pending files, from the cache or with one query on the urls table.
+     */
+    private Map<String, UploadUrl> reusableUploadUrls(List<String> fileNames) {
+        Map<String, UploadUrl> urls = new HashMap<>();
+        if (fileNames.isEmpty()) {
+            return urls;
+        }
+        if (presignedUrlCache.isEnabled()) {
+            for (String fileName : fileNames) {
+                presignedUrlCache.get(fileName, Method.PUT).ifPresent(cached ->
+                        urls.put(fileName, new UploadUrl(cached.presignedUrl(), cached.expiresAt())));
+            }
+            return urls;
+        }
+        for (Url url : urlRepository.findValidByFilenames(fileNames, Method.PUT, Instant.now())) {
+            urls.putIfAbsent(url.getFile().getFilename(),
+                    new UploadUrl(url.getPresignedURL(), url.getExpiresAt()));
+        }
+        return urls;
     }
 
-    private boolean checkExistence(FileInfoDto body) {
-        StatObjectArgs statObjectArgs = getStatObjectArgs(body.getFileName());
+    /**
+     * Verifies all pending uploads concurrently (stat + presign per file) and confirms the verified
+     * ones in one transaction. Failures and timeouts are reported per file.
+     */
+    @Override
+    public CompletableFuture<List<BatchUploadResult>> uploadsFinished(List<FileInfoDto> files) {
+        Map<String, FileInfoDto> requested = distinctByFileName(files);
+        Map<String, File> existing = fileRepository.findAllByFilenameIn(requested.keySet()).stream()
+                .collect(Collectors.toMap(File::getFilename, Function.identity()));
+        Map<String, BatchUploadResult> results = new ConcurrentHashMap<>();
+        Instant expiresAt = Instant.now().plusSeconds(minioProperties.getDefaultExpiryTime());
+
+        Map<String, CompletableFuture<Optional<ConfirmedUpload>>> verifications = new LinkedHashMap<>();
+        requested.forEach((fileName, body) -> {
+            File file = existing.get(fileName);
+            if (file == null) {
+                results.put(fileName, BatchUploadResult.failed(fileName, "file not found"));
+            } else if (Boolean.TRUE.equals(file.getUploaded())) {
+                results.put(fileName, BatchUploadResult.of(BatchUploadStatus.ALREADY_UPLOADED, new FileInfoDto(file)));
+            } else {
+                verifications.put(fileName, verifyUpload(fileName, body.getOriginalFileName())
+                        .exceptionally(error -> {
+                            log.info("Could not get stat object {} after upload finished call", fileName, error);
+                            results.put(fileName, BatchUploadResult.failed(fileName, describe(error)));
+                            return Optional.empty();
+                        }));
+            }
+        });
+
+        return CompletableFuture.allOf(verifications.values().toArray(CompletableFuture[]::new))
+                .thenApplyAsync(ignored -> {
+                    Map<String, ConfirmedUpload> verified = new LinkedHashMap<>();
+                    verifications.forEach((fileName, verification) -> verification.join().ifPresentOrElse(
+                            upload -> verified.put(fileName, upload),
+                            () -> results.putIfAbsent(fileName, BatchUploadResult.failed(fileName, "presigning failed"))));
+                    if (!verified.isEmpty()) {
+                        confirmUploads(verified, expiresAt, results);
+                    }
+                    return requested.keySet().stream().map(results::get).toList();
+                }, taskExecutor);
+    }
+
+    private void confirmUploads(Map<String, ConfirmedUpload> verified, Instant expiresAt,
+                                Map<String, BatchUploadResult> results) {
+        List<File> confirmed = transactionTemplate.execute(status -> {
+            List<File> pending = fileRepository.findAllByFilenameInAndUploaded(verified.keySet(), false);
+            Instant now = Instant.now();
+            for (File file : pending) {
+                ConfirmedUpload upload = verified.get(file.getFilename());
+                file.setUrl(upload.presignedUrl());
+                file.setUploaded(true);
+                file.setUploadedAt(now);
+                file.setSizeBytes(upload.stat().size());
+                file.setEtag(upload.stat().etag());
+            }
+            fileRepository.saveAll(pending);
+            if (!pending.isEmpty()) {
+                urlRepository.deleteByFileIdsAndMethod(pending.stream().map(File::getId).toList(), Method.PUT.name());
+            }
+            return pending;
+        });
+
+        for (File file : confirmed) {
+            String url = verified.get(file.getFilename()).presignedUrl();
+            if (presignedUrlCache.isEnabled()) {
+                presignedUrlCache.invalidate(file.getFilename(), Method.PUT);
+                presignedUrlCache.put(file.getFilename(), Method.GET, url, expiresAt);
+            }
+            FileInfoDto fileInfo = new FileInfoDto(file);
+            fileInfo.setUploaded(true);
+            fileInfo.setPresignedURL(url);
+            fileInfo.setUrlExpiresAt(expiresAt);
+            results.put(file.getFilename(), BatchUploadResult.of(BatchUploadStatus.UPLOADED, fileInfo));
+        }
+        // Confirmed concurrently by another request in the meantime
+        verified.keySet().forEach(fileName -> results.computeIfAbsent(fileName,
+                name -> new BatchUploadResult(name, BatchUploadStatus.ALREADY_UPLOADED, null, null)));
+    }
+
+    private static Map<String, FileInfoDto> distinctByFileName(List<FileInfoDto> files) {
+        Map<String, FileInfoDto> distinct = new LinkedHashMap<>();
+        for (FileInfoDto file : files) {
+            distinct.putIfAbsent(file.getFileName(), file);
+        }
+        return distinct;
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "object storage timed out";
+        }
+        if (cause instanceof ErrorResponseException response) {
+            return response.errorResponse().code();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    private CompletableFuture<StatObjectResponse> statObject(String fileName) {
         try {
-            minioClient.statObject(statObjectArgs);
-            return true;
+            return minioClient.statObject(getStatObjectArgs(fileName));
         } catch (MinioException | GeneralSecurityException | IOException e) {
-            log.info("Could not get stat object {} after upload finished call", body.getFileName(), e);
-            return false;
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Timeouts are passed on to the caller, any other failure (e.g. NoSuchKey) means the upload is not confirmed.
+     */
+    private Optional<ConfirmedUpload> notConfirmed(String fileName, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            throw new CompletionException(cause);
         }
+        log.info("Could not get stat object {} after upload finished call", fileName, cause);
+        return Optional.empty();
+    }
+
+    private FileInfoDto cachedFileInfo(String fileName, PresignedUrlCache.CachedUrl cached) {
+        FileInfoDto fileInfoDto = new FileInfoDto(fileName);
+        fileInfoDto.setPresignedURL(cached.presignedUrl());
+        fileInfoDto.setUrlExpiresAt(cached.expiresAt());
+        return fileInfoDto;
     }
 
     private Optional<FileInfoDto> getUrl(GetPresignedObjectUrlArgs presignedObjectUrlArgs, String fileName,
@@ -230,6 +584,12 @@ public class PresignedUrlService implements IPresignedUrlService {
         }
     }
 
+    private record ConfirmedUpload(StatObjectResponse stat, String presignedUrl) {
+    }
+
+    private record UploadUrl(String presignedUrl, Instant expiresAt) {
+    }
+
     private StatObjectArgs getStatObjectArgs(String fileName) {
         return StatObjectArgs.builder()
                 .bucket(minioProperties.getBucket())
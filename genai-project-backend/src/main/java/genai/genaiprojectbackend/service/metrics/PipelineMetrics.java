@@ -0,0 +1,180 @@
+package genai.genaiprojectbackend.service.metrics;
+
+import genai.genaiprojectbackend.model.entities.Job;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.repository.DispatchBacklogRepository;
+import genai.genaiprojectbackend.repository.JobRepository;
+import genai.genaiprojectbackend.repository.projection.JobTypeCount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the worker pipeline, all tagged by job type:
+ * <ul>
+ *     <li>pipeline.job.publish - time to publish a job message (outcome success/error)</li>
+ *     <li>pipeline.result.handling - time to handle a worker result (outcome success/failed/error)</li>
+ *     <li>pipeline.job.dwell - job creation until its final status (outcome finished/failed)</li>
+ *     <li>pipeline.message.payload - message body size in bytes (direction outbound/inbound)</li>
+ *     <li>pipeline.item.chunks - summarized chunks per category item, recorded when aggregation starts</li>
+ *     <li>pipeline.jobs.in.flight - PENDING/IN_PROGRESS jobs in the database (cluster wide)</li>
+ *     <li>pipeline.job.timeouts - jobs past their deadline (outcome retried/failed)</li>
+ *     <li>pipeline.dispatch.backlog - jobs waiting in dispatch_backlog for admission (cluster wide)</li>
+ *     <li>pipeline.dispatch.admission.wait - time a job waited in dispatch_backlog before it was published</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PipelineMetrics {
+    public static final String OUTBOUND = "outbound";
+    public static final String INBOUND = "inbound";
+
+    private static final String TAG_JOB_TYPE = "job.type";
+    private static final String TAG_OUTCOME = "outcome";
+
+    private final MeterRegistry registry;
+    private final JobRepository jobRepository;
+    private final DispatchBacklogRepository dispatchBacklogRepository;
+    private final DistributionSummary itemChunks;
+    private final Map<JobType, AtomicLong> inFlightJobs = new EnumMap<>(JobType.class);
+    private final Map<JobType, AtomicLong> backlogJobs = new EnumMap<>(JobType.class);
+
+    public PipelineMetrics(MeterRegistry registry, JobRepository jobRepository, DispatchBacklogRepository dispatchBacklogRepository) {
+        this.registry = registry;
+        this.jobRepository = jobRepository;
+        this.dispatchBacklogRepository = dispatchBacklogRepository;
+        this.itemChunks = DistributionSummary.builder("pipeline.item.chunks")
+                .description("Summarized chunks per category item")
+                .register(registry);
+
+        for (JobType jobType : JobType.values()) {
+            AtomicLong count = new AtomicLong();
+            inFlightJobs.put(jobType, count);
+            Gauge.builder("pipeline.jobs.in.flight", count, AtomicLong::get)
+                    .description("Jobs in PENDING or IN_PROGRESS")
+                    .tag(TAG_JOB_TYPE, jobType.name())
+                    .register(registry);
+
+            AtomicLong backlog = new AtomicLong();
+            backlogJobs.put(jobType, backlog);
+            Gauge.builder("pipeline.dispatch.backlog", backlog, AtomicLong::get)
+                    .description("Jobs waiting for admission")
+                    .tag(TAG_JOB_TYPE, jobType.name())
+                    .register(registry);
+        }
+    }
+
+    public void recordPublish(JobType jobType, Runnable publish) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            publish.run();
+            outcome = "success";
+        } finally {
+            sample.stop(timer("pipeline.job.publish", jobType, outcome));
+        }
+    }
+
+    /**
+     * Runs the handler of a worker result; the outcome is the worker's status, or "error" if handling threw.
+     */
+    public void recordResultHandling(JobType jobType, Map<String, Object> result, Runnable handler) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            handler.run();
+            outcome = "success".equalsIgnoreCase(String.valueOf(result.get("status"))) ? "success" : "failed";
+        } finally {
+            sample.stop(timer("pipeline.result.handling", jobType, outcome));
+        }
+    }
+
+    /**
+     * Time from Job.createdAt to now, called where the final status is set (i.e. the updatedAt Hibernate writes).
+     */
+    public void recordJobDwell(Job job) {
+        if (job.getCreatedAt() == null || job.getJobType() == null) {
+            return;
+        }
+        Duration dwell = Duration.between(job.getCreatedAt(), LocalDateTime.now());
+        timer("pipeline.job.dwell", job.getJobType(), job.getStatus().name().toLowerCase()).record(dwell);
+    }
+
+    public void recordJobTimeout(JobType jobType, boolean retried) {
+        Counter.builder("pipeline.job.timeouts")
+                .tag(TAG_JOB_TYPE, jobType.name())
+                .tag(TAG_OUTCOME, retried ? "retried" : "failed")
+                .register(registry)
+                .increment();
+    }
+
+    public void recordAdmissionWait(JobType jobType, Duration wait) {
+        Timer.builder("pipeline.dispatch.admission.wait")
+                .tag(TAG_JOB_TYPE, jobType.name())
+                .register(registry)
+                .record(wait);
+    }
+
+    public void recordItemChunks(int chunks) {
+        itemChunks.record(chunks);
+    }
+
+    public void recordPayloadBytes(JobType jobType, String direction, int bytes) {
+        DistributionSummary.builder("pipeline.message.payload")
+                .baseUnit("bytes")
+                .tag(TAG_JOB_TYPE, jobType.name())
+                .tag("direction", direction)
+                .register(registry)
+                .record(bytes);
+    }
+
+    /**
+     * Records the size of the converted message body before it is published.
+     */
+    public MessagePostProcessor outboundPayload(JobType jobType) {
+        return message -> {
+            recordPayloadBytes(jobType, OUTBOUND, message.getBody().length);
+            return message;
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.metrics.in-flight-refresh-ms:15000}")
+    public void refreshInFlightJobs() {
+        refresh(inFlightJobs, jobRepository::countActiveJobsByType);
+        refresh(backlogJobs, dispatchBacklogRepository::countByJobType);
+    }
+
+    private static void refresh(Map<JobType, AtomicLong> gauges, Supplier<List<JobTypeCount>> query) {
+        Map<JobType, Long> counts = new EnumMap<>(JobType.class);
+        try {
+            for (JobTypeCount count : query.get()) {
+                counts.put(JobType.valueOf(count.getJobType()), count.getCount());
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh job gauges: {}", e.getMessage());
+            return;
+        }
+        gauges.forEach((jobType, gauge) -> gauge.set(counts.getOrDefault(jobType, 0L)));
+    }
+
+    private Timer timer(String name, JobType jobType, String outcome) {
+        return Timer.builder(name)
+                .tag(TAG_JOB_TYPE, jobType.name())
+                .tag(TAG_OUTCOME, outcome)
+                .register(registry);
+    }
+}
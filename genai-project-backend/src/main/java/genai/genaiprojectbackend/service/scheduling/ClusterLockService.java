@@ -0,0 +1,54 @@
+package genai.genaiprojectbackend.service.scheduling;
+
+import genai.genaiprojectbackend.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Lease-based lock on the scheduler_locks table, so scheduled maintenance runs on one replica only.
+ * The lease expires on its own if the holder dies; callers should keep their work shorter than the lease.
+ */
+@Slf4j
+@Service
+public class ClusterLockService {
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ClusterLockService(SchedulerLockRepository schedulerLockRepository, TransactionTemplate transactionTemplate) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean tryAcquire(String name, Duration lease) {
+        Integer acquired = transactionTemplate.execute(status -> {
+            schedulerLockRepository.createIfAbsent(name);
+            return schedulerLockRepository.tryAcquire(name, owner, lease.toSeconds());
+        });
+        return acquired != null && acquired == 1;
+    }
+
+    /**
+     * Takes the lock or extends the lease this replica already holds, for tasks that should keep running
+     * on the same replica (e.g. because they keep state in memory) for as long as it lives.
+     */
+    public boolean tryHold(String name, Duration lease) {
+        Integer held = transactionTemplate.execute(status -> {
+            schedulerLockRepository.createIfAbsent(name);
+            return schedulerLockRepository.tryAcquireOrRenew(name, owner, lease.toSeconds());
+        });
+        return held != null && held == 1;
+    }
+
+    public void release(String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> schedulerLockRepository.release(name, owner));
+        } catch (RuntimeException e) {
+            log.warn("Could not release scheduler lock {}, it expires with its lease", name, e);
+        }
+    }
+}
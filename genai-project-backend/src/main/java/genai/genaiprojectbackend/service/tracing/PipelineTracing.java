@@ -0,0 +1,86 @@
+package genai.genaiprojectbackend.service.tracing;
+
+import genai.genaiprojectbackend.model.enums.JobType;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Spans around the handling of worker results, and around job messages published later by the dispatch scheduler.
+ * <p>
+ * Job messages carry the W3C traceparent of their publish span (RabbitTemplate observation) and the
+ * workers copy it onto their result message, so the listener observation continues that trace and
+ * these spans, with the repository spans below them, end up in the trace of the original request.
+ */
+@Component
+public class PipelineTracing {
+    private final Tracer tracer;
+
+    public PipelineTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public void inResultSpan(JobType jobType, Map<String, Object> result, Runnable handler) {
+        Object jobId = result.get("original_job_id") != null ? result.get("original_job_id") : result.get("job_id");
+        Span span = tracer.nextSpan()
+                .name("process " + jobType.name().toLowerCase().replace('_', ' ') + " result")
+                .tag("job.type", jobType.name())
+                .tag("job.id", String.valueOf(jobId))
+                .tag("job.status", String.valueOf(result.get("status")))
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            handler.run();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * W3C traceparent of the current span, to be stored with work that is published later; null outside a trace.
+     */
+    public String currentTraceParent() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        TraceContext context = span.context();
+        return "00-" + context.traceId() + "-" + context.spanId() + "-" + (Boolean.TRUE.equals(context.sampled()) ? "01" : "00");
+    }
+
+    /**
+     * Publishes deferred job messages in a span below {@code traceParent}, so they continue the trace of the
+     * request that created the jobs. Without a (valid) traceParent the publication stays untraced.
+     */
+    public void inDispatchSpan(String traceParent, JobType jobType, int jobs, Runnable publish) {
+        String[] parts = traceParent != null ? traceParent.split("-") : new String[0];
+        if (parts.length != 4) {
+            publish.run();
+            return;
+        }
+        TraceContext parent = tracer.traceContextBuilder()
+                .traceId(parts[1])
+                .spanId(parts[2])
+                .sampled("01".equals(parts[3]))
+                .build();
+        Span span = tracer.spanBuilder()
+                .setParent(parent)
+                .name("dispatch " + jobType.name().toLowerCase().replace('_', ' ') + " jobs")
+                .tag("job.type", jobType.name())
+                .tag("jobs", String.valueOf(jobs))
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            publish.run();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
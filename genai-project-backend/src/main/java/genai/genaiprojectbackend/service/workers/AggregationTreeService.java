@@ -0,0 +1,271 @@
+package genai.genaiprojectbackend.service.workers;
+
+import genai.genaiprojectbackend.configuration.AggregationProperties;
+import genai.genaiprojectbackend.model.dtos.StartAggregationJobDto;
+import genai.genaiprojectbackend.model.entities.Job;
+import genai.genaiprojectbackend.model.entities.PartialAggregation;
+import genai.genaiprojectbackend.model.entities.PartialAggregation.PartialFlashcard;
+import genai.genaiprojectbackend.model.entities.SummaryChunk;
+import genai.genaiprojectbackend.model.entities.TemporaryFlashcard;
+import genai.genaiprojectbackend.model.enums.CategoryItemStatus;
+import genai.genaiprojectbackend.model.enums.JobStatus;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.repository.CategoryItemRepository;
+import genai.genaiprojectbackend.repository.JobRepository;
+import genai.genaiprojectbackend.repository.PartialAggregationRepository;
+import genai.genaiprojectbackend.repository.SummaryChunkRepository;
+import genai.genaiprojectbackend.repository.TemporaryFlashcardRepository;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-level reduce of a category item's chunk results.
+ * <p>
+ * If the chunk summaries fit one group (pipeline.aggregation.leaf-group-size, max-group-chars) a single
+ * AGGREGATION job is started as before. Otherwise they are split into PARTIAL_AGGREGATION jobs; when the last
+ * job of a round finishes, the round's results are merged by the next round (merge-group-size per job) until
+ * they fit the final AGGREGATION job. The aggregation worker handles both job types alike.
+ * <p>
+ * A round is complete when the item has no PENDING/IN_PROGRESS partial job left. Rounds never overlap, so this
+ * check together with the item row lock decides the fan-in exactly once.
+ */
+@Slf4j
+@Service
+public class AggregationTreeService {
+    private static final List<JobStatus> ACTIVE_STATUSES = List.of(JobStatus.PENDING, JobStatus.IN_PROGRESS);
+
+    private final AggregationProperties settings;
+    private final JobRepository jobRepository;
+    private final CategoryItemRepository categoryItemRepository;
+    private final PartialAggregationRepository partialAggregationRepository;
+    private final SummaryChunkRepository summaryChunkRepository;
+    private final TemporaryFlashcardRepository temporaryFlashcardRepository;
+    private final WorkerStartService workerStartService;
+    private final PipelineMetrics pipelineMetrics;
+
+    public AggregationTreeService(
+            AggregationProperties settings,
+            JobRepository jobRepository,
+            CategoryItemRepository categoryItemRepository,
+            PartialAggregationRepository partialAggregationRepository,
+            SummaryChunkRepository summaryChunkRepository,
+            TemporaryFlashcardRepository temporaryFlashcardRepository,
+            WorkerStartService workerStartService,
+            PipelineMetrics pipelineMetrics) {
+        this.settings = settings;
+        this.jobRepository = jobRepository;
+        this.categoryItemRepository = categoryItemRepository;
+        this.partialAggregationRepository = partialAggregationRepository;
+        this.summaryChunkRepository = summaryChunkRepository;
+        this.temporaryFlashcardRepository = temporaryFlashcardRepository;
+        this.workerStartService = workerStartService;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    /**
+     * Summary and flashcards of one chunk (sourceId is the summary chunk id), or the result of one
+     * partial aggregation (sourceId is its job id).
+     */
+    public record AggregationInput(Integer sourceId, String summary, List<Map<String, String>> flashcards) {
+        int chars() {
+            int chars = summary != null ? summary.length() : 0;
+            for (Map<String, String> flashcard : flashcards) {
+                chars += flashcard.getOrDefault("question", "").length() + flashcard.getOrDefault("answer", "").length();
+            }
+            return chars;
+        }
+    }
+
+    /**
+     * Summaries and flashcards of the item's chunks in document order.
+     */
+    public List<AggregationInput> loadChunkResults(Integer categoryItemId) {
+        List<SummaryChunk> summaries = summaryChunkRepository
+                .findAllByTextChunk_File_CategoryItem_IdOrderByTextChunk_File_IdAscTextChunk_ChunkIndexAsc(categoryItemId);
+
+        Map<Integer, List<Map<String, String>>> flashcardsBySummary = new HashMap<>();
+        for (TemporaryFlashcard f : temporaryFlashcardRepository.findAllBySummaryChunk_TextChunk_File_CategoryItem_Id(categoryItemId)) {
+            flashcardsBySummary.computeIfAbsent(f.getSummaryChunk().getId(), id -> new ArrayList<>())
+                    .add(Map.of("question", f.getQuestion(), "answer", f.getAnswer()));
+        }
+
+        return summaries.stream()
+                .map(summary -> new AggregationInput(summary.getId(), summary.getSummaryText(),
+                        flashcardsBySummary.getOrDefault(summary.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Starts the aggregation of the item's chunk results, in document order. Jobs are published after commit.
+     */
+    public void startAggregation(Integer categoryItemId, List<AggregationInput> chunkResults) {
+        // Partial results of an earlier, failed run of this item
+        partialAggregationRepository.deleteAllByCategoryItemId(categoryItemId);
+        dispatch(categoryItemId, 0, chunkResults, settings.getLeafGroupSize());
+    }
+
+    /**
+     * Stores the result of a PARTIAL_AGGREGATION job and starts the next round (or the final aggregation)
+     * when it was the last active job of its round.
+     *
+     * @return false if the job has no partial aggregation row, i.e. the result cannot be placed in the tree
+     */
+    public boolean processPartialResult(Job job, String summaryText, List<Map<String, String>> flashcards) {
+        Integer categoryItemId = job.getCategoryItemId();
+        String itemStatus = categoryItemRepository.lockStatusById(categoryItemId).orElse(null);
+        if (!CategoryItemStatus.PROCESSING.name().equals(itemStatus)) {
+            log.warn("Backend: Partial aggregation result for Job {} but CategoryItem {} is {}. Ignoring.", job.getId(), categoryItemId, itemStatus);
+            return true;
+        }
+
+        PartialAggregation partial = partialAggregationRepository.findById(job.getId()).orElse(null);
+        if (partial == null) {
+            return false;
+        }
+        if (partial.getSummaryText() != null) {
+            log.warn("Backend: Duplicate partial aggregation result for Job {}. Ignoring.", job.getId());
+            return true;
+        }
+        // Conditional, like WorkerResultService: the job may have been cancelled or finished since it was loaded
+        if (jobRepository.finish(job.getId()) == 0) {
+            log.warn("Backend: Partial aggregation Job {} is no longer active. Ignoring its result.", job.getId());
+            return true;
+        }
+        job.setStatus(JobStatus.FINISHED);
+        pipelineMetrics.recordJobDwell(job);
+
+        partial.setSummaryText(summaryText != null ? summaryText : "");
+        flashcards.forEach(f -> partial.getFlashcards().add(new PartialFlashcard(f.get("question"), f.get("answer"))));
+        partialAggregationRepository.save(partial);
+
+        if (jobRepository.countByCategoryItemIdAndJobTypeAndStatusIn(categoryItemId, JobType.PARTIAL_AGGREGATION, ACTIVE_STATUSES) > 0) {
+            return true;
+        }
+
+        int level = partial.getLevel();
+        List<AggregationInput> roundResults = partialAggregationRepository
+                .findAllByCategoryItemIdAndLevelOrderByJobId(categoryItemId, level)
+                .stream()
+                .map(AggregationTreeService::toInput)
+                .toList();
+        log.info("Backend: Aggregation round {} of CategoryItem {} finished with {} partial results.", level, categoryItemId, roundResults.size());
+        dispatch(categoryItemId, level + 1, roundResults, settings.getMergeGroupSize());
+        return true;
+    }
+
+    /**
+     * Rebuilds the message of an unfinished PARTIAL_AGGREGATION or AGGREGATION job from the stored tree,
+     * e.g. to publish it again after its worker died. Empty if its inputs are gone.
+     */
+    public Optional<StartAggregationJobDto> rebuildJob(Job job) {
+        Integer categoryItemId = job.getCategoryItemId();
+        if (job.getJobType() == JobType.AGGREGATION) {
+            // The final job merges the last round, or the chunk results if there was no tree
+            Integer lastLevel = partialAggregationRepository.findMaxLevelByCategoryItemId(categoryItemId);
+            List<AggregationInput> inputs = lastLevel == null
+                    ? loadChunkResults(categoryItemId)
+                    : partialAggregationRepository.findAllByCategoryItemIdAndLevelOrderByJobId(categoryItemId, lastLevel)
+                    .stream().map(AggregationTreeService::toInput).toList();
+            return inputs.isEmpty() ? Optional.empty() : Optional.of(toDto(job, inputs));
+        }
+
+        PartialAggregation partial = partialAggregationRepository.findById(job.getId()).orElse(null);
+        if (partial == null) {
+            return Optional.empty();
+        }
+        Map<Integer, AggregationInput> available = (partial.getLevel() == 0
+                ? loadChunkResults(categoryItemId)
+                : partialAggregationRepository.findAllById(partial.getSourceIds()).stream().map(AggregationTreeService::toInput).toList())
+                .stream()
+                .collect(Collectors.toMap(AggregationInput::sourceId, Function.identity()));
+        List<AggregationInput> inputs = partial.getSourceIds().stream().map(available::get).filter(Objects::nonNull).toList();
+        if (inputs.size() != partial.getSourceIds().size()) {
+            return Optional.empty();
+        }
+        return Optional.of(toDto(job, inputs));
+    }
+
+    private void dispatch(Integer categoryItemId, int level, List<AggregationInput> inputs, int groupSize) {
+        List<List<AggregationInput>> groups = group(inputs, groupSize);
+        if (groups.size() <= 1) {
+            Job job = jobRepository.save(new Job(JobType.AGGREGATION, categoryItemId));
+            StartAggregationJobDto dto = toDto(job, inputs);
+            afterCommit(() -> workerStartService.startAggregationJob(dto));
+            return;
+        }
+
+        List<StartAggregationJobDto> dtos = new ArrayList<>(groups.size());
+        for (List<AggregationInput> group : groups) {
+            Job job = jobRepository.save(new Job(JobType.PARTIAL_AGGREGATION, categoryItemId));
+            PartialAggregation partial = new PartialAggregation(job.getId(), categoryItemId, level);
+            group.forEach(input -> partial.getSourceIds().add(input.sourceId()));
+            partialAggregationRepository.save(partial);
+            dtos.add(toDto(job, group));
+        }
+        log.info("Backend: Starting aggregation round {} of CategoryItem {} with {} jobs.", level, categoryItemId, dtos.size());
+        afterCommit(() -> dtos.forEach(workerStartService::startPartialAggregationJob));
+    }
+
+    /**
+     * Consecutive groups of at most groupSize inputs. A group is also closed before it would exceed
+     * maxGroupChars, but never with fewer than two inputs, so every merge round shrinks the tree.
+     */
+    private List<List<AggregationInput>> group(List<AggregationInput> inputs, int groupSize) {
+        int maxSize = Math.max(2, groupSize);
+        List<List<AggregationInput>> groups = new ArrayList<>();
+        List<AggregationInput> current = new ArrayList<>();
+        int currentChars = 0;
+        for (AggregationInput input : inputs) {
+            int chars = input.chars();
+            boolean full = current.size() >= maxSize
+                    || (current.size() >= 2 && currentChars + chars > settings.getMaxGroupChars());
+            if (full) {
+                groups.add(current);
+                current = new ArrayList<>();
+                currentChars = 0;
+            }
+            current.add(input);
+            currentChars += chars;
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    private static AggregationInput toInput(PartialAggregation partial) {
+        return new AggregationInput(partial.getJobId(), partial.getSummaryText(), partial.getFlashcards().stream()
+                .map(f -> Map.of("question", f.getQuestion(), "answer", f.getAnswer()))
+                .toList());
+    }
+
+    private static StartAggregationJobDto toDto(Job job, List<AggregationInput> inputs) {
+        return StartAggregationJobDto.builder()
+                .jobId(job.getId())
+                .categoryItemId(job.getCategoryItemId())
+                .summaries(inputs.stream().map(AggregationInput::summary).toList())
+                .flashcards(inputs.stream().flatMap(input -> input.flashcards().stream()).toList())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
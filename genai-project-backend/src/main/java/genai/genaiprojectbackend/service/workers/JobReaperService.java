@@ -0,0 +1,197 @@
+package genai.genaiprojectbackend.service.workers;
+
+import genai.genaiprojectbackend.configuration.JobReaperProperties;
+import genai.genaiprojectbackend.model.dtos.StartTextExtractionJobDto;
+import genai.genaiprojectbackend.model.dtos.WorkerFile;
+import genai.genaiprojectbackend.model.entities.Job;
+import genai.genaiprojectbackend.model.enums.JobStatus;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.repository.CategoryItemRepository;
+import genai.genaiprojectbackend.repository.FileExtractionRepository;
+import genai.genaiprojectbackend.repository.FileRepository;
+import genai.genaiprojectbackend.repository.JobRepository;
+import genai.genaiprojectbackend.repository.SummaryChunkRepository;
+import genai.genaiprojectbackend.repository.TextChunkRepository;
+import genai.genaiprojectbackend.repository.projection.StaleJob;
+import genai.genaiprojectbackend.service.dispatch.DispatchScheduler;
+import genai.genaiprojectbackend.service.extraction.TextExtractionStrategy;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
+import genai.genaiprojectbackend.service.scheduling.ClusterLockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds jobs whose worker died or whose message was lost, i.e. jobs still PENDING/IN_PROGRESS after the deadline
+ * of their type, and publishes them again under the same job id. Whichever result arrives first finishes the job;
+ * later duplicates are ignored by the result handlers. Summary and flashcard jobs go back to the dispatch backlog
+ * instead; jobs still waiting there are not considered stuck. Once pipeline.job-reaper.max-retries is used up the
+ * job fails, which fails the category item.
+ * <p>
+ * Runs on one replica at a time; every job is handled in its own transaction. Result handlers do not take the
+ * item row lock, so the retry is counted with a conditional UPDATE and skipped if a result finished the job
+ * in the meantime.
+ */
+@Slf4j
+@Service
+public class JobReaperService {
+    private static final String REAPER_LOCK = "job-reaper";
+
+    private final JobReaperProperties settings;
+    private final JobRepository jobRepository;
+    private final CategoryItemRepository categoryItemRepository;
+    private final FileRepository fileRepository;
+    private final FileExtractionRepository fileExtractionRepository;
+    private final TextChunkRepository textChunkRepository;
+    private final SummaryChunkRepository summaryChunkRepository;
+    private final AggregationTreeService aggregationTreeService;
+    private final WorkerStartService workerStartService;
+    private final TextExtractionStrategy textExtractionStrategy;
+    private final DispatchScheduler dispatchScheduler;
+    private final WorkerResultService workerResultService;
+    private final ClusterLockService clusterLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineMetrics pipelineMetrics;
+
+    public JobReaperService(
+            JobReaperProperties settings,
+            JobRepository jobRepository,
+            CategoryItemRepository categoryItemRepository,
+            FileRepository fileRepository,
+            FileExtractionRepository fileExtractionRepository,
+            TextChunkRepository textChunkRepository,
+            SummaryChunkRepository summaryChunkRepository,
+            AggregationTreeService aggregationTreeService,
+            WorkerStartService workerStartService,
+            TextExtractionStrategy textExtractionStrategy,
+            DispatchScheduler dispatchScheduler,
+            WorkerResultService workerResultService,
+            ClusterLockService clusterLockService,
+            TransactionTemplate transactionTemplate,
+            PipelineMetrics pipelineMetrics) {
+        this.settings = settings;
+        this.jobRepository = jobRepository;
+        this.categoryItemRepository = categoryItemRepository;
+        this.fileRepository = fileRepository;
+        this.fileExtractionRepository = fileExtractionRepository;
+        this.textChunkRepository = textChunkRepository;
+        this.summaryChunkRepository = summaryChunkRepository;
+        this.aggregationTreeService = aggregationTreeService;
+        this.workerStartService = workerStartService;
+        this.textExtractionStrategy = textExtractionStrategy;
+        this.dispatchScheduler = dispatchScheduler;
+        this.workerResultService = workerResultService;
+        this.clusterLockService = clusterLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.job-reaper.interval-ms:60000}")
+    public void reapStuckJobs() {
+        if (!settings.isEnabled() || !clusterLockService.tryAcquire(REAPER_LOCK, Duration.ofMinutes(5))) {
+            return;
+        }
+        try {
+            for (Map.Entry<JobType, Duration> deadline : settings.getDeadlines().entrySet()) {
+                LocalDateTime staleBefore = LocalDateTime.now().minus(deadline.getValue());
+                List<StaleJob> staleJobs = jobRepository.findStaleJobs(deadline.getKey().name(), staleBefore, settings.getBatchSize());
+                for (StaleJob staleJob : staleJobs) {
+                    try {
+                        retryOrFail(staleJob, staleBefore);
+                    } catch (RuntimeException e) {
+                        log.error("Backend: Could not reap stuck Job {}", staleJob.getId(), e);
+                    }
+                }
+            }
+        } finally {
+            clusterLockService.release(REAPER_LOCK);
+        }
+    }
+
+    private void retryOrFail(StaleJob staleJob, LocalDateTime staleBefore) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (staleJob.getCategoryItemId() != null) {
+                categoryItemRepository.lockStatusById(staleJob.getCategoryItemId());
+            }
+            // Read under the lock: a result may have finished the job since it was selected
+            Job job = jobRepository.findById(staleJob.getId()).orElse(null);
+            if (job == null || !isActive(job.getStatus()) || !job.getUpdatedAt().isBefore(staleBefore)) {
+                return;
+            }
+            if (job.getCategoryItemId() == null) {
+                job.setStatus(JobStatus.CANCELLED);
+                jobRepository.save(job);
+                return;
+            }
+
+            Optional<Runnable> publish = job.getAttempts() < settings.getMaxRetries() ? rebuild(job) : Optional.empty();
+            if (publish.isEmpty()) {
+                pipelineMetrics.recordJobTimeout(job.getJobType(), false);
+                workerResultService.failTimedOutJob(job);
+                return;
+            }
+
+            // Not written through the entity: that would overwrite a FINISHED status committed by a result meanwhile
+            if (jobRepository.incrementAttempts(job.getId()) == 0) {
+                return;
+            }
+            pipelineMetrics.recordJobTimeout(job.getJobType(), true);
+            log.warn("Backend: Job {} ({}) exceeded its deadline. Publishing it again (retry {} of {}).",
+                    job.getId(), job.getJobType(), job.getAttempts() + 1, settings.getMaxRetries());
+            if (job.getJobType() != JobType.PARTIAL_AGGREGATION && job.getJobType() != JobType.AGGREGATION) {
+                // Extraction strategies start their work after commit themselves; the dispatch backlog is
+                // written in this transaction
+                publish.get().run();
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.get().run();
+                }
+            });
+        });
+    }
+
+    /**
+     * Rebuilds the job message from the database; empty if its inputs are gone.
+     */
+    private Optional<Runnable> rebuild(Job job) {
+        Integer categoryItemId = job.getCategoryItemId();
+        return switch (job.getJobType()) {
+            case TEXT_EXTRACTION -> {
+                // Per-file jobs republish their own file, jobs without a file every file that is not done yet
+                List<WorkerFile> files = fileRepository.findByCategoryItemId(categoryItemId).stream()
+                        .filter(file -> job.getFileId() == null || job.getFileId().equals(file.getId()))
+                        .filter(file -> !fileExtractionRepository.existsByFileIdAndClosedTrue(file.getId()))
+                        .toList();
+                StartTextExtractionJobDto dto = new StartTextExtractionJobDto(job.getId(), categoryItemId, files);
+                yield files.isEmpty() ? Optional.empty() : Optional.of(() -> textExtractionStrategy.startExtraction(dto));
+            }
+            case SUMMARY_GENERATION -> Optional.ofNullable(job.getSourceChunkId())
+                    .filter(textChunkRepository::existsById)
+                    .map(sourceChunkId -> () -> dispatchScheduler.enqueue(List.of(job)));
+            case FLASHCARD_GENERATION -> Optional.ofNullable(job.getSourceChunkId())
+                    .filter(summaryChunkRepository::existsById)
+                    .map(sourceChunkId -> () -> dispatchScheduler.enqueue(List.of(job)));
+            case PARTIAL_AGGREGATION -> aggregationTreeService.rebuildJob(job)
+                    .map(dto -> () -> workerStartService.startPartialAggregationJob(dto));
+            case AGGREGATION -> aggregationTreeService.rebuildJob(job)
+                    .map(dto -> () -> workerStartService.startAggregationJob(dto));
+        };
+    }
+
+    private static boolean isActive(JobStatus status) {
+        return status == JobStatus.PENDING || status == JobStatus.IN_PROGRESS;
+    }
+}
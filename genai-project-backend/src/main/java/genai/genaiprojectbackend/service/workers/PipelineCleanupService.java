@@ -0,0 +1,150 @@
+package genai.genaiprojectbackend.service.workers;
+
+import genai.genaiprojectbackend.model.enums.CategoryItemStatus;
+import genai.genaiprojectbackend.repository.CategoryItemRepository;
+import genai.genaiprojectbackend.repository.DispatchBacklogRepository;
+import genai.genaiprojectbackend.repository.FileExtractionRepository;
+import genai.genaiprojectbackend.repository.PartialAggregationRepository;
+import genai.genaiprojectbackend.repository.SummaryChunkRepository;
+import genai.genaiprojectbackend.repository.TemporaryFlashcardRepository;
+import genai.genaiprojectbackend.repository.TextChunkRepository;
+import genai.genaiprojectbackend.service.scheduling.ClusterLockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Removes the temporary pipeline data (text chunks, summary chunks, temporary flashcards, partial aggregations,
+ * file extraction state, undispatched jobs)
+ * of COMPLETED and FAILED items with set-based deletes in FK order, outside the transaction that finishes the item.
+ * <p>
+ * Cleanup is handed to the task executor after the finishing transaction commits; items whose cleanup never
+ * ran (executor rejected it, replica died) are picked up by a periodic reaper on one replica at a time.
+ */
+@Slf4j
+@Service
+public class PipelineCleanupService {
+    private static final String REAPER_LOCK = "pipeline-cleanup";
+
+    private final CategoryItemRepository categoryItemRepository;
+    private final TextChunkRepository textChunkRepository;
+    private final SummaryChunkRepository summaryChunkRepository;
+    private final TemporaryFlashcardRepository temporaryFlashcardRepository;
+    private final PartialAggregationRepository partialAggregationRepository;
+    private final FileExtractionRepository fileExtractionRepository;
+    private final DispatchBacklogRepository dispatchBacklogRepository;
+    private final ClusterLockService clusterLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int reaperBatchSize;
+
+    public PipelineCleanupService(
+            CategoryItemRepository categoryItemRepository,
+            TextChunkRepository textChunkRepository,
+            SummaryChunkRepository summaryChunkRepository,
+            TemporaryFlashcardRepository temporaryFlashcardRepository,
+            PartialAggregationRepository partialAggregationRepository,
+            FileExtractionRepository fileExtractionRepository,
+            DispatchBacklogRepository dispatchBacklogRepository,
+            ClusterLockService clusterLockService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${pipeline.cleanup.reaper-batch-size:100}") int reaperBatchSize) {
+        this.categoryItemRepository = categoryItemRepository;
+        this.textChunkRepository = textChunkRepository;
+        this.summaryChunkRepository = summaryChunkRepository;
+        this.temporaryFlashcardRepository = temporaryFlashcardRepository;
+        this.partialAggregationRepository = partialAggregationRepository;
+        this.fileExtractionRepository = fileExtractionRepository;
+        this.dispatchBacklogRepository = dispatchBacklogRepository;
+        this.clusterLockService = clusterLockService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.reaperBatchSize = reaperBatchSize;
+    }
+
+    /**
+     * Cleans up the item once the surrounding transaction has committed.
+     */
+    public void cleanupAfterCommit(Integer categoryItemId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    taskExecutor.execute(() -> cleanup(categoryItemId));
+                } catch (RuntimeException e) {
+                    log.warn("Backend: Could not schedule cleanup of category item {}, leaving it to the reaper", categoryItemId, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes the temporary data of a finished item. The item row stays locked meanwhile, so a restarted
+     * generation cannot create new chunks that would be deleted with the old ones.
+     */
+    public void cleanup(Integer categoryItemId) {
+        try {
+            long start = System.nanoTime();
+            int[] deleted = transactionTemplate.execute(status -> {
+                String itemStatus = categoryItemRepository.lockStatusById(categoryItemId).orElse(null);
+                if (!isFinished(itemStatus)) {
+                    return null;
+                }
+                return deleteTemporaryData(categoryItemId);
+            });
+            if (deleted != null) {
+                log.debug("Backend: Cleaned up category item {}: {} temporary flashcards, {} summary chunks, {} text chunks, {} partial aggregations, {} file extractions, {} undispatched jobs ({} ms)",
+                        categoryItemId, deleted[0], deleted[1], deleted[2], deleted[3], deleted[4], deleted[5], (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Backend: Cleanup of category item {} failed, leaving it to the reaper", categoryItemId, e);
+        }
+    }
+
+    /**
+     * Deletes the item's temporary data in the caller's transaction, e.g. leftovers of the previous run
+     * when a generation is started again before its cleanup ran.
+     *
+     * @return deleted temporary flashcards, summary chunks, text chunks, partial aggregations, file extractions
+     * and backlog entries
+     */
+    public int[] deleteTemporaryData(Integer categoryItemId) {
+        return new int[]{
+                temporaryFlashcardRepository.deleteAllByCategoryItemId(categoryItemId),
+                summaryChunkRepository.deleteAllByCategoryItemId(categoryItemId),
+                textChunkRepository.deleteAllByCategoryItemId(categoryItemId),
+                partialAggregationRepository.deleteAllByCategoryItemId(categoryItemId),
+                fileExtractionRepository.deleteAllByCategoryItemId(categoryItemId),
+                dispatchBacklogRepository.deleteAllByCategoryItemId(categoryItemId)
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.cleanup.reaper-interval-ms:300000}")
+    public void reapLeftovers() {
+        if (!clusterLockService.tryAcquire(REAPER_LOCK, Duration.ofMinutes(5))) {
+            return;
+        }
+        try {
+            for (Integer categoryItemId : textChunkRepository.findFinishedItemIdsWithChunks(reaperBatchSize)) {
+                cleanup(categoryItemId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Backend: Cleanup reaper run failed", e);
+        } finally {
+            clusterLockService.release(REAPER_LOCK);
+        }
+    }
+
+    private static boolean isFinished(String itemStatus) {
+        return CategoryItemStatus.COMPLETED.name().equals(itemStatus) || CategoryItemStatus.FAILED.name().equals(itemStatus);
+    }
+}
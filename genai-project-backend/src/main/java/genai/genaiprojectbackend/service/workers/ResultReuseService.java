@@ -0,0 +1,199 @@
+package genai.genaiprojectbackend.service.workers;
+
+import genai.genaiprojectbackend.model.entities.*;
+import genai.genaiprojectbackend.repository.*;
+import genai.genaiprojectbackend.repository.projection.ChunkPosition;
+import genai.genaiprojectbackend.repository.projection.KnownFileChunks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reuses summaries and flashcards of content that was already processed for another category item.
+ * <p>
+ * Chunks are matched by the SHA-256 of their text, whole files by the SHA-256 the frontend puts
+ * into the object name ({timestamp}_{sha256}_{originalName}). All methods expect to run inside
+ * the caller's transaction.
+ */
+@Service
+@Slf4j
+public class ResultReuseService {
+    private static final Pattern FILE_HASH_PATTERN = Pattern.compile("(?:^|_)([0-9a-f]{64})_");
+
+    private final ChunkResultRepository chunkResultRepository;
+    private final TextChunkRepository textChunkRepository;
+    private final SummaryChunkRepository summaryChunkRepository;
+    private final TemporaryFlashcardRepository temporaryFlashcardRepository;
+    private final FileRepository fileRepository;
+    private final CategoryItemRepository categoryItemRepository;
+    private final PipelineProgressRepository pipelineProgressRepository;
+    private final FileExtractionRepository fileExtractionRepository;
+    private final boolean enabled;
+
+    public ResultReuseService(
+            ChunkResultRepository chunkResultRepository,
+            TextChunkRepository textChunkRepository,
+            SummaryChunkRepository summaryChunkRepository,
+            TemporaryFlashcardRepository temporaryFlashcardRepository,
+            FileRepository fileRepository,
+            CategoryItemRepository categoryItemRepository,
+            PipelineProgressRepository pipelineProgressRepository,
+            FileExtractionRepository fileExtractionRepository,
+            @Value("${worker.result-reuse.enabled:true}") boolean enabled
+    ) {
+        this.chunkResultRepository = chunkResultRepository;
+        this.textChunkRepository = textChunkRepository;
+        this.summaryChunkRepository = summaryChunkRepository;
+        this.temporaryFlashcardRepository = temporaryFlashcardRepository;
+        this.fileRepository = fileRepository;
+        this.categoryItemRepository = categoryItemRepository;
+        this.pipelineProgressRepository = pipelineProgressRepository;
+        this.fileExtractionRepository = fileExtractionRepository;
+        this.enabled = enabled;
+    }
+
+    public static String contentHashOf(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        Matcher matcher = FILE_HASH_PATTERN.matcher(fileName);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    public static String sha256Hex(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached results for the given chunk hashes, keyed by hash. Empty if reuse is disabled.
+     */
+    public Map<String, ChunkResult> findCachedResults(Collection<String> chunkHashes) {
+        if (!enabled || chunkHashes.isEmpty()) {
+            return Map.of();
+        }
+        return chunkResultRepository.findAllWithFlashcardsByChunkHashIn(new HashSet<>(chunkHashes)).stream()
+                .collect(Collectors.toMap(ChunkResult::getChunkHash, Function.identity()));
+    }
+
+    /**
+     * Copies a cached result onto an already saved text chunk of the current run.
+     */
+    public void copyResult(TextChunk textChunk, ChunkResult cached) {
+        SummaryChunk summaryChunk = summaryChunkRepository.save(new SummaryChunk(textChunk, cached.getSummaryText()));
+        List<TemporaryFlashcard> flashcards = cached.getFlashcards().stream()
+                .map(f -> new TemporaryFlashcard(summaryChunk, f.getQuestion(), f.getAnswer()))
+                .toList();
+        temporaryFlashcardRepository.saveAll(flashcards);
+    }
+
+    /**
+     * Stores the outcome of a finished chunk for later runs. Concurrent runs over the same content
+     * are fine: only the first insert wins, the others are no-ops.
+     */
+    public void rememberResult(SummaryChunk summaryChunk, List<Map<String, String>> flashcards) {
+        if (!enabled) {
+            return;
+        }
+        TextChunk textChunk = summaryChunk.getTextChunk();
+        String chunkHash = textChunk.getContentHash() != null
+                ? textChunk.getContentHash()
+                : sha256Hex(textChunk.getTextContent());
+
+        if (chunkResultRepository.insertIfAbsent(chunkHash, textChunk.getTextContent(), summaryChunk.getSummaryText()) == 1) {
+            for (Map<String, String> flashcard : flashcards) {
+                chunkResultRepository.insertFlashcard(chunkHash, flashcard.get("question"), flashcard.get("answer"));
+            }
+        }
+    }
+
+    public void rememberFileChunks(String fileHash, List<ChunkPosition> chunks) {
+        if (!enabled || fileHash == null || chunks.isEmpty()) {
+            return;
+        }
+        chunkResultRepository.insertFileChunkHashes(fileHash,
+                chunks.stream().map(ChunkPosition::getContentHash).collect(Collectors.joining(",")),
+                chunks.stream().map(c -> String.valueOf(c.getPageStart())).collect(Collectors.joining(",")),
+                chunks.stream().map(c -> String.valueOf(c.getPageEnd())).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Builds the chunks, summaries and flashcards of every file of the item whose content was fully
+     * processed before, and counts them in pipeline_progress as extracted and completed.
+     *
+     * @return ids of the files that need no text extraction
+     */
+    public Set<Long> materializeKnownFiles(Integer categoryItemId) {
+        if (!enabled) {
+            return Set.of();
+        }
+
+        Set<Long> reusedFileIds = new HashSet<>();
+        CategoryItem categoryReference = categoryItemRepository.getReferenceById(categoryItemId);
+
+        for (File file : fileRepository.findAllByCategoryItem_IdAndContentHashIsNotNull(categoryItemId)) {
+            Optional<KnownFileChunks> knownChunks = chunkResultRepository.findFileChunkHashes(file.getContentHash());
+            if (knownChunks.isEmpty() || !StringUtils.hasText(knownChunks.get().getChunkHashes())) {
+                continue;
+            }
+
+            List<String> chunkHashes = List.of(knownChunks.get().getChunkHashes().split(","));
+            int[] pageStarts = pages(knownChunks.get().getPageStarts(), chunkHashes.size());
+            int[] pageEnds = pages(knownChunks.get().getPageEnds(), chunkHashes.size());
+            Map<String, ChunkResult> cached = findCachedResults(chunkHashes);
+            if (!cached.keySet().containsAll(chunkHashes)) {
+                continue;
+            }
+
+            List<TextChunk> textChunks = new ArrayList<>(chunkHashes.size());
+            for (int i = 0; i < chunkHashes.size(); i++) {
+                TextChunk textChunk = new TextChunk(file, categoryReference, i,
+                        cached.get(chunkHashes.get(i)).getTextContent(), pageStarts[i], pageEnds[i]);
+                textChunk.setContentHash(chunkHashes.get(i));
+                textChunks.add(textChunk);
+            }
+            textChunkRepository.saveAll(textChunks);
+            for (TextChunk textChunk : textChunks) {
+                copyResult(textChunk, cached.get(textChunk.getContentHash()));
+            }
+
+            fileExtractionRepository.recordReused(file.getId(), categoryItemId, textChunks.size());
+            pipelineProgressRepository.recordChunksExtracted(categoryItemId, textChunks.size());
+            pipelineProgressRepository.recordFileExtracted(categoryItemId);
+            pipelineProgressRepository.recordChunksSummarized(categoryItemId, textChunks.size());
+            pipelineProgressRepository.recordChunksCompleted(categoryItemId, textChunks.size());
+            reusedFileIds.add(file.getId());
+            log.info("Backend: Reused {} cached chunks for file {} of CategoryItem {}", textChunks.size(), file.getId(), categoryItemId);
+        }
+        return reusedFileIds;
+    }
+
+    /**
+     * Page numbers stored next to the chunk hashes; zeros for files remembered before page ranges were kept.
+     */
+    private static int[] pages(String joined, int chunks) {
+        int[] pages = new int[chunks];
+        if (!StringUtils.hasText(joined)) {
+            return pages;
+        }
+        String[] values = joined.split(",");
+        for (int i = 0; i < Math.min(chunks, values.length); i++) {
+            pages[i] = Integer.parseInt(values[i]);
+        }
+        return pages;
+    }
+}
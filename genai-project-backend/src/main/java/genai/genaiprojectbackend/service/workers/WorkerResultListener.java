@@ -1,38 +1,51 @@
 package genai.genaiprojectbackend.service.workers;
 
 import genai.genaiprojectbackend.configuration.RabbitConfig;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
+import genai.genaiprojectbackend.service.tracing.PipelineTracing;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 public class WorkerResultListener {
 
     private final WorkerResultService workerResultService;
+    private final PipelineMetrics pipelineMetrics;
+    private final PipelineTracing pipelineTracing;
 
 
-    public WorkerResultListener(WorkerResultService workerResultService) {
+    public WorkerResultListener(WorkerResultService workerResultService, PipelineMetrics pipelineMetrics, PipelineTracing pipelineTracing) {
         this.workerResultService = workerResultService;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pipelineTracing = pipelineTracing;
     }
 
-    @RabbitListener(queues = RabbitConfig.WORKER_TEXT_EXTRACTION_RESULT_QUEUE)
+    @RabbitListener(queues = RabbitConfig.WORKER_TEXT_EXTRACTION_RESULT_QUEUE, containerFactory = RabbitConfig.TEXT_EXTRACTION_LISTENER_FACTORY)
     public void handleTextExtractionResult(Map<String, Object> result) {
-        workerResultService.processTextExtractionResult(result);
+        handle(JobType.TEXT_EXTRACTION, result, workerResultService::processTextExtractionResult);
     }
 
-    @RabbitListener(queues = RabbitConfig.WORKER_SUMMARY_GENERATION_RESULT_QUEUE)
+    @RabbitListener(queues = RabbitConfig.WORKER_SUMMARY_GENERATION_RESULT_QUEUE, containerFactory = RabbitConfig.SUMMARY_GENERATION_LISTENER_FACTORY)
     public void handleSummaryGenerationResult(Map<String, Object> result) {
-        workerResultService.processSummaryGenerationResult(result);
+        handle(JobType.SUMMARY_GENERATION, result, workerResultService::processSummaryGenerationResult);
     }
 
-    @RabbitListener(queues = RabbitConfig.WORKER_FLASHCARD_GENERATION_RESULT_QUEUE)
+    @RabbitListener(queues = RabbitConfig.WORKER_FLASHCARD_GENERATION_RESULT_QUEUE, containerFactory = RabbitConfig.FLASHCARD_GENERATION_LISTENER_FACTORY)
     public void handleFlashcardGenerationResult(Map<String, Object> result) {
-        workerResultService.processFlashcardGenerationResult(result);
+        handle(JobType.FLASHCARD_GENERATION, result, workerResultService::processFlashcardGenerationResult);
     }
 
-    @RabbitListener(queues = RabbitConfig.WORKER_AGGREGATION_RESULT_QUEUE)
+    @RabbitListener(queues = RabbitConfig.WORKER_AGGREGATION_RESULT_QUEUE, containerFactory = RabbitConfig.AGGREGATION_LISTENER_FACTORY)
     public void handleAggregationGenerationResult(Map<String, Object> result) {
-        workerResultService.processAggregationResult(result);
+        handle(JobType.AGGREGATION, result, workerResultService::processAggregationResult);
+    }
+
+    private void handle(JobType jobType, Map<String, Object> result, Consumer<Map<String, Object>> processor) {
+        pipelineMetrics.recordResultHandling(jobType, result,
+                () -> pipelineTracing.inResultSpan(jobType, result, () -> processor.accept(result)));
     }
 }
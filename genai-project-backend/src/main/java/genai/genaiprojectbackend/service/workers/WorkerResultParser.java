@@ -0,0 +1,95 @@
+package genai.genaiprojectbackend.service.workers;
+
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the loosely typed result maps the workers publish (see WorkerResultListener).
+ */
+public final class WorkerResultParser {
+
+    private WorkerResultParser() {
+    }
+
+    public static Integer getJobId(Map<String, Object> result) {
+        if (result.get("original_job_id") != null) {
+            return (Integer) result.get("original_job_id");
+        } else if (result.get("job_id") != null) {
+            return (Integer) result.get("job_id");
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getPayload(Map<String, Object> result) {
+        if (result.containsKey("payload") && result.get("payload") instanceof Map) {
+            return (Map<String, Object>) result.get("payload");
+        }
+        return result;
+    }
+
+    /**
+     * Chunk texts of a text extraction payload, either from the textChunks list or the single textContent.
+     */
+    public static List<String> getTextChunks(Map<String, Object> payload, Object rawValue) {
+        List<String> textChunks = new ArrayList<>();
+
+        if (rawValue instanceof List<?> list) {
+            for (Object obj : list) {
+                if (obj instanceof String text) {
+                    textChunks.add(text);
+                }
+            }
+        } else if (payload.containsKey("textContent")) {
+            textChunks.add((String) payload.get("textContent"));
+        }
+        return textChunks;
+    }
+
+    /**
+     * The chunk texts with their pages: per chunk from chunkPages ([[pageStart, pageEnd], ...]) if the worker
+     * sent them, otherwise the pageStart/pageEnd of the whole message.
+     */
+    public static List<ExtractedChunk> getExtractedChunks(Map<String, Object> payload, List<String> textChunks) {
+        List<?> chunkPages = payload.get("chunkPages") instanceof List<?> list && list.size() == textChunks.size() ? list : null;
+        Integer pageStart = toInteger(payload.get("pageStart"));
+        Integer pageEnd = toInteger(payload.get("pageEnd"));
+
+        List<ExtractedChunk> chunks = new ArrayList<>(textChunks.size());
+        for (int i = 0; i < textChunks.size(); i++) {
+            if (chunkPages != null && chunkPages.get(i) instanceof List<?> pages && pages.size() == 2) {
+                chunks.add(new ExtractedChunk(textChunks.get(i), toInteger(pages.get(0)), toInteger(pages.get(1))));
+            } else {
+                chunks.add(new ExtractedChunk(textChunks.get(i), pageStart, pageEnd));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Question/answer pairs of a flashcard or aggregation payload; incomplete entries are skipped.
+     */
+    public static List<Map<String, String>> getFlashcards(Object flashcardsObj) {
+        List<Map<String, String>> flashcards = new ArrayList<>();
+        if (flashcardsObj instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> map) {
+                    String question = (String) map.get("question");
+                    String answer = (String) map.get("answer");
+
+                    if (question != null && answer != null) {
+                        flashcards.add(Map.of("question", question, "answer", answer));
+                    }
+                }
+            }
+        }
+        return flashcards;
+    }
+
+    private static Integer toInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : null;
+    }
+}
@@ -1,31 +1,40 @@
 package genai.genaiprojectbackend.service.workers;
 
+import genai.genaiprojectbackend.api.categoryitem.dtos.FlashcardDTO;
+import genai.genaiprojectbackend.api.categoryitem.dtos.Generation;
+import genai.genaiprojectbackend.configuration.ExtractionProperties;
 import genai.genaiprojectbackend.configuration.RabbitConfig;
-import genai.genaiprojectbackend.model.dtos.StartAggregationJobDto;
-import genai.genaiprojectbackend.model.dtos.StartFlashcardGenerationJobDto;
-import genai.genaiprojectbackend.model.dtos.StartSummaryGenerationJobDto;
+import genai.genaiprojectbackend.model.dtos.ClaimCheckRef;
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
 import genai.genaiprojectbackend.model.entities.*;
 import genai.genaiprojectbackend.model.enums.CategoryItemStatus;
 import genai.genaiprojectbackend.model.enums.JobStatus;
 import genai.genaiprojectbackend.model.enums.JobType;
 import genai.genaiprojectbackend.repository.*;
+import genai.genaiprojectbackend.service.categoryitem.GenerationCache;
+import genai.genaiprojectbackend.service.categoryitem.PipelineStatusChangedEvent;
+import genai.genaiprojectbackend.service.dispatch.DispatchScheduler;
+import genai.genaiprojectbackend.service.files.ClaimCheckService;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Slf4j
 public class WorkerResultService {
-    private final WorkerStartService workerStartService;
     private final TextChunkRepository textChunkRepository;
     private final SummaryChunkRepository summaryChunkRepository;
     private final TemporaryFlashcardRepository temporaryFlashcardRepository;
@@ -34,96 +43,248 @@ public class WorkerResultService {
     private final JobRepository jobRepository;
     private final FinalSummaryRepository finalSummaryRepository;
     private final FinalFlashcardRepository finalFlashcardRepository;
+    private final PipelineProgressRepository pipelineProgressRepository;
+    private final ClaimCheckService claimCheckService;
+    private final ResultReuseService resultReuseService;
+    private final ApplicationEventPublisher eventPublisher;
     private final RabbitTemplate rabbitTemplate;
+    private final PipelineMetrics pipelineMetrics;
+    private final GenerationCache generationCache;
+    private final PipelineCleanupService pipelineCleanupService;
+    private final AggregationTreeService aggregationTreeService;
+    private final FileExtractionRepository fileExtractionRepository;
+    private final ExtractionProperties extractionProperties;
+    private final DispatchScheduler dispatchScheduler;
 
     public WorkerResultService(
             TextChunkRepository textChunkRepository,
             SummaryChunkRepository summaryChunkRepository,
             TemporaryFlashcardRepository temporaryFlashcardRepository,
-            WorkerStartService workerStartService,
             FileRepository fileRepository,
             CategoryItemRepository categoryItemRepository,
             JobRepository jobRepository,
             FinalSummaryRepository finalSummaryRepository,
             FinalFlashcardRepository finalFlashcardRepository,
-            RabbitTemplate rabbitTemplate
+            PipelineProgressRepository pipelineProgressRepository,
+            ClaimCheckService claimCheckService,
+            ResultReuseService resultReuseService,
+            ApplicationEventPublisher eventPublisher,
+            RabbitTemplate rabbitTemplate,
+            PipelineMetrics pipelineMetrics,
+            GenerationCache generationCache,
+            PipelineCleanupService pipelineCleanupService,
+            AggregationTreeService aggregationTreeService,
+            FileExtractionRepository fileExtractionRepository,
+            ExtractionProperties extractionProperties,
+            DispatchScheduler dispatchScheduler
     ) {
         this.textChunkRepository = textChunkRepository;
         this.summaryChunkRepository = summaryChunkRepository;
         this.temporaryFlashcardRepository = temporaryFlashcardRepository;
         this.fileRepository = fileRepository;
-        this.workerStartService = workerStartService;
         this.categoryItemRepository = categoryItemRepository;
         this.jobRepository = jobRepository;
         this.finalSummaryRepository = finalSummaryRepository;
         this.finalFlashcardRepository = finalFlashcardRepository;
+        this.pipelineProgressRepository = pipelineProgressRepository;
+        this.claimCheckService = claimCheckService;
+        this.resultReuseService = resultReuseService;
+        this.eventPublisher = eventPublisher;
         this.rabbitTemplate = rabbitTemplate;
+        this.pipelineMetrics = pipelineMetrics;
+        this.generationCache = generationCache;
+        this.pipelineCleanupService = pipelineCleanupService;
+        this.aggregationTreeService = aggregationTreeService;
+        this.fileExtractionRepository = fileExtractionRepository;
+        this.extractionProperties = extractionProperties;
+        this.dispatchScheduler = dispatchScheduler;
     }
 
+    /**
+     * Handles one message of the text-extraction-worker: a batch of a file's chunks (payload.chunkOffset is
+     * the index of its first chunk), the end-of-file marker (payload.last with payload.totalChunks), or the
+     * whole file at once from workers that do not stream (no chunkOffset).
+     */
     @Transactional
     public void processTextExtractionResult(Map<String, Object> result) {
         try {
-            Map<String, Object> payload = (Map<String, Object>) result.get("payload");
+            Map<String, Object> payload = getPayload(result);
             Job job = getValidJobFromResult(result).orElse(null);
             if (job == null || !isResultSuccessful(result, job)) return;
-
-            job.setStatus(JobStatus.FINISHED);
-            jobRepository.save(job);
+            if (isZombieExtraction(job)) return;
 
             Long fileId = Long.valueOf(String.valueOf(payload.get("fileId")));
             Integer categoryItemId = Integer.valueOf(String.valueOf(payload.get("categoryItemId")));
 
+            if (Boolean.TRUE.equals(payload.get("last"))) {
+                closeExtractedFile(job, fileId, categoryItemId, ((Number) payload.get("totalChunks")).intValue());
+                return;
+            }
+
             Object rawValue = payload.get("textChunks");
-            List<String> textChunks = new ArrayList<>();
+            if (rawValue == null && payload.get("textChunksRef") instanceof Map<?, ?> refMap) {
+                rawValue = JsonMapper.shared().readValue(claimCheckService.retrieve(ClaimCheckRef.fromMap(refMap)), List.class);
+            }
+            List<ExtractedChunk> chunks = WorkerResultParser.getExtractedChunks(payload, WorkerResultParser.getTextChunks(payload, rawValue));
 
-            if (rawValue instanceof List<?>) {
-                for (Object obj : (List<?>) rawValue) {
-                    if (obj instanceof String) {
-                        textChunks.add((String) obj);
-                    }
-                }
-            } else if (payload.containsKey("textContent")) {
-                textChunks.add((String) payload.get("textContent"));
+            if (payload.get("chunkOffset") instanceof Number chunkOffset) {
+                ingestChunkBatch(job, fileId, categoryItemId, chunkOffset.intValue(), chunks);
+            } else {
+                ingestChunkBatch(job, fileId, categoryItemId, 0, chunks);
+                closeExtractedFile(job, fileId, categoryItemId, chunks.size());
             }
 
-            File fileReference = fileRepository.getReferenceById(fileId);
-            CategoryItem categoryReference = categoryItemRepository.getReferenceById(categoryItemId);
+        } catch (Exception e) {
+            throw new RuntimeException("Error processing text extraction result", e);
+        }
+    }
 
-            for (int i = 0; i < textChunks.size(); i++) {
-                String content = textChunks.get(i);
+    /**
+     * Ingests a batch of a file extracted in the backend (pipeline.extraction.engine=in-process), like a
+     * batch of the text-extraction-worker.
+     */
+    @Transactional
+    public void processExtractedBatch(Integer jobId, Long fileId, Integer categoryItemId, int chunkOffset, List<ExtractedChunk> chunks) {
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || isZombieExtraction(job)) return;
+        ingestChunkBatch(job, fileId, categoryItemId, chunkOffset, chunks);
+    }
 
-                TextChunk textChunk = new TextChunk(
-                        fileReference,
-                        categoryReference,
-                        i,
-                        content,
-                        (Integer) payload.get("pageStart"),
-                        (Integer) payload.get("pageEnd")
-                );
-                textChunkRepository.save(textChunk);
-
-                Job summaryJob = new Job(JobType.SUMMARY_GENERATION, categoryItemId);
-                summaryJob.setFileId(fileId);
-                Job savedJob = jobRepository.save(summaryJob);
-
-                StartSummaryGenerationJobDto jobDto = StartSummaryGenerationJobDto.builder()
-                        .jobId(savedJob.getId())
-                        .text(content)
-                        .categoryId(categoryItemId)
-                        .chunkNumber(i)
-                        .build();
-
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        workerStartService.startSummaryGenerationJob(jobDto);
-                    }
-                });
+    /**
+     * End-of-file marker of a file extracted in the backend.
+     */
+    @Transactional
+    public void processExtractedFileEnd(Integer jobId, Long fileId, Integer categoryItemId, int totalChunks) {
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || isZombieExtraction(job)) return;
+        closeExtractedFile(job, fileId, categoryItemId, totalChunks);
+    }
+
+    /**
+     * Fails the extraction job of a file the backend could not extract, like an error result of the worker.
+     */
+    @Transactional
+    public void failExtraction(Integer jobId, Long fileId, Throwable cause) {
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == JobStatus.FAILED) return;
+        log.warn("Backend: Extraction of file {} failed for Job {}", fileId, jobId, cause);
+        handleJobFailure(job);
+    }
+
+    private boolean isZombieExtraction(Job job) {
+        if (job.getStatus() == JobStatus.CANCELLED || job.getStatus() == JobStatus.FAILED) {
+            log.warn("Backend: Received Text Extraction result for Job {} but status is {}. Ignoring (Zombie Result).", job.getId(), job.getStatus());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stores a batch of chunks and dispatches their summary jobs right away, while the rest of the file
+     * is still being extracted.
+     */
+    private void ingestChunkBatch(Job job, Long fileId, Integer categoryItemId, int chunkOffset, List<ExtractedChunk> chunks) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        // A republished extraction job delivers the file again in the same batches, the first delivery wins.
+        // The file's row lock makes a concurrent copy wait until the first one has committed its chunks.
+        fileExtractionRepository.lockForBatch(fileId, categoryItemId);
+        if (textChunkRepository.existsByFile_IdAndChunkIndex(fileId, chunkOffset)) {
+            log.info("Backend: Chunks {}+ of file {} (Job {}) were already extracted. Ignoring duplicate batch.", chunkOffset, fileId, job.getId());
+            return;
+        }
+
+        // Every batch counts as a heartbeat of the extraction job for the job reaper. Batches of one job can be
+        // processed concurrently, so the status is not written through the (possibly stale) entity.
+        jobRepository.heartbeat(job.getId());
+
+        List<String> textChunks = chunks.stream().map(ExtractedChunk::getText).toList();
+        File fileReference = fileRepository.getReferenceById(fileId);
+        CategoryItem categoryReference = categoryItemRepository.getReferenceById(categoryItemId);
+
+        List<String> chunkHashes = textChunks.stream().map(ResultReuseService::sha256Hex).toList();
+        Map<String, ChunkResult> cachedResults = resultReuseService.findCachedResults(chunkHashes);
+
+        List<TextChunk> chunkEntities = new ArrayList<>(textChunks.size());
+        List<Job> summaryJobs = new ArrayList<>(textChunks.size());
+        List<Integer> summaryJobChunks = new ArrayList<>(textChunks.size());
+
+        for (int i = 0; i < textChunks.size(); i++) {
+            TextChunk textChunk = new TextChunk(
+                    fileReference,
+                    categoryReference,
+                    chunkOffset + i,
+                    textChunks.get(i),
+                    chunks.get(i).getPageStart(),
+                    chunks.get(i).getPageEnd()
+            );
+            textChunk.setContentHash(chunkHashes.get(i));
+            chunkEntities.add(textChunk);
+
+            if (cachedResults.containsKey(chunkHashes.get(i))) {
+                continue;
             }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing text extraction result", e);
+            Job summaryJob = new Job(JobType.SUMMARY_GENERATION, categoryItemId);
+            summaryJob.setFileId(fileId);
+            summaryJobs.add(summaryJob);
+            summaryJobChunks.add(i);
         }
+
+        // Sequence-backed ids let Hibernate group these into JDBC batches (see hibernate.jdbc.batch_size)
+        textChunkRepository.saveAll(chunkEntities);
+        for (int i = 0; i < summaryJobs.size(); i++) {
+            summaryJobs.get(i).setSourceChunkId(chunkEntities.get(summaryJobChunks.get(i)).getId());
+        }
+        List<Job> savedJobs = jobRepository.saveAll(summaryJobs);
+
+        int reusedChunks = 0;
+        for (TextChunk textChunk : chunkEntities) {
+            ChunkResult cached = cachedResults.get(textChunk.getContentHash());
+            if (cached != null) {
+                resultReuseService.copyResult(textChunk, cached);
+                reusedChunks++;
+            }
+        }
+
+        dispatchScheduler.enqueue(savedJobs);
+
+        fileExtractionRepository.recordChunks(fileId, categoryItemId, textChunks.size());
+        pipelineProgressRepository.recordChunksExtracted(categoryItemId, textChunks.size());
+        if (reusedChunks > 0) {
+            log.info("Backend: Reused cached results for {} of {} chunks of file {}", reusedChunks, textChunks.size(), fileId);
+            pipelineProgressRepository.recordChunksSummarized(categoryItemId, reusedChunks);
+            pipelineProgressRepository.recordChunksCompleted(categoryItemId, reusedChunks);
+        }
+        // The end-of-file marker may have overtaken this batch
+        if (fileExtractionRepository.claimClose(fileId) == 1) {
+            fileExtracted(job, fileId, categoryItemId);
+        }
+        eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItemId));
+    }
+
+    private void closeExtractedFile(Job job, Long fileId, Integer categoryItemId, int totalChunks) {
+        fileExtractionRepository.recordTotal(fileId, categoryItemId, totalChunks);
+        if (fileExtractionRepository.claimClose(fileId) == 1) {
+            fileExtracted(job, fileId, categoryItemId);
+            eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItemId));
+        }
+    }
+
+    /**
+     * Runs exactly once per file, when its last batch and its end-of-file marker have both arrived.
+     */
+    private void fileExtracted(Job job, Long fileId, Integer categoryItemId) {
+        resultReuseService.rememberFileChunks(fileRepository.findContentHashById(fileId).orElse(null),
+                textChunkRepository.findChunkPositionsByFileId(fileId));
+        pipelineProgressRepository.recordFileExtracted(categoryItemId);
+
+        // Jobs without a file (started before per-file jobs) cover all files of the item and finish with the last
+        if (job.getFileId() != null || pipelineProgressRepository.allFilesExtracted(categoryItemId)) {
+            finishJob(job);
+        }
+        checkAndStartAggregation(categoryItemId);
     }
 
     @Transactional
@@ -149,6 +310,7 @@ public class WorkerResultService {
 
         log.info("Backend: Job {} SUCCESS. Processing payload...", job.getId());
 
+        boolean finished = false;
         try {
             Map<String, Object> payload = getPayload(result);
             String summaryText = (String) payload.get("summary");
@@ -157,29 +319,24 @@ public class WorkerResultService {
             Optional<TextChunk> textChunkOpt = textChunkRepository.findByFile_IdAndChunkIndex(job.getFileId(), chunkNumber);
 
             if (textChunkOpt.isPresent() && StringUtils.hasText(summaryText)) {
+                if (!finishJob(job)) {
+                    log.warn("Backend: Summary result for Job {} was already processed. Ignoring duplicate.", job.getId());
+                    return;
+                }
+                finished = true;
+
                 SummaryChunk summaryChunk = new SummaryChunk(textChunkOpt.get(), summaryText);
                 summaryChunk = summaryChunkRepository.save(summaryChunk);
 
-                job.setStatus(JobStatus.FINISHED);
-                jobRepository.save(job);
-
                 Job flashcardJob = new Job(JobType.FLASHCARD_GENERATION, job.getCategoryItemId());
                 flashcardJob.setFileId(job.getFileId());
+                flashcardJob.setSourceChunkId(summaryChunk.getId());
                 flashcardJob = jobRepository.save(flashcardJob);
 
-                StartFlashcardGenerationJobDto startDto = StartFlashcardGenerationJobDto.builder()
-                        .jobId(flashcardJob.getId())
-                        .summaryChunkId(summaryChunk.getId())
-                        .text(summaryText)
-                        .categoryItemId(job.getCategoryItemId())
-                        .build();
+                dispatchScheduler.enqueue(List.of(flashcardJob));
 
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        workerStartService.startFlashcardGenerationJob(startDto);
-                    }
-                });
+                pipelineProgressRepository.recordChunksSummarized(job.getCategoryItemId(), 1);
+                eventPublisher.publishEvent(new PipelineStatusChangedEvent(job.getCategoryItemId()));
 
             } else {
                 log.error("Backend: Summary logic failed (Chunk found: {}, Text valid: {}). Triggering handleJobFailure.",
@@ -187,6 +344,10 @@ public class WorkerResultService {
                 handleJobFailure(job);
             }
         } catch (Exception e) {
+            if (finished) {
+                // The job is FINISHED in this transaction and can no longer be failed; roll back and let the reaper retry it
+                throw new RuntimeException("Error processing summary generation result of Job " + job.getId(), e);
+            }
             log.error("Backend: Exception in processSummaryGenerationResult: ", e);
             handleJobFailure(job);
         }
@@ -212,70 +373,72 @@ public class WorkerResultService {
             return;
         }
 
+        if (!finishJob(job)) {
+            log.warn("Backend: Flashcard result for Job {} was already processed. Ignoring duplicate.", job.getId());
+            return;
+        }
+
         SummaryChunk summaryChunk = summaryChunkOpt.get();
+        List<Map<String, String>> flashcards = WorkerResultParser.getFlashcards(payload.get("flashcards"));
 
-        Object flashcardsObj = payload.get("flashcards");
-        if (flashcardsObj instanceof List<?> list) {
-            for (Object item : list) {
-                if (item instanceof Map<?, ?> map) {
-                    String question = (String) map.get("question");
-                    String answer = (String) map.get("answer");
-
-                    if (question != null && answer != null) {
-                        TemporaryFlashcard tf = new TemporaryFlashcard(summaryChunk, question, answer);
-                        temporaryFlashcardRepository.save(tf);
-                    }
-                }
-            }
+        for (Map<String, String> flashcard : flashcards) {
+            TemporaryFlashcard tf = new TemporaryFlashcard(summaryChunk, flashcard.get("question"), flashcard.get("answer"));
+            temporaryFlashcardRepository.save(tf);
         }
 
-        job.setStatus(JobStatus.FINISHED);
-        jobRepository.save(job);
+        resultReuseService.rememberResult(summaryChunk, flashcards);
 
+        pipelineProgressRepository.recordChunkCompleted(job.getCategoryItemId());
         checkAndStartAggregation(job.getCategoryItemId());
+        eventPublisher.publishEvent(new PipelineStatusChangedEvent(job.getCategoryItemId()));
     }
 
     /**
-     * Checks if ALL jobs for a specific CategoryItem are finished.
-     * If so, starts the Aggregation Job for the entire CategoryItem.
+     * Used by CategoryItemService when every file of a run was served from the result cache,
+     * so no worker result will arrive to trigger the aggregation.
      */
-    private void checkAndStartAggregation(Integer categoryItemId) {
-        long pendingJobs = jobRepository.countByCategoryItemIdAndStatusIn(
-                categoryItemId,
-                List.of(JobStatus.PENDING, JobStatus.IN_PROGRESS)
-        );
-
-        if (pendingJobs == 0) {
-            List<SummaryChunk> summaries = summaryChunkRepository.findAllByTextChunk_File_CategoryItem_Id(categoryItemId);
-            List<String> summaryTexts = summaries.stream().map(SummaryChunk::getSummaryText).toList();
-
-            List<TemporaryFlashcard> tempFlashcards = temporaryFlashcardRepository.findAllBySummaryChunk_TextChunk_File_CategoryItem_Id(categoryItemId);
-            List<Map<String, String>> flashcardMaps = tempFlashcards.stream()
-                    .map(f -> Map.of("question", f.getQuestion(), "answer", f.getAnswer()))
-                    .toList();
+    @Transactional
+    public void startAggregationIfReady(Integer categoryItemId) {
+        checkAndStartAggregation(categoryItemId);
+    }
 
-            if (summaryTexts.isEmpty() && flashcardMaps.isEmpty()) {
+    /**
+     * Starts the aggregation of the entire CategoryItem once every file has been extracted
+     * and every chunk has finished or failed; large items are reduced as a tree by {@link AggregationTreeService}.
+     * <p>
+     * The decision is a single conditional UPDATE on pipeline_progress, so exactly one result
+     * triggers the aggregation even when several listeners or backend instances finish the
+     * last chunks at the same time.
+     */
+    private void checkAndStartAggregation(Integer categoryItemId) {
+        if (pipelineProgressRepository.claimAggregation(categoryItemId) == 1) {
+            List<AggregationTreeService.AggregationInput> chunkResults = aggregationTreeService.loadChunkResults(categoryItemId);
+            if (chunkResults.isEmpty()) {
+                failItemWithoutText(categoryItemId);
                 return;
             }
 
-            Job aggJob = new Job(JobType.AGGREGATION, categoryItemId);
-            aggJob.setFileId(null);
-            aggJob = jobRepository.save(aggJob);
-
-            StartAggregationJobDto dto = StartAggregationJobDto.builder()
-                    .jobId(aggJob.getId())
-                    .categoryItemId(categoryItemId)
-                    .summaries(summaryTexts)
-                    .flashcards(flashcardMaps)
-                    .build();
+            pipelineMetrics.recordItemChunks(chunkResults.size());
+            aggregationTreeService.startAggregation(categoryItemId, chunkResults);
+        }
+    }
 
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    workerStartService.startAggregationJob(dto);
-                }
-            });
+    /**
+     * Nothing to aggregate, e.g. a scanned PDF without a text layer or only files skipped under partial success.
+     * The aggregation claim is used up and no job is left for the reaper, so the item has to end here.
+     */
+    private void failItemWithoutText(Integer categoryItemId) {
+        CategoryItem categoryItem = categoryItemRepository.findById(categoryItemId).orElse(null);
+        if (categoryItem == null) {
+            return;
         }
+        log.warn("Backend: No text was extracted for CategoryItem {}. Marking it as FAILED.", categoryItemId);
+        categoryItem.setStatus(CategoryItemStatus.FAILED);
+        categoryItem.setFailedJobType(JobType.TEXT_EXTRACTION);
+        categoryItemRepository.save(categoryItem);
+        jobRepository.cancelRemainingJobs(categoryItemId);
+        cleanupByCategoryItemId(categoryItemId);
+        eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItemId));
     }
 
     @Transactional
@@ -296,45 +459,86 @@ public class WorkerResultService {
             return;
         }
 
+        if (job.getJobType() == JobType.PARTIAL_AGGREGATION) {
+            List<Map<String, String>> flashcards = WorkerResultParser.getFlashcards(payload.get("final_flashcards"));
+            if (!aggregationTreeService.processPartialResult(job, finalSummaryText, flashcards)) {
+                handleJobFailure(job);
+            }
+            return;
+        }
+
         CategoryItem categoryItem = categoryItemRepository.findById(job.getCategoryItemId()).orElse(null);
 
         if (categoryItem != null) {
-            FinalSummary finalSummary = new FinalSummary(finalSummaryText, categoryItem);
-            finalSummaryRepository.save(finalSummary);
-
-            Object finalFlashcardsObj = payload.get("final_flashcards");
-            if (finalFlashcardsObj instanceof List<?> list) {
-                for (Object item : list) {
-                    if (item instanceof Map<?, ?> map) {
-                        String question = (String) map.get("question");
-                        String answer = (String) map.get("answer");
-
-                        if (question != null && answer != null) {
-                            FinalFlashcard ff = new FinalFlashcard(question, answer, categoryItem);
-                            finalFlashcardRepository.save(ff);
-                        }
-                    }
-                }
+            if (!finishJob(job)) {
+                log.warn("Backend: Aggregation result for Job {} was already processed. Ignoring duplicate.", job.getId());
+                return;
             }
 
-            cleanupByCategoryItemId(categoryItem.getId());
+            FinalSummary finalSummary = finalSummaryRepository.save(new FinalSummary(finalSummaryText, categoryItem));
+
+            List<FlashcardDTO> flashcardDTOs = new ArrayList<>();
+            for (Map<String, String> flashcard : WorkerResultParser.getFlashcards(payload.get("final_flashcards"))) {
+                FinalFlashcard ff = finalFlashcardRepository.save(
+                        new FinalFlashcard(flashcard.get("question"), flashcard.get("answer"), categoryItem));
+                flashcardDTOs.add(new FlashcardDTO(ff.getId(), ff.getQuestion(), ff.getAnswer()));
+            }
+
+            // Warm the generation cache once the COMPLETED status is visible to readers
+            Integer categoryItemId = categoryItem.getId();
+            Generation generation = new Generation(Objects.requireNonNullElse(finalSummaryText, ""), flashcardDTOs);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generationCache.put(categoryItemId, finalSummary.getId(), generation);
+                }
+            });
 
-            job.setStatus(JobStatus.FINISHED);
-            jobRepository.save(job);
+            cleanupByCategoryItemId(categoryItem.getId());
 
             categoryItem.setStatus(CategoryItemStatus.COMPLETED);
             categoryItemRepository.save(categoryItem);
+            eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItem.getId()));
         } else {
             handleJobFailure(job);
         }
     }
 
+    /**
+     * Fails a job whose deadline passed too often, like a failure reported by its worker.
+     */
+    @Transactional
+    public void failTimedOutJob(Job job) {
+        log.warn("Backend: Job {} ({}) timed out after {} attempts.", job.getId(), job.getJobType(), job.getAttempts() + 1);
+        handleJobFailure(job);
+    }
+
     /**
      * Determines if a job is in an "Active" state (Pending or In Progress).
      * If a job is Cancelled, Failed, or already Finished, it is considered inactive.
      */
     private boolean isJobActive(Job job) {
-        return job.getStatus() == JobStatus.PENDING || job.getStatus() == JobStatus.IN_PROGRESS;
+        return isJobActive(job.getStatus());
+    }
+
+    private boolean isJobActive(JobStatus status) {
+        return status == JobStatus.PENDING || status == JobStatus.IN_PROGRESS;
+    }
+
+    /**
+     * Finishes the job with a conditional UPDATE, so of several copies of one result (republished by the
+     * reaper, or delivered twice) exactly one gets past this point. {@link #isJobActive(Job)} on the loaded
+     * entity only drops obvious zombies early.
+     *
+     * @return false if the job was no longer active
+     */
+    private boolean finishJob(Job job) {
+        if (jobRepository.finish(job.getId()) == 0) {
+            return false;
+        }
+        job.setStatus(JobStatus.FINISHED);
+        pipelineMetrics.recordJobDwell(job);
+        return true;
     }
 
     /**
@@ -349,10 +553,26 @@ public class WorkerResultService {
             return;
         }
 
+        Integer categoryItemId = job.getCategoryItemId();
+        String itemStatus = null;
+        if (categoryItemId != null) {
+            // Taken before the job row is written so that concurrent results of this item cannot deadlock with us
+            itemStatus = categoryItemRepository.lockStatusById(categoryItemId).orElse(null);
+        }
+
+        // Conditional: a result may have finished the job since it was loaded, and a late error of a
+        // republished job must not undo the copy that succeeded
+        if (jobRepository.fail(job.getId()) == 0) {
+            log.info("Backend: Job {} is no longer active. Ignoring its failure.", job.getId());
+            return;
+        }
         job.setStatus(JobStatus.FAILED);
-        jobRepository.save(job);
+        pipelineMetrics.recordJobDwell(job);
+
+        if (CategoryItemStatus.PROCESSING.name().equals(itemStatus) && skipFailedFile(job)) {
+            return;
+        }
 
-        Integer categoryItemId = job.getCategoryItemId();
         if (categoryItemId != null) {
             Optional<CategoryItem> categoryItemOpt = categoryItemRepository.findById(categoryItemId);
             if (categoryItemOpt.isPresent()) {
@@ -378,6 +598,11 @@ public class WorkerResultService {
 
                 log.info("Backend: Broadcast sent (buffered in transaction). Cleaning up data...");
                 cleanupByCategoryItemId(categoryItemId);
+
+                if (job.getJobType() == JobType.SUMMARY_GENERATION || job.getJobType() == JobType.FLASHCARD_GENERATION) {
+                    pipelineProgressRepository.recordChunkFailed(categoryItemId);
+                }
+                eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItemId));
             } else {
                 log.error("Backend: CategoryItem {} not found in DB.", categoryItemId);
             }
@@ -386,41 +611,50 @@ public class WorkerResultService {
         }
     }
 
-    private void cleanupByCategoryItemId(Integer categoryItemId) {
-        List<TemporaryFlashcard> tempFlashcards = temporaryFlashcardRepository.findAllBySummaryChunk_TextChunk_File_CategoryItem_Id(categoryItemId);
-        if (!tempFlashcards.isEmpty()) {
-            temporaryFlashcardRepository.deleteAll(tempFlashcards);
+    /**
+     * With pipeline.extraction.partial-success, a failed per-file extraction job only drops its file: the item
+     * goes on with the other files (and the chunks the file delivered before it failed).
+     *
+     * @return false if the item has to fail anyway, i.e. partial success is off or no file is left
+     */
+    private boolean skipFailedFile(Job job) {
+        if (!extractionProperties.isPartialSuccess() || job.getJobType() != JobType.TEXT_EXTRACTION || job.getFileId() == null) {
+            return false;
         }
-
-        List<SummaryChunk> summaryChunks = summaryChunkRepository.findAllByTextChunk_File_CategoryItem_Id(categoryItemId);
-        if (!summaryChunks.isEmpty()) {
-            summaryChunkRepository.deleteAll(summaryChunks);
+        Integer categoryItemId = job.getCategoryItemId();
+        if (fileExtractionRepository.claimFailed(job.getFileId(), categoryItemId) == 1) {
+            pipelineProgressRepository.recordFileFailed(categoryItemId);
         }
-
-        List<TextChunk> textChunks = textChunkRepository.findAllByCategoryItem_Id(categoryItemId);
-        if (!textChunks.isEmpty()) {
-            textChunkRepository.deleteAll(textChunks);
+        if (pipelineProgressRepository.allFilesFailed(categoryItemId)) {
+            return false;
         }
+
+        log.warn("Backend: Extraction of file {} failed (Job {}). CategoryItem {} continues without it.",
+                job.getFileId(), job.getId(), categoryItemId);
+        checkAndStartAggregation(categoryItemId);
+        eventPublisher.publishEvent(new PipelineStatusChangedEvent(categoryItemId));
+        return true;
     }
 
-    private Integer getJobId(Map<String, Object> result) {
-        if (result.get("original_job_id") != null) {
-            return (Integer) result.get("original_job_id");
-        } else if (result.get("job_id") != null) {
-            return (Integer) result.get("job_id");
+    private void cleanupByCategoryItemId(Integer categoryItemId) {
+        if (claimCheckService.isEnabled()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    claimCheckService.discard(categoryItemId);
+                }
+            });
         }
-        return null;
+
+        pipelineCleanupService.cleanupAfterCommit(categoryItemId);
     }
 
     private Map<String, Object> getPayload(Map<String, Object> result) {
-        if (result.containsKey("payload") && result.get("payload") instanceof Map) {
-            return (Map<String, Object>) result.get("payload");
-        }
-        return result;
+        return WorkerResultParser.getPayload(result);
     }
 
     private Optional<Job> getValidJobFromResult(Map<String, Object> result) {
-        return Optional.ofNullable(getJobId(result))
+        return Optional.ofNullable(WorkerResultParser.getJobId(result))
                 .flatMap(jobRepository::findById);
     }
 
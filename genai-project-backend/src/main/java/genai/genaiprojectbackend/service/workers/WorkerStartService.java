@@ -5,50 +5,134 @@ import genai.genaiprojectbackend.model.dtos.StartAggregationJobDto;
 import genai.genaiprojectbackend.model.dtos.StartFlashcardGenerationJobDto;
 import genai.genaiprojectbackend.model.dtos.StartSummaryGenerationJobDto;
 import genai.genaiprojectbackend.model.dtos.StartTextExtractionJobDto;
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import genai.genaiprojectbackend.model.enums.JobType;
+import genai.genaiprojectbackend.service.files.ClaimCheckService;
+import genai.genaiprojectbackend.service.metrics.PipelineMetrics;
+import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class WorkerStartService {
 
     private final RabbitTemplate rabbitTemplate;
+    private final ClaimCheckService claimCheckService;
+    private final PipelineMetrics pipelineMetrics;
 
 
-    public WorkerStartService(RabbitTemplate rabbitTemplate) {
+    public WorkerStartService(RabbitTemplate rabbitTemplate, ClaimCheckService claimCheckService, PipelineMetrics pipelineMetrics) {
         this.rabbitTemplate = rabbitTemplate;
+        this.claimCheckService = claimCheckService;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
 
     public void startAggregationJob(StartAggregationJobDto startMetadataJobDto) {
-        rabbitTemplate.convertAndSend(
-                RabbitConfig.WORKER_JOB_EXCHANGE,
-                RabbitConfig.WORKER_AGGREGATION_START_ROUTING_KEY,
-                startMetadataJobDto
-        );
+        send(JobType.AGGREGATION, RabbitConfig.WORKER_AGGREGATION_START_ROUTING_KEY, withClaimCheck(startMetadataJobDto));
+    }
+
+    /**
+     * Intermediate job of a tree aggregation; same queue and message format as the final aggregation.
+     */
+    public void startPartialAggregationJob(StartAggregationJobDto startAggregationJobDto) {
+        send(JobType.PARTIAL_AGGREGATION, RabbitConfig.WORKER_AGGREGATION_START_ROUTING_KEY, withClaimCheck(startAggregationJobDto));
     }
 
-    public void startFlashcardGenerationJob(StartFlashcardGenerationJobDto startPreProcessJobDto) {
-        rabbitTemplate.convertAndSend(
+    public void startFlashcardGenerationJob(StartFlashcardGenerationJobDto startPreProcessJobDto, GenerationPriority priority) {
+        pipelineMetrics.recordPublish(JobType.FLASHCARD_GENERATION, () -> rabbitTemplate.convertAndSend(
                 RabbitConfig.WORKER_JOB_EXCHANGE,
                 RabbitConfig.WORKER_FLASHCARD_GENERATION_START_ROUTING_KEY,
-                startPreProcessJobDto
-        );
+                withClaimCheck(startPreProcessJobDto),
+                withPriority(pipelineMetrics.outboundPayload(JobType.FLASHCARD_GENERATION), priority)
+        ));
     }
 
-    public void startSummaryGenerationJob(StartSummaryGenerationJobDto startComparisonJobDto) {
-        rabbitTemplate.convertAndSend(
-                RabbitConfig.WORKER_JOB_EXCHANGE,
-                RabbitConfig.WORKER_SUMMARY_GENERATION_START_ROUTING_KEY,
-                startComparisonJobDto
-        );
+    /**
+     * Publishes all summary jobs of one ingestion on a single channel instead of
+     * borrowing a channel from the cache for every message.
+     */
+    public void startSummaryGenerationJobs(List<StartSummaryGenerationJobDto> jobDtos, GenerationPriority priority) {
+        if (jobDtos.isEmpty()) {
+            return;
+        }
+        jobDtos.forEach(this::withClaimCheck);
+        rabbitTemplate.invoke(operations -> {
+            for (StartSummaryGenerationJobDto jobDto : jobDtos) {
+                pipelineMetrics.recordPublish(JobType.SUMMARY_GENERATION, () -> operations.convertAndSend(
+                        RabbitConfig.WORKER_JOB_EXCHANGE,
+                        RabbitConfig.WORKER_SUMMARY_GENERATION_START_ROUTING_KEY,
+                        jobDto,
+                        withPriority(pipelineMetrics.outboundPayload(JobType.SUMMARY_GENERATION), priority)
+                ));
+            }
+            return null;
+        });
     }
 
     public void startTextExtractionJob(StartTextExtractionJobDto startChunkingJobDto) {
-        rabbitTemplate.convertAndSend(
+        send(JobType.TEXT_EXTRACTION, RabbitConfig.WORKER_TEXT_EXTRACTION_START_ROUTING_KEY, startChunkingJobDto);
+    }
+
+    private void send(JobType jobType, String routingKey, Object jobDto) {
+        pipelineMetrics.recordPublish(jobType, () -> rabbitTemplate.convertAndSend(
                 RabbitConfig.WORKER_JOB_EXCHANGE,
-                RabbitConfig.WORKER_TEXT_EXTRACTION_START_ROUTING_KEY,
-                startChunkingJobDto
-        );
+                routingKey,
+                jobDto,
+                pipelineMetrics.outboundPayload(jobType)
+        ));
     }
-}
 
+    /**
+     * Sets the AMQP priority of the run's lane; only the summary and flashcard job queues honour it.
+     */
+    private static MessagePostProcessor withPriority(MessagePostProcessor postProcessor, GenerationPriority priority) {
+        return message -> {
+            message.getMessageProperties().setPriority(priority.getLevel());
+            return postProcessor.postProcessMessage(message);
+        };
+    }
+
+    /**
+     * Claim-check: bodies above worker.claim-check.threshold-bytes are moved to the bucket
+     * and replaced by a reference before the message is published.
+     */
+    private StartSummaryGenerationJobDto withClaimCheck(StartSummaryGenerationJobDto dto) {
+        claimCheckService.offloadText(dto.getCategoryId(), "summary-" + dto.getJobId() + ".txt", dto.getText())
+                .ifPresent(ref -> {
+                    dto.setText(null);
+                    dto.setTextRef(ref);
+                });
+        return dto;
+    }
+
+    private StartFlashcardGenerationJobDto withClaimCheck(StartFlashcardGenerationJobDto dto) {
+        claimCheckService.offloadText(dto.getCategoryItemId(), "flashcard-" + dto.getJobId() + ".txt", dto.getText())
+                .ifPresent(ref -> {
+                    dto.setText(null);
+                    dto.setTextRef(ref);
+                });
+        return dto;
+    }
+
+    private StartAggregationJobDto withClaimCheck(StartAggregationJobDto dto) {
+        if (!claimCheckService.isEnabled()) {
+            return dto;
+        }
+        byte[] content = JsonMapper.shared().writeValueAsBytes(Map.of(
+                "summaries", dto.getSummaries(),
+                "flashcards", dto.getFlashcards()
+        ));
+        claimCheckService.offload(dto.getCategoryItemId(), "aggregation-" + dto.getJobId() + ".json", content, "application/json")
+                .ifPresent(ref -> {
+                    dto.setSummaries(null);
+                    dto.setFlashcards(null);
+                    dto.setContentRef(ref);
+                });
+        return dto;
+    }
+}
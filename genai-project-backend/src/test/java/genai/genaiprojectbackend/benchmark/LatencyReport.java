@@ -0,0 +1,59 @@
+package genai.genaiprojectbackend.benchmark;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named latency samples (in nanoseconds) collected from any thread, printed as a percentile table.
+ */
+final class LatencyReport {
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentSkipListMap<>();
+
+    void record(String name, long nanos) {
+        samples.computeIfAbsent(name, key -> new ConcurrentLinkedQueue<>()).add(Math.max(0, nanos));
+    }
+
+    void clear() {
+        samples.clear();
+    }
+
+    /**
+     * Nearest-rank percentile of the named samples in nanoseconds, 0 if there are none.
+     */
+    long percentile(String name, int percentile) {
+        long[] sorted = samples.getOrDefault(name, new ConcurrentLinkedQueue<>()).stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return percentile(sorted, percentile);
+    }
+
+    void print(String title) {
+        System.out.printf("[%s]%n", title);
+        System.out.printf("  %-40s %7s %9s %9s %9s %9s %9s%n", "", "count", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, ConcurrentLinkedQueue<Long>> entry : samples.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            System.out.printf("  %-40s %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), sorted.length,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                    millis(percentile(sorted, 95)), millis(percentile(sorted, 99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array.
+     */
+    static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
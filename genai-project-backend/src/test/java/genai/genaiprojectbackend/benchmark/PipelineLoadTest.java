@@ -0,0 +1,265 @@
+package genai.genaiprojectbackend.benchmark;
+
+import genai.genaiprojectbackend.service.categoryitem.ICategoryItemService;
+import genai.genaiprojectbackend.support.PipelineContainers;
+import genai.genaiprojectbackend.support.StandInWorker;
+import genai.genaiprojectbackend.support.StandInWorker.Stage;
+import genai.genaiprojectbackend.support.StandInWorker.StageSettings;
+import io.minio.MinioClient;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the generation pipeline without Gemini or the Python workers.
+ * <p>
+ * Runs the backend against {@link PipelineContainers} and replaces the workers with {@link StandInWorker}.
+ * N category items are started concurrently through ICategoryItemService.startGeneration and
+ * the harness reports:
+ * <ul>
+ *     <li>end-to-end latency from startGeneration until the item is COMPLETED/FAILED,</li>
+ *     <li>queue wait per job queue (backend publish to stand-in consume) and per result queue
+ *     (stand-in publish to backend listener),</li>
+ *     <li>listener time per result queue (backend handling incl. its transaction),</li>
+ *     <li>database time from pg_stat_statements (server-side execution time).</li>
+ * </ul>
+ * Tunables are system properties, e.g.:
+ * <pre>
+ * ./mvnw test -Pbenchmark -Dtest=PipelineLoadTest -Dloadtest.items=50 -Dloadtest.chunks-per-file=20 \
+ *     -Dloadtest.latency-ms.summary=500 -Dloadtest.failure-rate.flashcard=0.01
+ * </pre>
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "worker.result-reuse.enabled=false")
+class PipelineLoadTest {
+
+    private static final int ITEMS = Integer.getInteger("loadtest.items", 20);
+    private static final int FILES_PER_ITEM = Integer.getInteger("loadtest.files-per-item", 2);
+    private static final int CHUNKS_PER_FILE = Integer.getInteger("loadtest.chunks-per-file", 10);
+    private static final int FLASHCARDS_PER_CHUNK = Integer.getInteger("loadtest.flashcards-per-chunk", 5);
+    private static final int FILE_SIZE_BYTES = Integer.getInteger("loadtest.file-size-bytes", 256 * 1024);
+    private static final int CONSUMERS_PER_STAGE = Integer.getInteger("loadtest.consumers-per-stage", 4);
+    private static final double JITTER = Double.parseDouble(System.getProperty("loadtest.jitter", "0.5"));
+    private static final long TIMEOUT_SECONDS = Long.getLong("loadtest.timeout-seconds", 600);
+
+    static final LatencyReport REPORT = new LatencyReport();
+
+    private static StandInWorker standInWorker;
+
+    @Autowired
+    private ICategoryItemService categoryItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MinioClient minioClient;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        PipelineContainers.registerProperties(registry);
+    }
+
+    @AfterAll
+    static void stopWorker() {
+        if (standInWorker != null) {
+            standInWorker.close();
+        }
+    }
+
+    @Test
+    void concurrentGenerations() throws Exception {
+        List<Integer> itemIds = PipelineContainers.seedItems(jdbcTemplate, minioClient, ITEMS, FILES_PER_ITEM, FILE_SIZE_BYTES);
+
+        // Stamp every job the backend publishes so the stand-in can measure queue wait
+        rabbitTemplate.addBeforePublishPostProcessors(message -> {
+            message.getMessageProperties().setHeader(StandInWorker.PUBLISHED_AT_HEADER, System.nanoTime());
+            return message;
+        });
+        standInWorker = PipelineContainers.standInWorker(
+                stageSettings(), CONSUMERS_PER_STAGE, CHUNKS_PER_FILE, FLASHCARDS_PER_CHUNK, REPORT::record);
+        standInWorker.start();
+
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        jdbcTemplate.execute("SELECT pg_stat_statements_reset()");
+        REPORT.clear();
+
+        Map<Integer, Long> startedAt = new HashMap<>();
+        ExecutorService callers = Executors.newFixedThreadPool(ITEMS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>(ITEMS);
+        for (Integer itemId : itemIds) {
+            calls.add(callers.submit(() -> {
+                go.await();
+                long start = System.nanoTime();
+                synchronized (startedAt) {
+                    startedAt.put(itemId, start);
+                }
+                categoryItemService.startGeneration(itemId);
+                REPORT.record("startGeneration call", System.nanoTime() - start);
+                return null;
+            }));
+        }
+
+        long runStart = System.nanoTime();
+        go.countDown();
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        callers.shutdown();
+
+        Map<String, Integer> outcomes = awaitTerminal(itemIds, startedAt);
+        double wallSeconds = (System.nanoTime() - runStart) / 1_000_000_000.0;
+
+        int totalChunks = ITEMS * FILES_PER_ITEM * CHUNKS_PER_FILE;
+        System.out.printf("[load] items=%d files/item=%d chunks/file=%d consumers/stage=%d -> %.1f s wall, %.2f items/s, %.1f chunks/s, outcomes=%s%n",
+                ITEMS, FILES_PER_ITEM, CHUNKS_PER_FILE, CONSUMERS_PER_STAGE, wallSeconds,
+                ITEMS / wallSeconds, totalChunks / wallSeconds, outcomes);
+        REPORT.print("latency");
+        printDatabaseTime(wallSeconds);
+
+        assertEquals(ITEMS, outcomes.values().stream().mapToInt(Integer::intValue).sum(), "items still running after timeout");
+        if (stageSettings().values().stream().allMatch(settings -> settings.failureRate() == 0)) {
+            assertEquals(ITEMS, outcomes.getOrDefault("COMPLETED", 0));
+        }
+    }
+
+    /**
+     * Polls the item statuses and records the end-to-end latency of every item reaching a terminal status.
+     */
+    private Map<String, Integer> awaitTerminal(List<Integer> itemIds, Map<Integer, Long> startedAt) throws InterruptedException {
+        Map<String, Integer> outcomes = new HashMap<>();
+        List<Integer> running = new ArrayList<>(itemIds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!running.isEmpty() && System.nanoTime() < deadline) {
+            Integer[] ids = running.toArray(Integer[]::new);
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, status FROM category_items WHERE id = ANY(?) AND status IN ('COMPLETED', 'FAILED')",
+                    (Object) ids);
+            long now = System.nanoTime();
+            for (Map<String, Object> row : rows) {
+                Integer id = ((Number) row.get("id")).intValue();
+                String status = (String) row.get("status");
+                REPORT.record("end-to-end " + status, now - startedAt.get(id));
+                outcomes.merge(status, 1, Integer::sum);
+                running.remove(id);
+            }
+            Thread.sleep(20);
+        }
+        return outcomes;
+    }
+
+    private void printDatabaseTime(double wallSeconds) {
+        Map<String, Object> total = jdbcTemplate.queryForMap("""
+                SELECT COALESCE(sum(calls), 0) AS calls, COALESCE(sum(total_exec_time), 0) AS ms
+                FROM pg_stat_statements WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())""");
+        System.out.printf("[database] %s statements, %.1f ms execution time (%.1f%% of wall time summed over connections)%n",
+                total.get("calls"), ((Number) total.get("ms")).doubleValue(),
+                ((Number) total.get("ms")).doubleValue() / (wallSeconds * 10));
+
+        List<Map<String, Object>> top = jdbcTemplate.queryForList("""
+                SELECT calls, total_exec_time AS ms, mean_exec_time AS mean_ms, left(regexp_replace(query, '\\s+', ' ', 'g'), 110) AS query
+                FROM pg_stat_statements WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+                ORDER BY total_exec_time DESC LIMIT 10""");
+        for (Map<String, Object> row : top) {
+            System.out.printf("  %8s calls %10.1f ms total %8.3f ms mean  %s%n",
+                    row.get("calls"), ((Number) row.get("ms")).doubleValue(), ((Number) row.get("mean_ms")).doubleValue(), row.get("query"));
+        }
+    }
+
+    private static Map<Stage, StageSettings> stageSettings() {
+        Map<Stage, StageSettings> settings = new EnumMap<>(Stage.class);
+        settings.put(Stage.TEXT_EXTRACTION, stageSettings("extraction", 200));
+        settings.put(Stage.SUMMARY_GENERATION, stageSettings("summary", 150));
+        settings.put(Stage.FLASHCARD_GENERATION, stageSettings("flashcard", 150));
+        settings.put(Stage.AGGREGATION, stageSettings("aggregation", 300));
+        return settings;
+    }
+
+    private static StageSettings stageSettings(String stage, long defaultLatencyMillis) {
+        return new StageSettings(
+                Long.getLong("loadtest.latency-ms." + stage, defaultLatencyMillis),
+                JITTER,
+                Double.parseDouble(System.getProperty("loadtest.failure-rate." + stage, "0")));
+    }
+
+    /**
+     * Wraps the backend's result listeners to record result-queue wait and listener time.
+     */
+    @TestConfiguration
+    static class ListenerTimingConfiguration {
+
+        @Bean
+        static BeanPostProcessor listenerTimingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                        List<org.aopalliance.aop.Advice> chain = new ArrayList<>();
+                        chain.add(timing());
+                        if (factory.getAdviceChain() != null) {
+                            chain.addAll(Arrays.asList(factory.getAdviceChain()));
+                        }
+                        factory.setAdviceChain(chain.toArray(org.aopalliance.aop.Advice[]::new));
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static MethodInterceptor timing() {
+            return invocation -> {
+                long start = System.nanoTime();
+                Object data = invocation.getArguments().length > 1 ? invocation.getArguments()[1] : null;
+                List<Message> messages = data instanceof Message message ? List.of(message)
+                        : data instanceof List<?> list ? list.stream().filter(Message.class::isInstance).map(Message.class::cast).toList()
+                        : List.of();
+                String queue = messages.isEmpty() ? "unknown" : messages.get(0).getMessageProperties().getConsumerQueue();
+                for (Message message : messages) {
+                    Long publishedAt = message.getMessageProperties().getHeader(StandInWorker.PUBLISHED_AT_HEADER);
+                    if (publishedAt != null) {
+                        REPORT.record("queue wait " + queue, start - publishedAt);
+                    }
+                }
+                try {
+                    return invocation.proceed();
+                } finally {
+                    REPORT.record("listener " + queue, System.nanoTime() - start);
+                }
+            };
+        }
+    }
+}
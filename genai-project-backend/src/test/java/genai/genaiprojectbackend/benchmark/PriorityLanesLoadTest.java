@@ -0,0 +1,173 @@
+package genai.genaiprojectbackend.benchmark;
+
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import genai.genaiprojectbackend.service.categoryitem.ICategoryItemService;
+import genai.genaiprojectbackend.support.PipelineContainers;
+import genai.genaiprojectbackend.support.StandInWorker;
+import genai.genaiprojectbackend.support.StandInWorker.Stage;
+import genai.genaiprojectbackend.support.StandInWorker.StageSettings;
+import io.minio.MinioClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Completion time of small items under mixed load, with and without priority lanes.
+ * <p>
+ * A few large items (many files, BULK by size) are started first and fill the dispatch backlog; small
+ * one-file items then arrive one by one, like users uploading a handout while a textbook is processed.
+ * The run is done twice against {@link PipelineContainers} and {@link StandInWorker}:
+ * <ul>
+ *     <li>lanes - every item gets the priority derived from its size, so the small items are INTERACTIVE,</li>
+ *     <li>single lane - every item is started as BULK, i.e. the behaviour without priorities.</li>
+ * </ul>
+ * The report shows end-to-end latency (startGeneration until COMPLETED) per run and size; the small items'
+ * p95 must be lower with lanes, while the large items still complete.
+ * <pre>
+ * ./mvnw test -Pbenchmark -Dtest=PriorityLanesLoadTest -Dlanes.small-items=40 -Dlanes.bulk-files=30
+ * </pre>
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "worker.result-reuse.enabled=false",
+        "pipeline.dispatch.global-rate=60",
+        "pipeline.dispatch.global-burst=60",
+        "pipeline.dispatch.item-rate=30",
+        "pipeline.dispatch.item-burst=30",
+        "pipeline.dispatch.interval-ms=100"
+})
+class PriorityLanesLoadTest {
+
+    private static final int BULK_ITEMS = Integer.getInteger("lanes.bulk-items", 4);
+    private static final int BULK_FILES = Integer.getInteger("lanes.bulk-files", 20);
+    private static final int BULK_FILE_SIZE_BYTES = Integer.getInteger("lanes.bulk-file-size-bytes", 512 * 1024);
+    private static final int SMALL_ITEMS = Integer.getInteger("lanes.small-items", 30);
+    private static final int SMALL_FILE_SIZE_BYTES = Integer.getInteger("lanes.small-file-size-bytes", 64 * 1024);
+    private static final long SMALL_ITEM_INTERVAL_MS = Long.getLong("lanes.small-item-interval-ms", 200);
+    private static final long BULK_HEAD_START_MS = Long.getLong("lanes.bulk-head-start-ms", 2000);
+    private static final int CHUNKS_PER_FILE = Integer.getInteger("lanes.chunks-per-file", 10);
+    private static final int CONSUMERS_PER_STAGE = Integer.getInteger("lanes.consumers-per-stage", 4);
+    private static final long TIMEOUT_SECONDS = Long.getLong("lanes.timeout-seconds", 900);
+
+    private final LatencyReport report = new LatencyReport();
+
+    @Autowired
+    private ICategoryItemService categoryItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MinioClient minioClient;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        PipelineContainers.registerProperties(registry);
+    }
+
+    @Test
+    void smallItemsOvertakeBulkItems() throws Exception {
+        try (StandInWorker worker = PipelineContainers.standInWorker(stageSettings(), CONSUMERS_PER_STAGE, CHUNKS_PER_FILE, 3, (name, nanos) -> { })) {
+            worker.start();
+
+            Map<String, Integer> lanes = run("lanes", null);
+            Map<String, Integer> singleLane = run("single lane", GenerationPriority.BULK);
+            report.print("end-to-end");
+
+            assertEquals(BULK_ITEMS + SMALL_ITEMS, lanes.getOrDefault("COMPLETED", 0), "lanes: " + lanes);
+            assertEquals(BULK_ITEMS + SMALL_ITEMS, singleLane.getOrDefault("COMPLETED", 0), "single lane: " + singleLane);
+
+            long lanesP95 = report.percentile("lanes small item", 95);
+            long singleLaneP95 = report.percentile("single lane small item", 95);
+            System.out.printf("[lanes] small item p95 %.1f ms with lanes, %.1f ms in a single lane%n",
+                    lanesP95 / 1_000_000.0, singleLaneP95 / 1_000_000.0);
+            assertTrue(lanesP95 < singleLaneP95, "priority lanes did not lower the p95 of small items");
+        }
+    }
+
+    /**
+     * Starts the bulk items, then the small items one by one, and waits until all are finished.
+     *
+     * @param priority priority for every item, or null to derive it from the item size
+     * @return items per terminal status
+     */
+    private Map<String, Integer> run(String name, GenerationPriority priority) throws Exception {
+        List<Integer> bulkItems = PipelineContainers.seedItems(jdbcTemplate, minioClient, BULK_ITEMS, BULK_FILES, BULK_FILE_SIZE_BYTES);
+        List<Integer> smallItems = PipelineContainers.seedItems(jdbcTemplate, minioClient, SMALL_ITEMS, 1, SMALL_FILE_SIZE_BYTES);
+        Map<Integer, String> labels = new HashMap<>();
+        bulkItems.forEach(id -> labels.put(id, name + " bulk item"));
+        smallItems.forEach(id -> labels.put(id, name + " small item"));
+
+        Map<Integer, Long> startedAt = new ConcurrentHashMap<>();
+        ExecutorService starter = Executors.newSingleThreadExecutor();
+        Future<?> starts = starter.submit(() -> {
+            for (Integer itemId : bulkItems) {
+                startedAt.put(itemId, System.nanoTime());
+                categoryItemService.startGeneration(itemId, priority);
+            }
+            Thread.sleep(BULK_HEAD_START_MS);
+            for (Integer itemId : smallItems) {
+                startedAt.put(itemId, System.nanoTime());
+                categoryItemService.startGeneration(itemId, priority);
+                Thread.sleep(SMALL_ITEM_INTERVAL_MS);
+            }
+            return null;
+        });
+        starter.shutdown();
+
+        Map<String, Integer> outcomes = awaitTerminal(labels, startedAt);
+        starts.get();
+        return outcomes;
+    }
+
+    private Map<String, Integer> awaitTerminal(Map<Integer, String> labels, Map<Integer, Long> startedAt) throws InterruptedException {
+        Map<String, Integer> outcomes = new HashMap<>();
+        List<Integer> running = new ArrayList<>(labels.keySet());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!running.isEmpty() && System.nanoTime() < deadline) {
+            Integer[] ids = running.stream().filter(startedAt::containsKey).toArray(Integer[]::new);
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, status FROM category_items WHERE id = ANY(?) AND status IN ('COMPLETED', 'FAILED')",
+                    (Object) ids);
+            long now = System.nanoTime();
+            for (Map<String, Object> row : rows) {
+                Integer id = ((Number) row.get("id")).intValue();
+                report.record(labels.get(id), now - startedAt.get(id));
+                outcomes.merge((String) row.get("status"), 1, Integer::sum);
+                running.remove(id);
+            }
+            Thread.sleep(20);
+        }
+        return outcomes;
+    }
+
+    private static Map<Stage, StageSettings> stageSettings() {
+        Map<Stage, StageSettings> settings = new EnumMap<>(Stage.class);
+        settings.put(Stage.TEXT_EXTRACTION, new StageSettings(100, 0.5, 0));
+        settings.put(Stage.SUMMARY_GENERATION, new StageSettings(Long.getLong("lanes.latency-ms.summary", 100), 0.5, 0));
+        settings.put(Stage.FLASHCARD_GENERATION, new StageSettings(Long.getLong("lanes.latency-ms.flashcard", 100), 0.5, 0));
+        settings.put(Stage.AGGREGATION, new StageSettings(200, 0.5, 0));
+        return settings;
+    }
+}
@@ -0,0 +1,242 @@
+package genai.genaiprojectbackend.benchmark;
+
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
+import genai.genaiprojectbackend.model.enums.GenerationPriority;
+import genai.genaiprojectbackend.service.categoryitem.ICategoryItemService;
+import genai.genaiprojectbackend.service.workers.WorkerResultService;
+import genai.genaiprojectbackend.support.PipelineContainers;
+import io.minio.MinioClient;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the ingestion of text chunks + summary jobs through WorkerResultService.processExtractedBatch
+ * against the real entity mappings and hibernate.jdbc.batch_size.
+ * <p>
+ * Hibernate statistics count the inserted entities and prepared statements; a proxy around the DataSource
+ * counts how the inserts into text_chunks and jobs reach the driver (executeBatch vs. single executes).
+ * <p>
+ * Run with: ./mvnw test -Pbenchmark -Dtest=TextChunkIngestionBenchmarkTest
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "worker.result-reuse.enabled=false",
+        // Keeps the dispatcher from touching the jobs while they are counted
+        "pipeline.dispatch.interval-ms=3600000"
+})
+class TextChunkIngestionBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final String CHUNK_TEXT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(18);
+    private static final List<String> COUNTED_TABLES = List.of("text_chunks", "jobs");
+
+    static final InsertCounter INSERTS = new InsertCounter();
+
+    @Autowired
+    private WorkerResultService workerResultService;
+
+    @Autowired
+    private ICategoryItemService categoryItemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MinioClient minioClient;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        PipelineContainers.registerProperties(registry);
+    }
+
+    @ParameterizedTest(name = "{0} chunks")
+    @ValueSource(ints = {10, 100, 1000})
+    void ingestChunkBatch(int chunks) throws Exception {
+        Integer itemId = PipelineContainers.seedItems(jdbcTemplate, minioClient, 1, 1, 1024).get(0);
+        categoryItemService.startGeneration(itemId, GenerationPriority.BULK);
+        Long fileId = jdbcTemplate.queryForObject("SELECT id FROM files WHERE category_item_id = ?", Long.class, itemId);
+        Integer jobId = jdbcTemplate.queryForObject(
+                "SELECT id FROM jobs WHERE category_item_id = ? AND job_type = 'TEXT_EXTRACTION'", Integer.class, itemId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ExtractedChunk> batch = chunks(chunks);
+
+        // Every round is a new batch of the same file, a repeated offset would be dropped as a duplicate
+        int offset = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++, offset += chunks) {
+            workerResultService.processExtractedBatch(jobId, fileId, itemId, offset, batch);
+        }
+
+        long nanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++, offset += chunks) {
+            statistics.clear();
+            INSERTS.clear();
+            long start = System.nanoTime();
+            workerResultService.processExtractedBatch(jobId, fileId, itemId, offset, batch);
+            nanos += System.nanoTime() - start;
+
+            int expectedBatches = (chunks + batchSize - 1) / batchSize;
+            assertEquals(2L * chunks, statistics.getEntityInsertCount(), "text chunks + summary jobs");
+            for (String table : COUNTED_TABLES) {
+                int batches = INSERTS.batches(table);
+                assertTrue(batches > 0, "no JDBC batch for " + table);
+                assertTrue(batches >= expectedBatches && batches <= expectedBatches + 1,
+                        table + ": " + batches + " batches, expected about " + expectedBatches);
+                assertEquals(0, INSERTS.singleExecutes(table), "unbatched inserts into " + table);
+            }
+        }
+
+        System.out.printf("[ingestion] chunks=%5d  batch_size=%d  %8.2f ms/batch  prepared statements=%d  JDBC batches=%s%n",
+                chunks, batchSize, nanos / 1_000_000.0 / MEASURED_ROUNDS, statistics.getPrepareStatementCount(),
+                COUNTED_TABLES.stream().map(table -> table + ":" + INSERTS.batches(table)).toList());
+        assertEquals((long) (WARMUP_ROUNDS + MEASURED_ROUNDS) * chunks, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM text_chunks WHERE file_id = ?", Long.class, fileId));
+    }
+
+    private static List<ExtractedChunk> chunks(int count) {
+        List<ExtractedChunk> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            chunks.add(new ExtractedChunk(i + " " + CHUNK_TEXT, i + 1, i + 1));
+        }
+        return chunks;
+    }
+
+    @TestConfiguration
+    static class InsertCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor insertCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                            Object result = invoke(target, method, args);
+                            return result instanceof Connection connection ? countingConnection(connection) : result;
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection countingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    String table = INSERTS.insertTable((String) args[0]);
+                    if (table != null) {
+                        return countingStatement(statement, table);
+                    }
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement countingStatement(PreparedStatement statement, String table) {
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                switch (method.getName()) {
+                    case "executeBatch", "executeLargeBatch" -> INSERTS.batch(table);
+                    case "execute", "executeUpdate", "executeLargeUpdate", "executeQuery" -> INSERTS.singleExecute(table);
+                    default -> {
+                    }
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, TargetInvocationHandler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @FunctionalInterface
+        private interface TargetInvocationHandler {
+            Object invoke(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+
+    /**
+     * Round trips of the INSERT statements per counted table.
+     */
+    static final class InsertCounter {
+        private final Map<String, AtomicInteger> batches = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> singleExecutes = new ConcurrentHashMap<>();
+
+        String insertTable(String sql) {
+            String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return COUNTED_TABLES.stream()
+                    .filter(table -> normalized.startsWith("insert into " + table + " "))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        void batch(String table) {
+            batches.computeIfAbsent(table, t -> new AtomicInteger()).incrementAndGet();
+        }
+
+        void singleExecute(String table) {
+            singleExecutes.computeIfAbsent(table, t -> new AtomicInteger()).incrementAndGet();
+        }
+
+        int batches(String table) {
+            return batches.getOrDefault(table, new AtomicInteger()).get();
+        }
+
+        int singleExecutes(String table) {
+            return singleExecutes.getOrDefault(table, new AtomicInteger()).get();
+        }
+
+        void clear() {
+            batches.clear();
+            singleExecutes.clear();
+        }
+    }
+}
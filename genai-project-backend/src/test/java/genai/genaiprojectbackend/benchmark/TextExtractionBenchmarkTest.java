@@ -0,0 +1,278 @@
+package genai.genaiprojectbackend.benchmark;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import genai.genaiprojectbackend.configuration.ExtractionProperties;
+import genai.genaiprojectbackend.configuration.MinioProperties;
+import genai.genaiprojectbackend.configuration.RabbitConfig;
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
+import genai.genaiprojectbackend.service.extraction.StreamingTextExtractor;
+import genai.genaiprojectbackend.service.workers.WorkerResultParser;
+import genai.genaiprojectbackend.support.PipelineContainers;
+import io.minio.BucketExistsArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.http.Method;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.testcontainers.Testcontainers;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.lifecycle.Startables;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Extracts a corpus of large generated PDFs from MinIO with the in-process engine
+ * ({@link StreamingTextExtractor}) and with the Python text-extraction-worker, built from
+ * genai-project-worker/Dockerfile-text-extraction-worker and fed one job per file over RabbitMQ.
+ * Reports per-file latency percentiles (first chunk batch and whole file), corpus wall time and chunk
+ * counts; for the in-process engine also the peak heap, which should stay far below the corpus size since
+ * files are read in ranged blocks.
+ * <p>
+ * The worker reaches MinIO and RabbitMQ through host.testcontainers.internal.
+ * <p>
+ * Run with:
+ * <pre>
+ * ./mvnw test -Pbenchmark -Dtest=TextExtractionBenchmarkTest -Dextraction.files=8 -Dextraction.pages=2000
+ * </pre>
+ */
+@Tag("benchmark")
+@org.testcontainers.junit.jupiter.Testcontainers(disabledWithoutDocker = true)
+class TextExtractionBenchmarkTest {
+
+    private static final int FILES = Integer.getInteger("extraction.files", 8);
+    private static final int PAGES = Integer.getInteger("extraction.pages", 2000);
+    private static final int THREADS = Integer.getInteger("extraction.threads", Runtime.getRuntime().availableProcessors());
+    private static final int CHUNK_SIZE = 1000;
+    private static final String WORKER_HOST = "host.testcontainers.internal";
+    private static final Path WORKER_ROOT = Path.of("..", "genai-project-worker").toAbsolutePath().normalize();
+    private static final String[] WORDS = ("lecture exam definition theorem proof example gradient matrix vector "
+            + "function integral protocol network latency throughput memory cache process thread").split(" ");
+
+    private final LatencyReport report = new LatencyReport();
+
+    @Test
+    void inProcessVersusPythonWorker() throws Exception {
+        Startables.deepStart(PipelineContainers.RABBITMQ, PipelineContainers.MINIO).join();
+        MinioClient minioClient = MinioClient.builder()
+                .endpoint(PipelineContainers.MINIO.getS3URL())
+                .credentials(PipelineContainers.MINIO.getUserName(), PipelineContainers.MINIO.getPassword())
+                .build();
+        List<String> objectNames = uploadCorpus(minioClient);
+
+        Map<String, Integer> javaChunks = runInProcess(minioClient, objectNames);
+        Map<String, Integer> pythonChunks = runPythonWorker(objectNames);
+
+        report.print("text extraction, " + FILES + " files x " + PAGES + " pages");
+        for (String objectName : objectNames) {
+            System.out.printf("  %-40s java %5d chunks, python %5d chunks%n",
+                    objectName, javaChunks.get(objectName), pythonChunks.getOrDefault(objectName, -1));
+        }
+    }
+
+    private Map<String, Integer> runInProcess(MinioClient minioClient, List<String> objectNames) throws Exception {
+        MinioProperties minioProperties = new MinioProperties();
+        minioProperties.setBucket(PipelineContainers.BUCKET);
+        ExtractionProperties settings = new ExtractionProperties();
+        settings.setEngine("in-process");
+        settings.setThreads(THREADS);
+        settings.setFileParallelism(Math.max(1, THREADS / 2));
+        settings.setChunkSize(CHUNK_SIZE);
+        StreamingTextExtractor extractor = new StreamingTextExtractor(minioClient, minioProperties, settings);
+        try {
+            extractor.extract(objectNames.get(0)).join();
+            System.gc();
+            List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            Map<String, Integer> chunkCounts = new HashMap<>();
+            List<CompletableFuture<?>> files = new ArrayList<>();
+            long start = System.nanoTime();
+            for (String objectName : objectNames) {
+                long fileStart = System.nanoTime();
+                List<ExtractedChunk> chunks = new ArrayList<>();
+                files.add(extractor.extract(objectName, (chunkOffset, batch) -> {
+                    if (chunkOffset == 0) {
+                        report.record("in-process first batch", System.nanoTime() - fileStart);
+                    }
+                    chunks.addAll(batch);
+                }).thenAccept(total -> {
+                    report.record("in-process per file", System.nanoTime() - fileStart);
+                    verifyPages(objectName, chunks);
+                    synchronized (chunkCounts) {
+                        chunkCounts.put(objectName, total);
+                    }
+                }));
+            }
+            CompletableFuture.allOf(files.toArray(CompletableFuture[]::new)).join();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            System.out.printf("[in-process] %d files in %.1f s (%.0f pages/s), %d threads, peak heap %d MB%n",
+                    objectNames.size(), seconds, objectNames.size() * PAGES / seconds, THREADS, peakHeap / (1024 * 1024));
+            return chunkCounts;
+        } finally {
+            extractor.shutdown();
+        }
+    }
+
+    private Map<String, Integer> runPythonWorker(List<String> objectNames) throws Exception {
+        int minioPort = PipelineContainers.MINIO.getMappedPort(9000);
+        int rabbitPort = PipelineContainers.RABBITMQ.getMappedPort(5672);
+        Testcontainers.exposeHostPorts(minioPort, rabbitPort);
+        // Presigned for the host name the worker sees; region is fixed so presigning needs no request
+        MinioClient workerView = MinioClient.builder()
+                .endpoint(WORKER_HOST, minioPort, false)
+                .credentials(PipelineContainers.MINIO.getUserName(), PipelineContainers.MINIO.getPassword())
+                .region("us-east-1")
+                .build();
+
+        CachingConnectionFactory connectionFactory = new CachingConnectionFactory(PipelineContainers.RABBITMQ.getHost(), rabbitPort);
+        connectionFactory.setUsername(PipelineContainers.RABBIT_USER);
+        connectionFactory.setPassword(PipelineContainers.RABBIT_PASSWORD);
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMessageConverter(new JacksonJsonMessageConverter());
+
+        try (GenericContainer<?> worker = new GenericContainer<>(new ImageFromDockerfile("genai-text-extraction-worker-benchmark", false)
+                .withFileFromPath(".", WORKER_ROOT)
+                .withDockerfilePath("Dockerfile-text-extraction-worker"))
+                .withEnv("RABBITMQ_HOST", WORKER_HOST)
+                .withEnv("RABBITMQ_PORT", String.valueOf(rabbitPort))
+                .withEnv("RABBITMQ_USER", PipelineContainers.RABBIT_USER)
+                .withEnv("RABBITMQ_PASSWORD", PipelineContainers.RABBIT_PASSWORD)
+                .withEnv("TEXT_CHUNK_CHARACTER_SIZE", String.valueOf(CHUNK_SIZE))
+                .waitingFor(Wait.forLogMessage(".*Waiting for messages.*", 1).withStartupTimeout(Duration.ofMinutes(10)))) {
+            worker.start();
+
+            Map<Integer, String> objectByJob = new HashMap<>();
+            Map<Integer, Long> publishedAt = new HashMap<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < objectNames.size(); i++) {
+                int jobId = i + 1;
+                String url = workerView.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                        .method(Method.GET)
+                        .bucket(PipelineContainers.BUCKET)
+                        .object(objectNames.get(i))
+                        .expiry(1, TimeUnit.HOURS)
+                        .build());
+                objectByJob.put(jobId, objectNames.get(i));
+                publishedAt.put(jobId, System.nanoTime());
+                rabbitTemplate.convertAndSend(RabbitConfig.WORKER_JOB_EXCHANGE, RabbitConfig.WORKER_TEXT_EXTRACTION_START_ROUTING_KEY,
+                        Map.of("jobId", jobId, "categoryItemId", 1, "files", List.of(Map.of("id", jobId, "url", url))));
+            }
+
+            // The worker streams every file as chunk batches followed by an end-of-file marker
+            Map<String, Integer> chunkCounts = new HashMap<>();
+            Map<Integer, Integer> receivedChunks = new HashMap<>();
+            while (chunkCounts.size() < objectNames.size()) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> result = (Map<String, Object>) rabbitTemplate.receiveAndConvert(
+                        RabbitConfig.WORKER_TEXT_EXTRACTION_RESULT_QUEUE, Duration.ofMinutes(10).toMillis());
+                assertNotNull(result, "no result from the text-extraction-worker within 10 minutes");
+                Integer jobId = WorkerResultParser.getJobId(result);
+                assertEquals("success", result.get("status"), "worker failed: " + result);
+                Map<String, Object> payload = WorkerResultParser.getPayload(result);
+                if (Boolean.TRUE.equals(payload.get("last"))) {
+                    report.record("python worker per file", System.nanoTime() - publishedAt.get(jobId));
+                    assertEquals(receivedChunks.getOrDefault(jobId, 0), payload.get("totalChunks"), "chunks lost before the end-of-file marker");
+                    chunkCounts.put(objectByJob.get(jobId), receivedChunks.getOrDefault(jobId, 0));
+                    continue;
+                }
+                if (!receivedChunks.containsKey(jobId)) {
+                    report.record("python worker first batch", System.nanoTime() - publishedAt.get(jobId));
+                }
+                receivedChunks.merge(jobId, WorkerResultParser.getTextChunks(payload, payload.get("textChunks")).size(), Integer::sum);
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("[python worker] %d files in %.1f s (%.0f pages/s), 1 container%n",
+                    objectNames.size(), seconds, objectNames.size() * PAGES / seconds);
+            return chunkCounts;
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static void verifyPages(String objectName, List<ExtractedChunk> chunks) {
+        assertFalse(chunks.isEmpty(), objectName + " has no chunks");
+        assertEquals(1, chunks.get(0).getPageStart(), objectName + " does not start on page 1");
+        assertEquals(PAGES, chunks.get(chunks.size() - 1).getPageEnd(), objectName + " does not end on the last page");
+        for (int i = 1; i < chunks.size(); i++) {
+            assertFalse(chunks.get(i).getPageStart() < chunks.get(i - 1).getPageEnd(), objectName + " chunks out of page order");
+        }
+    }
+
+    /**
+     * Uploads {@link #FILES} PDFs of {@link #PAGES} pages of generated prose (about 2,500 characters per page).
+     */
+    private static List<String> uploadCorpus(MinioClient minioClient) throws Exception {
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(PipelineContainers.BUCKET).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(PipelineContainers.BUCKET).build());
+        }
+        List<String> objectNames = new ArrayList<>(FILES);
+        long totalBytes = 0;
+        for (int f = 0; f < FILES; f++) {
+            byte[] pdf = generatePdf(new Random(f));
+            String objectName = "extraction-benchmark/" + f + ".pdf";
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(PipelineContainers.BUCKET)
+                    .object(objectName)
+                    .stream(new ByteArrayInputStream(pdf), pdf.length, -1)
+                    .contentType("application/pdf")
+                    .build());
+            objectNames.add(objectName);
+            totalBytes += pdf.length;
+        }
+        System.out.printf("[corpus] %d files x %d pages, %d MB%n", FILES, PAGES, totalBytes / (1024 * 1024));
+        return objectNames;
+    }
+
+    private static byte[] generatePdf(Random random) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document();
+        PdfWriter.getInstance(document, out);
+        document.open();
+        for (int page = 1; page <= PAGES; page++) {
+            if (page > 1) {
+                document.newPage();
+            }
+            for (int paragraph = 0; paragraph < 4; paragraph++) {
+                StringBuilder text = new StringBuilder();
+                for (int sentence = 0; sentence < 6; sentence++) {
+                    for (int word = 0; word < 12; word++) {
+                        text.append(WORDS[random.nextInt(WORDS.length)]).append(word < 11 ? ' ' : '.');
+                    }
+                    text.append(' ');
+                }
+                document.add(new Paragraph(text.toString()));
+            }
+        }
+        document.close();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,199 @@
+package genai.genaiprojectbackend.benchmark;
+
+import genai.genaiprojectbackend.GenaiProjectBackendApplication;
+import genai.genaiprojectbackend.support.PipelineContainers;
+import io.minio.MinioClient;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the backend on platform threads with spring.threads.virtual.enabled=true under a few thousand
+ * concurrent clients. The mix is status polls (GET /api/v1/category-item/{id}/status) and upload-URL
+ * requests (POST /api/v1/bucket/upload, a database lookup/insert plus presigning). Each mode starts its
+ * own application context against {@link PipelineContainers} and reports throughput, latency percentiles,
+ * peak heap and peak platform thread count.
+ * <p>
+ * In the virtual-thread run a JFR stream records jdk.VirtualThreadPinned events (a virtual thread blocking
+ * inside a synchronized block or native frame). Pinning in backend code fails the test; pinning inside
+ * libraries is reported. The virtual-thread run needs Java 21 and is skipped on older JREs.
+ * <p>
+ * Run with:
+ * <pre>
+ * ./mvnw test -Pbenchmark -Dtest=VirtualThreadBenchmarkTest -Dvthreads.concurrency=2000 -Dvthreads.requests=20000
+ * </pre>
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class VirtualThreadBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("vthreads.concurrency", 2000);
+    private static final int REQUESTS = Integer.getInteger("vthreads.requests", 20000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("vthreads.warmup-requests", 2000);
+    private static final double UPLOAD_SHARE = Double.parseDouble(System.getProperty("vthreads.upload-share", "0.2"));
+    private static final int ITEMS = 50;
+    private static final String APPLICATION_PACKAGE = "genai.genaiprojectbackend.";
+
+    private final LatencyReport report = new LatencyReport();
+    private final AtomicInteger uploadSequence = new AtomicInteger();
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        run("platform", false);
+
+        if (Runtime.version().feature() < 21) {
+            System.out.printf("[virtual] skipped, running on Java %d%n", Runtime.version().feature());
+            return;
+        }
+        Map<String, Integer> pinnedAt = new ConcurrentHashMap<>();
+        try (RecordingStream pinning = new RecordingStream()) {
+            pinning.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> pinnedAt.merge(pinnedFrame(event), 1, Integer::sum));
+            pinning.startAsync();
+            run("virtual", true);
+        }
+
+        System.out.printf("[pinning] %d pinned locations%n", pinnedAt.size());
+        pinnedAt.forEach((frame, count) -> System.out.printf("  %6d x %s%n", count, frame));
+        List<String> ownFrames = pinnedAt.keySet().stream().filter(frame -> frame.startsWith(APPLICATION_PACKAGE)).toList();
+        assertTrue(ownFrames.isEmpty(), "virtual threads pinned in backend code: " + ownFrames);
+    }
+
+    private void run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GenaiProjectBackendApplication.class)
+                .properties(PipelineContainers.properties())
+                .properties(Map.of(
+                        "server.port", 0,
+                        "spring.threads.virtual.enabled", virtualThreads,
+                        "spring.rabbitmq.listener.simple.auto-startup", false))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Integer> itemIds = PipelineContainers.seedItems(context.getBean(JdbcTemplate.class),
+                    context.getBean(MinioClient.class), ITEMS, 1, 1024);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            String baseUrl = "http://localhost:" + port;
+
+            fire(client, baseUrl, itemIds, WARMUP_REQUESTS, mode);
+            report.clear();
+            System.gc();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            long start = System.nanoTime();
+            int failures = fire(client, baseUrl, itemIds, REQUESTS, mode);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            System.out.printf("[%s] %d requests, concurrency %d -> %.1f s, %.0f req/s, %d failed, peak heap %d MB, peak platform threads %d%n",
+                    mode, REQUESTS, CONCURRENCY, seconds, REQUESTS / seconds, failures,
+                    peakHeap / (1024 * 1024), threads.getPeakThreadCount());
+            report.print(mode);
+        }
+    }
+
+    /**
+     * Sends {@code requests} requests with at most {@link #CONCURRENCY} in flight and returns the number of failures.
+     */
+    private int fire(HttpClient client, String baseUrl, List<Integer> itemIds, int requests, String mode) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicLong failures = new AtomicLong();
+        List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                Integer itemId = itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+                boolean upload = ThreadLocalRandom.current().nextDouble() < UPLOAD_SHARE;
+                String name = upload ? mode + " upload URL" : mode + " status poll";
+                HttpRequest request = upload ? uploadUrlRequest(baseUrl, itemId) : statusRequest(baseUrl, itemId);
+
+                long start = System.nanoTime();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenCompleteAsync((response, error) -> {
+                            inFlight.release();
+                            report.record(name, System.nanoTime() - start);
+                            if (error != null || response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        }, callbacks));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        } finally {
+            callbacks.shutdown();
+        }
+        return (int) failures.get();
+    }
+
+    private static HttpRequest statusRequest(String baseUrl, Integer itemId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/category-item/" + itemId + "/status"))
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest uploadUrlRequest(String baseUrl, Integer itemId) {
+        String fileName = "vthreads/" + itemId + "/" + uploadSequence.incrementAndGet() + ".pdf";
+        String body = "{\"fileName\":\"" + fileName + "\",\"originalFileName\":\"upload.pdf\",\"categoryItemId\":" + itemId + "}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/bucket/upload"))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * The topmost frame of the pinned stack that belongs to the backend, or else the topmost frame.
+     */
+    private static String pinnedFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(candidate -> candidate.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,57 @@
+package genai.genaiprojectbackend.benchmark.jmh;
+
+import genai.genaiprojectbackend.model.dtos.StartAggregationJobDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of StartAggregationJobDto through the same message converter RabbitConfig installs
+ * on the RabbitTemplate. {@code chunks} summaries of ~1 KB with 5 flashcards each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationJobSerializationBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int chunks;
+
+    private final JacksonJsonMessageConverter converter = new JacksonJsonMessageConverter();
+    private StartAggregationJobDto dto;
+
+    @Setup
+    public void setUp() {
+        String summary = "The lecture introduces the main concepts and their definitions. ".repeat(16);
+        List<String> summaries = new ArrayList<>(chunks);
+        List<Map<String, String>> flashcards = new ArrayList<>(chunks * 5);
+        for (int i = 0; i < chunks; i++) {
+            summaries.add(summary);
+            for (int j = 0; j < 5; j++) {
+                flashcards.add(Map.of(
+                        "question", "What does concept " + i + "." + j + " describe?",
+                        "answer", "Concept " + i + "." + j + " describes the relation between the defined terms."));
+            }
+        }
+        dto = StartAggregationJobDto.builder()
+                .jobId(4711)
+                .categoryItemId(3)
+                .summaries(summaries)
+                .flashcards(flashcards)
+                .build();
+    }
+
+    @Benchmark
+    public Message toMessage() {
+        return converter.toMessage(dto, new MessageProperties());
+    }
+}
@@ -0,0 +1,87 @@
+package genai.genaiprojectbackend.benchmark.jmh;
+
+import genai.genaiprojectbackend.api.category.dtos.CategoryDTO;
+import genai.genaiprojectbackend.api.categoryitem.dtos.CategoryItemDetailsDTO;
+import genai.genaiprojectbackend.api.categoryitem.dtos.FlashcardDTO;
+import genai.genaiprojectbackend.mapper.CategoryItemMapper;
+import genai.genaiprojectbackend.mapper.CategoryMapper;
+import genai.genaiprojectbackend.model.entities.Category;
+import genai.genaiprojectbackend.model.entities.CategoryItem;
+import genai.genaiprojectbackend.model.entities.File;
+import genai.genaiprojectbackend.model.enums.CategoryItemStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CategoryMapper.toDTO (sorts the items of a category by creation date) and
+ * CategoryItemMapper.toDetailsDTO for categories/items of {@code size} items, files and flashcards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final CategoryMapper categoryMapper = new CategoryMapper();
+    private final CategoryItemMapper categoryItemMapper = new CategoryItemMapper();
+
+    private Category category;
+    private CategoryItem item;
+    private List<FlashcardDTO> flashcards;
+    private String summary;
+
+    @Setup
+    public void setUp() {
+        category = new Category("Biology", "Lecture notes");
+        category.setId(1);
+
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        List<CategoryItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CategoryItem categoryItem = new CategoryItem("Item " + i, "Description " + i, category);
+            categoryItem.setId(i);
+            categoryItem.setCreatedAt(base.plusSeconds(i * 60L));
+            items.add(categoryItem);
+        }
+        // The repository already orders by creation date; shuffle so the sort does real work
+        Collections.shuffle(items, new java.util.Random(42));
+        category.setItems(items);
+
+        item = items.get(0);
+        item.setStatus(CategoryItemStatus.COMPLETED);
+        List<File> files = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            File file = new File();
+            file.setId((long) i);
+            file.setOriginalFilename("lecture-" + i + ".pdf");
+            files.add(file);
+        }
+        item.setFiles(files);
+
+        flashcards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            flashcards.add(new FlashcardDTO(i, "Question " + i + "?", "Answer " + i));
+        }
+        summary = "Summary sentence. ".repeat(500);
+    }
+
+    @Benchmark
+    public CategoryDTO categoryToDto() {
+        return categoryMapper.toDTO(category);
+    }
+
+    @Benchmark
+    public CategoryItemDetailsDTO categoryItemToDetailsDto() {
+        return categoryItemMapper.toDetailsDTO(item, flashcards, summary);
+    }
+}
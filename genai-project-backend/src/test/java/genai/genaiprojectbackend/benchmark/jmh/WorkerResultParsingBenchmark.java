@@ -0,0 +1,79 @@
+package genai.genaiprojectbackend.benchmark.jmh;
+
+import genai.genaiprojectbackend.service.workers.WorkerResultParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the result maps WorkerResultService receives from the listener:
+ * a text extraction result with {@code chunks} chunk texts and a flashcard result with 10 cards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkerResultParsingBenchmark {
+
+    @Param({"10", "200", "1000"})
+    public int chunks;
+
+    private Map<String, Object> extractionResult;
+    private Map<String, Object> flashcardResult;
+
+    @Setup
+    public void setUp() {
+        String chunkText = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(18);
+        List<Object> textChunks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            textChunks.add(chunkText);
+        }
+
+        Map<String, Object> extractionPayload = new HashMap<>();
+        extractionPayload.put("textChunks", textChunks);
+        extractionPayload.put("fileId", "12");
+        extractionPayload.put("categoryItemId", "3");
+        extractionPayload.put("pageStart", 0);
+        extractionPayload.put("pageEnd", 0);
+        extractionResult = result(4711, extractionPayload);
+
+        List<Object> flashcards = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            flashcards.add(Map.of("question", "What is concept " + i + "?", "answer", "Concept " + i + " is " + chunkText.substring(0, 120)));
+        }
+        Map<String, Object> flashcardPayload = new HashMap<>();
+        flashcardPayload.put("flashcards", flashcards);
+        flashcardPayload.put("summary_chunk_id", 99);
+        flashcardResult = result(4712, flashcardPayload);
+    }
+
+    @Benchmark
+    public void textExtractionResult(Blackhole blackhole) {
+        blackhole.consume(WorkerResultParser.getJobId(extractionResult));
+        Map<String, Object> payload = WorkerResultParser.getPayload(extractionResult);
+        blackhole.consume(WorkerResultParser.getTextChunks(payload, payload.get("textChunks")));
+    }
+
+    @Benchmark
+    public void flashcardResult(Blackhole blackhole) {
+        blackhole.consume(WorkerResultParser.getJobId(flashcardResult));
+        Map<String, Object> payload = WorkerResultParser.getPayload(flashcardResult);
+        blackhole.consume(WorkerResultParser.getFlashcards(payload.get("flashcards")));
+    }
+
+    private static Map<String, Object> result(int jobId, Map<String, Object> payload) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", "worker_result");
+        result.put("original_job_id", jobId);
+        result.put("status", "success");
+        result.put("payload", payload);
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package genai.genaiprojectbackend.service.extraction;
+
+import genai.genaiprojectbackend.model.dtos.ExtractedChunk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Chunk boundaries of {@link TextChunker}. The cases in chunking/text-chunker-cases.json are shared with the
+ * tests of ChunkStream in the text-extraction-worker, so both engines cut a document the same way and
+ * produce the same chunk hashes.
+ */
+class TextChunkerTest {
+    private static final String CASES = "/chunking/text-chunker-cases.json";
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void chunksLikeTheWorker(String name, JsonNode testCase) {
+        TextChunker chunker = new TextChunker(testCase.get("minChunkSize").asInt());
+        List<ExtractedChunk> chunks = new ArrayList<>();
+        for (JsonNode page : testCase.get("pages")) {
+            chunker.addPage(page.asString());
+            chunks.addAll(chunker.takeChunks());
+        }
+        assertEquals(testCase.get("chunksBeforeFinish").asInt(), chunks.size(), "chunks completed before finish()");
+        chunks.addAll(chunker.finish());
+
+        List<String> expected = new ArrayList<>();
+        for (JsonNode chunk : testCase.get("chunks")) {
+            expected.add(describe(chunk.get("text").asString(), chunk.get("pageStart").asInt(), chunk.get("pageEnd").asInt()));
+        }
+        assertEquals(expected, chunks.stream().map(c -> describe(c.getText(), c.getPageStart(), c.getPageEnd())).toList());
+    }
+
+    @Test
+    void textWithoutPagesGetsPageZero() {
+        TextChunker chunker = new TextChunker(5);
+        chunker.addText("abcdefghij");
+        chunker.addText("klmnop");
+
+        List<ExtractedChunk> chunks = new ArrayList<>(chunker.takeChunks());
+        chunks.addAll(chunker.finish());
+
+        assertEquals(List.of("abcdefghij [0-0]", "klmnop [0-0]"),
+                chunks.stream().map(c -> describe(c.getText(), c.getPageStart(), c.getPageEnd())).toList());
+    }
+
+    static Stream<Arguments> cases() throws IOException {
+        try (InputStream json = TextChunkerTest.class.getResourceAsStream(CASES)) {
+            JsonNode cases = JsonMapper.shared().readTree(json);
+            List<Arguments> arguments = new ArrayList<>();
+            cases.forEach(testCase -> arguments.add(Arguments.of(testCase.get("name").asString(), testCase)));
+            return arguments.stream();
+        }
+    }
+
+    private static String describe(String text, int pageStart, int pageEnd) {
+        return text + " [" + pageStart + "-" + pageEnd + "]";
+    }
+}
@@ -0,0 +1,122 @@
+package genai.genaiprojectbackend.service.tracing;
+
+import genai.genaiprojectbackend.service.categoryitem.ICategoryItemService;
+import genai.genaiprojectbackend.support.PipelineContainers;
+import genai.genaiprojectbackend.support.StandInWorker;
+import genai.genaiprojectbackend.support.StandInWorker.Stage;
+import genai.genaiprojectbackend.support.StandInWorker.StageSettings;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.minio.MinioClient;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts a generation inside a span and checks that the result handling of every stage, and the
+ * repository calls it makes, end up in that trace after a round trip through RabbitMQ and the
+ * {@link StandInWorker}, which forwards the trace headers like the Python workers do.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "worker.result-reuse.enabled=false",
+        "management.tracing.sampling.probability=1.0"
+})
+class TracePropagationTest {
+
+    @Autowired
+    private ICategoryItemService categoryItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MinioClient minioClient;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        PipelineContainers.registerProperties(registry);
+    }
+
+    @Test
+    void resultHandlingJoinsTheTraceOfStartGeneration() throws Exception {
+        Integer itemId = PipelineContainers.seedItems(jdbcTemplate, minioClient, 1, 1, 1024).get(0);
+
+        Map<Stage, StageSettings> settings = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            settings.put(stage, new StageSettings(10, 0, 0));
+        }
+        try (StandInWorker worker = PipelineContainers.standInWorker(settings, 1, 2, 1, (name, nanos) -> { })) {
+            worker.start();
+
+            Span root = tracer.nextSpan().name("test start generation").start();
+            try (Tracer.SpanInScope ignored = tracer.withSpan(root)) {
+                categoryItemService.startGeneration(itemId);
+            } finally {
+                root.end();
+            }
+            String traceId = root.context().traceId();
+
+            assertEquals("COMPLETED", awaitTerminal(itemId));
+            tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+            List<SpanData> trace = spanExporter.getFinishedSpanItems().stream()
+                    .filter(span -> span.getTraceId().equals(traceId))
+                    .toList();
+            for (String type : List.of("text extraction", "summary generation", "flashcard generation", "aggregation")) {
+                String name = "process " + type + " result";
+                assertTrue(trace.stream().anyMatch(span -> span.getName().equals(name)), name + " span not in trace");
+            }
+            assertTrue(trace.stream().anyMatch(span -> span.getName().startsWith("JobRepository.")),
+                    "no repository span in trace");
+        }
+    }
+
+    private String awaitTerminal(Integer itemId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        String status = null;
+        while (System.nanoTime() < deadline) {
+            status = jdbcTemplate.queryForObject("SELECT status FROM category_items WHERE id = ?", String.class, itemId);
+            if ("COMPLETED".equals(status) || "FAILED".equals(status)) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return status;
+    }
+
+    @TestConfiguration
+    static class SpanExporterConfiguration {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
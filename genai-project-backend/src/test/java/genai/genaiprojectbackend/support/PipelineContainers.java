@@ -0,0 +1,146 @@
+package genai.genaiprojectbackend.support;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.http.Method;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Postgres (postgres/config/init.sql, pg_stat_statements), RabbitMQ (rabbitmq/config/definitions.json)
+ * and MinIO for tests that run the whole pipeline. Started once per JVM on first use; test classes
+ * register {@link #registerProperties} as their @DynamicPropertySource and should be annotated with
+ * {@code @Testcontainers(disabledWithoutDocker = true)}.
+ */
+public final class PipelineContainers {
+    public static final String RABBIT_USER = "admin";
+    public static final String RABBIT_PASSWORD = "admin";
+    public static final String BUCKET = "basebucket";
+
+    private static final String DATABASE = "genai_db";
+    private static final Path REPO_ROOT = Path.of("..").toAbsolutePath().normalize();
+
+    public static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16")
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath(REPO_ROOT.resolve("postgres/config/init.sql")),
+                    "/docker-entrypoint-initdb.d/init.sql")
+            .withCommand("postgres",
+                    "-c", "shared_preload_libraries=pg_stat_statements",
+                    "-c", "pg_stat_statements.track=all",
+                    "-c", "max_connections=200");
+
+    public static final GenericContainer<?> RABBITMQ = new GenericContainer<>("rabbitmq:4-management")
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath(REPO_ROOT.resolve("rabbitmq/config/definitions.json")),
+                    "/etc/rabbitmq/definitions.json")
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath(REPO_ROOT.resolve("rabbitmq/config/rabbit.conf")),
+                    "/etc/rabbitmq/rabbitmq.conf")
+            .withExposedPorts(5672)
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1));
+
+    public static final MinIOContainer MINIO = new MinIOContainer("quay.io/minio/minio:latest");
+
+    private PipelineContainers() {
+    }
+
+    public static void registerProperties(DynamicPropertyRegistry registry) {
+        properties().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /**
+     * Starts the containers if necessary and returns the backend properties pointing at them,
+     * for tests that start the application themselves.
+     */
+    public static Map<String, Object> properties() {
+        Startables.deepStart(POSTGRES, RABBITMQ, MINIO).join();
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + DATABASE + "?reWriteBatchedInserts=true");
+        properties.put("spring.datasource.username", POSTGRES.getUsername());
+        properties.put("spring.datasource.password", POSTGRES.getPassword());
+        properties.put("spring.rabbitmq.host", RABBITMQ.getHost());
+        properties.put("spring.rabbitmq.port", RABBITMQ.getMappedPort(5672));
+        properties.put("spring.rabbitmq.username", RABBIT_USER);
+        properties.put("spring.rabbitmq.password", RABBIT_PASSWORD);
+        properties.put("minio.endpoint", MINIO.getHost());
+        properties.put("minio.port", MINIO.getMappedPort(9000));
+        properties.put("minio.username", MINIO.getUserName());
+        properties.put("minio.password", MINIO.getPassword());
+        properties.put("minio.bucket", BUCKET);
+        return properties;
+    }
+
+    public static StandInWorker standInWorker(Map<StandInWorker.Stage, StandInWorker.StageSettings> settings,
+                                              int consumersPerStage, int chunksPerFile, int flashcardsPerChunk,
+                                              ObjLongConsumer<String> queueWaitRecorder) {
+        return new StandInWorker(RABBITMQ.getHost(), RABBITMQ.getMappedPort(5672), RABBIT_USER, RABBIT_PASSWORD,
+                settings, consumersPerStage, chunksPerFile, flashcardsPerChunk, queueWaitRecorder);
+    }
+
+    /**
+     * Creates a category with {@code items} PENDING category items, each with {@code filesPerItem}
+     * uploaded files of random content and a presigned GET url.
+     *
+     * @return ids of the created category items
+     */
+    public static List<Integer> seedItems(JdbcTemplate jdbcTemplate, MinioClient minioClient,
+                                          int items, int filesPerItem, int fileSizeBytes) throws Exception {
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(BUCKET).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(BUCKET).build());
+        }
+        byte[] content = new byte[fileSizeBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+
+        Integer categoryId = jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name, description, created_at) VALUES ('Pipeline test', 'seeded', now()) RETURNING id",
+                Integer.class);
+        List<Integer> itemIds = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Integer itemId = jdbcTemplate.queryForObject(
+                    "INSERT INTO category_items (name, description, created_at, category_id) VALUES (?, 'seeded', now(), ?) RETURNING id",
+                    Integer.class, "Item " + i, categoryId);
+            for (int f = 0; f < filesPerItem; f++) {
+                String objectName = "pipeline-test/" + itemId + "/" + f + ".pdf";
+                minioClient.putObject(PutObjectArgs.builder()
+                        .bucket(BUCKET)
+                        .object(objectName)
+                        .stream(new ByteArrayInputStream(content), content.length, -1)
+                        .contentType("application/pdf")
+                        .build());
+                String url = minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                        .method(Method.GET)
+                        .bucket(BUCKET)
+                        .object(objectName)
+                        .expiry(1, TimeUnit.HOURS)
+                        .build());
+                jdbcTemplate.update("""
+                                INSERT INTO files (filename, original_filename, size_bytes, uploaded, uploaded_at, category_item_id, url)
+                                VALUES (?, ?, ?, TRUE, now(), ?, ?)""",
+                        objectName, f + ".pdf", (long) content.length, itemId, url);
+            }
+            itemIds.add(itemId);
+        }
+        return itemIds;
+    }
+}
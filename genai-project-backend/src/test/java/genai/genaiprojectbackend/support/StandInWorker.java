@@ -0,0 +1,225 @@
+package genai.genaiprojectbackend.support;
+
+import genai.genaiprojectbackend.configuration.RabbitConfig;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Java replacement for the four Python workers. Consumes the worker.*.job queues and publishes
+ * results in the same shape the Python ResultPublisher does, after a configurable synthetic
+ * latency and with a configurable failure rate per stage. No LLM calls are made.
+ * <p>
+ * Each stage runs {@code consumersPerStage} consumers with prefetch 1, like the worker replicas
+ * in docker-compose.yml. Queue wait is taken from the {@link #PUBLISHED_AT_HEADER} the harness
+ * stamps on every message. Like the Python workers, the W3C trace headers of a job are copied
+ * onto its result messages.
+ */
+public final class StandInWorker implements AutoCloseable {
+    public static final String PUBLISHED_AT_HEADER = "x-published-at-nanos";
+    private static final List<String> TRACE_HEADERS = List.of("traceparent", "tracestate");
+    private static final String RESULT_EXCHANGE = "worker-results";
+    private static final String FILLER = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(17);
+
+    public enum Stage {
+        TEXT_EXTRACTION("worker.text.extraction.job", RabbitConfig.WORKER_TEXT_EXTRACTION_RESULT_QUEUE),
+        SUMMARY_GENERATION("worker.summary.generation.job", RabbitConfig.WORKER_SUMMARY_GENERATION_RESULT_QUEUE),
+        FLASHCARD_GENERATION("worker.flashcard.generation.job", RabbitConfig.WORKER_FLASHCARD_GENERATION_RESULT_QUEUE),
+        AGGREGATION("worker.aggregation.job", RabbitConfig.WORKER_AGGREGATION_RESULT_QUEUE);
+
+        private final String jobQueue;
+        private final String resultRoutingKey;
+
+        Stage(String jobQueue, String resultRoutingKey) {
+            this.jobQueue = jobQueue;
+            this.resultRoutingKey = resultRoutingKey;
+        }
+    }
+
+    /**
+     * Synthetic processing time is drawn uniformly from latencyMillis * (1 +/- jitter).
+     */
+    public record StageSettings(long latencyMillis, double jitter, double failureRate) {
+    }
+
+    private final CachingConnectionFactory connectionFactory;
+    private final RabbitTemplate rabbitTemplate;
+    private final Map<Stage, StageSettings> settings;
+    private final int consumersPerStage;
+    private final int chunksPerFile;
+    private final int flashcardsPerChunk;
+    private final ObjLongConsumer<String> queueWaitRecorder;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<SimpleMessageListenerContainer> containers = new ArrayList<>();
+
+    /**
+     * @param queueWaitRecorder receives ("queue wait " + job queue, nanoseconds) for every consumed job
+     */
+    public StandInWorker(String host, int port, String username, String password,
+                         Map<Stage, StageSettings> settings, int consumersPerStage,
+                         int chunksPerFile, int flashcardsPerChunk, ObjLongConsumer<String> queueWaitRecorder) {
+        this.connectionFactory = new CachingConnectionFactory(host, port);
+        this.connectionFactory.setUsername(username);
+        this.connectionFactory.setPassword(password);
+        this.connectionFactory.setChannelCacheSize(consumersPerStage * Stage.values().length);
+        this.rabbitTemplate = new RabbitTemplate(connectionFactory);
+        this.rabbitTemplate.setMessageConverter(new JacksonJsonMessageConverter());
+        this.settings = new EnumMap<>(settings);
+        this.consumersPerStage = consumersPerStage;
+        this.chunksPerFile = chunksPerFile;
+        this.flashcardsPerChunk = flashcardsPerChunk;
+        this.queueWaitRecorder = queueWaitRecorder;
+    }
+
+    public void start() {
+        for (Stage stage : Stage.values()) {
+            SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+            container.setQueueNames(stage.jobQueue);
+            container.setConcurrentConsumers(consumersPerStage);
+            container.setPrefetchCount(1);
+            container.setDefaultRequeueRejected(false);
+            container.setMessageListener((MessageListener) message -> handle(stage, message));
+            container.start();
+            containers.add(container);
+        }
+    }
+
+    @Override
+    public void close() {
+        containers.forEach(SimpleMessageListenerContainer::stop);
+        connectionFactory.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(Stage stage, Message message) {
+        Long publishedAt = message.getMessageProperties().getHeader(PUBLISHED_AT_HEADER);
+        if (publishedAt != null) {
+            queueWaitRecorder.accept("queue wait " + stage.jobQueue, System.nanoTime() - publishedAt);
+        }
+
+        Map<String, Object> request = JsonMapper.shared().readValue(message.getBody(), Map.class);
+        Map<String, Object> traceHeaders = new HashMap<>();
+        for (String header : TRACE_HEADERS) {
+            Object value = message.getMessageProperties().getHeader(header);
+            if (value != null) {
+                traceHeaders.put(header, value);
+            }
+        }
+        switch (stage) {
+            case TEXT_EXTRACTION -> extractText(request, traceHeaders);
+            case SUMMARY_GENERATION -> {
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("summary", "Summary of: " + request.get("text"));
+                payload.put("category_id", request.get("category_id"));
+                payload.put("chunk_number", request.get("chunk_number"));
+                complete(stage, request.get("job_id"), payload, traceHeaders);
+            }
+            case FLASHCARD_GENERATION -> {
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("flashcards", flashcards("chunk " + request.get("summary_chunk_id")));
+                payload.put("summary_chunk_id", request.get("summary_chunk_id"));
+                complete(stage, request.get("job_id"), payload, traceHeaders);
+            }
+            case AGGREGATION -> {
+                List<?> summaries = (List<?>) request.getOrDefault("summaries", List.of());
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("final_summary", "Final summary of " + summaries.size() + " summaries. " + FILLER);
+                payload.put("final_flashcards", flashcards("item " + request.get("category_item_id")));
+                complete(stage, request.get("job_id"), payload, traceHeaders);
+            }
+        }
+    }
+
+    /**
+     * Like the Python worker: one result message per file, each after downloading the file.
+     */
+    @SuppressWarnings("unchecked")
+    private void extractText(Map<String, Object> request, Map<String, Object> traceHeaders) {
+        Object jobId = request.get("jobId");
+        List<Map<String, Object>> files = (List<Map<String, Object>>) request.getOrDefault("files", List.of());
+        for (Map<String, Object> file : files) {
+            String fileId = String.valueOf(file.get("id"));
+            download((String) file.get("url"));
+
+            List<String> textChunks = new ArrayList<>(chunksPerFile);
+            for (int i = 0; i < chunksPerFile; i++) {
+                textChunks.add("File " + fileId + " chunk " + i + ". " + FILLER);
+            }
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("fileId", fileId);
+            payload.put("categoryItemId", request.get("categoryItemId"));
+            payload.put("pageStart", 0);
+            payload.put("pageEnd", 0);
+            payload.put("textChunks", textChunks);
+            complete(Stage.TEXT_EXTRACTION, jobId, payload, traceHeaders);
+        }
+    }
+
+    private void complete(Stage stage, Object jobId, Map<String, Object> payload, Map<String, Object> traceHeaders) {
+        StageSettings stageSettings = settings.get(stage);
+        sleep(stageSettings);
+
+        boolean failed = ThreadLocalRandom.current().nextDouble() < stageSettings.failureRate();
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", stage.resultRoutingKey);
+        result.put("job_id", jobId);
+        result.put("status", failed ? "failed" : "success");
+        result.put("payload", failed ? Map.of("error", "synthetic failure") : payload);
+
+        rabbitTemplate.convertAndSend(RESULT_EXCHANGE, stage.resultRoutingKey, result, message -> {
+            traceHeaders.forEach(message.getMessageProperties()::setHeader);
+            message.getMessageProperties().setHeader(PUBLISHED_AT_HEADER, System.nanoTime());
+            return message;
+        });
+    }
+
+    private List<Map<String, String>> flashcards(String source) {
+        List<Map<String, String>> flashcards = new ArrayList<>(flashcardsPerChunk);
+        for (int i = 0; i < flashcardsPerChunk; i++) {
+            flashcards.add(Map.of(
+                    "question", "Question " + i + " about " + source + "?",
+                    "answer", "Answer " + i + " about " + source + "."));
+        }
+        return flashcards;
+    }
+
+    private void download(String url) {
+        if (url == null) {
+            return;
+        }
+        try {
+            httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new IllegalStateException("Download of " + url + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(StageSettings stageSettings) {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-stageSettings.jitter(), stageSettings.jitter() + Double.MIN_VALUE);
+        long millis = Math.max(0, Math.round(stageSettings.latencyMillis() * factor));
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,37 +2,73 @@
 
 import { useEffect } from "react";
 import { StatusTag } from "./StatusTag";
-import { getCategoryItemGenerationById, getCategoryItemStatusById } from "@/services/categoryItem.service";
+import {
+    getCategoryItemGenerationById,
+    getCategoryItemStatusById,
+    getCategoryItemStatusStreamUrl
+} from "@/services/categoryItem.service";
 import { useCategoryItem } from "@/contexts/CategoryItemContext";
-import { StatusInfo } from "@/types/categoryItem";
+import { PipelineStatus, StatusInfo } from "@/types/categoryItem";
 
 export function PollingStatusTag() {
     const { categoryItem, status, updateCategoryItem } = useCategoryItem();
 
     useEffect(() => {
         if (status !== "PROCESSING") return;
-        const interval = setInterval(async () => {
-            try {
-                const newStatusInfo: StatusInfo = await getCategoryItemStatusById(categoryItem.id);
-
-                if (newStatusInfo.status !== "PROCESSING") {
-                    updateCategoryItem("status", newStatusInfo.status);
-                    if (newStatusInfo.status === "FAILED" && newStatusInfo.failedJobType) {
-                        updateCategoryItem("failedJobType", newStatusInfo.failedJobType);
-                    } else if (newStatusInfo.status === "COMPLETED") {
-                        await getCategoryItemGenerationById(categoryItem.id).then((generation) => {
-                            updateCategoryItem("summary", generation.summary);
-                            updateCategoryItem("flashcards", generation.flashcards);
-                        });
-                    }
-                    clearInterval(interval);
-                }
-            } catch (error) {
-                console.error("Polling failed:", error);
+
+        let finished = false;
+        let interval: ReturnType<typeof setInterval> | undefined;
+        let source: EventSource | undefined;
+
+        const applyStatus = async (newStatusInfo: StatusInfo) => {
+            if (finished || newStatusInfo.status === "PROCESSING") return;
+            finished = true;
+            source?.close();
+            clearInterval(interval);
+
+            updateCategoryItem("status", newStatusInfo.status);
+            if (newStatusInfo.status === "FAILED" && newStatusInfo.failedJobType) {
+                updateCategoryItem("failedJobType", newStatusInfo.failedJobType);
+            } else if (newStatusInfo.status === "COMPLETED") {
+                await getCategoryItemGenerationById(categoryItem.id).then((generation) => {
+                    updateCategoryItem("summary", generation.summary);
+                    updateCategoryItem("flashcards", generation.flashcards);
+                });
             }
-        }, 3000);
+        };
+
+        // Fallback for browsers/proxies that cannot keep the event stream open
+        const startPolling = () => {
+            if (interval || finished) return;
+            interval = setInterval(async () => {
+                try {
+                    await applyStatus(await getCategoryItemStatusById(categoryItem.id));
+                } catch (error) {
+                    console.error("Polling failed:", error);
+                }
+            }, 3000);
+        };
+
+        if (typeof EventSource === "undefined") {
+            startPolling();
+        } else {
+            source = new EventSource(getCategoryItemStatusStreamUrl(categoryItem.id), { withCredentials: true });
+            source.addEventListener("status", (event) => {
+                const pipelineStatus: PipelineStatus = JSON.parse((event as MessageEvent).data);
+                applyStatus(pipelineStatus).catch((error) => console.error("Status update failed:", error));
+            });
+            source.onerror = () => {
+                if (finished) return;
+                source?.close();
+                startPolling();
+            };
+        }
 
-        return () => clearInterval(interval);
+        return () => {
+            finished = true;
+            source?.close();
+            clearInterval(interval);
+        };
     }, [status, categoryItem.id, updateCategoryItem]);
     return <StatusTag status={status} failedJobType={categoryItem.failedJobType} />;
-}
\ No newline at end of file
+}
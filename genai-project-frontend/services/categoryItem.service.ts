@@ -60,6 +60,10 @@ export async function getCategoryItemStatusById(categoryItemId: number): Promise
     return newStatusInfo;
 }
 
+export function getCategoryItemStatusStreamUrl(categoryItemId: number): string {
+    return `${CLIENT_BACKEND_URI}${DEFAULT_CATEGORY_ITEM_PATH}/${categoryItemId}/status/stream`;
+}
+
 export async function getCategoryItemGenerationById(categoryItemId: number): Promise<Generation> {
     const params = {
         method: "GET",
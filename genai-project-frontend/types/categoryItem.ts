@@ -44,6 +44,18 @@ export type StatusInfo = {
     failedJobType?: string;
 }
 
+export type PipelineStatus = StatusInfo & {
+    expectedFiles: number;
+    extractedFiles: number;
+    failedFiles: number;
+    extractedChunks: number;
+    summarizedChunks: number;
+    flashcardChunks: number;
+    failedChunks: number;
+    aggregationStarted: boolean;
+    aggregationDone: boolean;
+}
+
 export type Generation = {
     summary: string;
     flashcards: Flashcard[];
@@ -6,9 +6,11 @@ from jsonschema.exceptions import ValidationError
 from jsonschema.validators import validate
 from pika.exceptions import ChannelWrongStateError, ReentrancyError, StreamLostError, AMQPError
 
+from messaging import trace_context
 from messaging.rabbit_config import get_rabbitmq_config
 from messaging.message_model import BaseMessage
 from schemas.aggregation import schema as aggregation_schema
+from util.claim_check import resolve_json
 from util.gemini_client import GeminiClient
 from util.worker_utils import (
     setup_sigterm,
@@ -101,8 +103,9 @@ def process_req(ch, method, properties, body):
             safe_ack()
             return
 
-        summaries = request.get('summaries', [])
-        flashcards = request.get('flashcards', [])
+        content = resolve_json(request, 'content_ref') or request
+        summaries = content.get('summaries', [])
+        flashcards = content.get('flashcards', [])
         combined_text = "\n\n".join(summaries)
 
         category_item_id = request.get('category_item_id')
@@ -246,6 +249,7 @@ def main():
     channel = connect_rabbitmq()
 
     def callback(ch, method, properties, body):
+        trace_context.bind(properties)
         process_req(ch, method, properties, body)
 
     queue_name = rabbitConfig.queue_aggregation_job
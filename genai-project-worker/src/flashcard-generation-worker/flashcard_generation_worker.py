@@ -6,9 +6,11 @@ from jsonschema.exceptions import ValidationError
 from jsonschema.validators import validate
 from pika.exceptions import ChannelWrongStateError, ReentrancyError, StreamLostError, AMQPError
 
+from messaging import trace_context
 from messaging.rabbit_config import get_rabbitmq_config
 from messaging.message_model import BaseMessage
 from schemas.flashcard_generation import schema as flashcard_generation_schema
+from util.claim_check import resolve_text
 from util.gemini_client import GeminiClient
 from util.worker_utils import (
     setup_sigterm,
@@ -85,7 +87,7 @@ def process_req(ch, method, properties, body):
             return
 
         summary_chunk_id = request.get('summary_chunk_id')
-        input_text = request.get('text')
+        input_text = resolve_text(request)
         category_item_id = request.get('category_item_id')
 
         if str(category_item_id) in cancelled_categories:
@@ -197,6 +199,7 @@ def main():
     channel = connect_rabbitmq()
 
     def callback(ch, method, properties, body):
+        trace_context.bind(properties)
         process_req(ch, method, properties, body)
 
     queue_name = rabbitConfig.queue_flashcard_generation_job
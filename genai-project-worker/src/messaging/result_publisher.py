@@ -1,6 +1,7 @@
 import uuid
 import pika
 
+from . import trace_context
 from .message_model import BaseMessage
 from .rabbit_connect import create_rabbit_con_and_return_channel
 from .rabbit_config import get_rabbitmq_config
@@ -34,6 +35,7 @@ class ResultPublisher:
             properties=pika.BasicProperties(
                 content_type="application/json",
                 delivery_mode=2,
+                headers=trace_context.current_headers() or None,
             ),
         )
 
@@ -0,0 +1,19 @@
+from contextvars import ContextVar
+from typing import Dict
+
+# W3C trace context headers the backend injects into every job message. The workers do not
+# create spans themselves, they only hand the headers on to the result message so that the
+# backend's result listener continues the trace of the job.
+TRACE_HEADERS = ("traceparent", "tracestate")
+
+_current_headers: ContextVar[Dict[str, str]] = ContextVar("trace_headers", default={})
+
+
+def bind(properties) -> None:
+    """Remembers the trace headers of the job message that is being processed."""
+    headers = getattr(properties, "headers", None) or {}
+    _current_headers.set({name: headers[name] for name in TRACE_HEADERS if name in headers})
+
+
+def current_headers() -> Dict[str, str]:
+    return dict(_current_headers.get())
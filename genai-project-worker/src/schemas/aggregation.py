@@ -1,6 +1,7 @@
 schema = {
     "type": "object",
-    "required": ["job_id", "category_item_id", "summaries", "flashcards"],
+    "required": ["job_id", "category_item_id"],
+    "anyOf": [{"required": ["summaries", "flashcards"]}, {"required": ["content_ref"]}],
     "properties": {
         "job_id": {
             "type": "integer",
@@ -27,6 +28,16 @@ schema = {
                     "answer": {"type": "string"}
                 }
             }
+        },
+        "content_ref": {
+            "type": "object",
+            "required": ["bucket", "objectKey"],
+            "properties": {
+                "bucket": {"type": "string"},
+                "objectKey": {"type": "string"},
+                "sha256": {"type": "string"},
+                "sizeBytes": {"type": "integer"}
+            }
         }
     }
 }
\ No newline at end of file
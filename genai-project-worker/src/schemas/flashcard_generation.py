@@ -1,6 +1,7 @@
 schema = {
     "type": "object",
-    "required": ["job_id", "summary_chunk_id", "text"],
+    "required": ["job_id", "summary_chunk_id"],
+    "anyOf": [{"required": ["text"]}, {"required": ["text_ref"]}],
     "properties": {
         "job_id": {
             "type": "integer",
@@ -13,6 +14,16 @@ schema = {
         "text": {
             "type": "string",
             "minLength": 1
+        },
+        "text_ref": {
+            "type": "object",
+            "required": ["bucket", "objectKey"],
+            "properties": {
+                "bucket": {"type": "string"},
+                "objectKey": {"type": "string"},
+                "sha256": {"type": "string"},
+                "sizeBytes": {"type": "integer"}
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 schema = {
     "type": "object",
-    "required": ["job_id", "category_id", "text"],
+    "required": ["job_id", "category_id"],
+    "anyOf": [{"required": ["text"]}, {"required": ["text_ref"]}],
     "properties": {
         "job_id": {
             "type": "integer",
@@ -14,6 +15,16 @@ schema = {
             "type": "string",
             "minLength": 1
         },
+        "text_ref": {
+            "type": "object",
+            "required": ["bucket", "objectKey"],
+            "properties": {
+                "bucket": {"type": "string"},
+                "objectKey": {"type": "string"},
+                "sha256": {"type": "string"},
+                "sizeBytes": {"type": "integer"}
+            }
+        },
         "chunk_number": {
             "type": "integer",
             "minimum": 0
@@ -7,9 +7,11 @@ from jsonschema.exceptions import ValidationError
 from jsonschema.validators import validate
 from pika.exceptions import ChannelWrongStateError, ReentrancyError, StreamLostError, AMQPError
 
+from messaging import trace_context
 from messaging.message_model import BaseMessage
 from messaging.rabbit_config import get_rabbitmq_config
 from schemas.summary_generation import schema as summary_generation_schema
+from util.claim_check import resolve_text
 from util.gemini_client import GeminiClient
 from util.worker_utils import (
     setup_sigterm,
@@ -84,7 +86,7 @@ def process_req(ch, method, properties, body):
             safe_ack()
             return
 
-        input_text = request.get('text')
+        input_text = resolve_text(request)
         category_id = request.get('category_id')
         chunk_number = request.get('chunk_number')
 
@@ -182,6 +184,7 @@ def main():
     channel = connect_rabbitmq()
 
     def callback(ch, method, properties, body):
+        trace_context.bind(properties)
         process_req(ch, method, properties, body)
 
     queue_name = "worker.summary.generation.job"
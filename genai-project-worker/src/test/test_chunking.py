@@ -0,0 +1,23 @@
+import json
+from pathlib import Path
+
+import pytest
+
+from util.chunking import ChunkStream
+
+# Shared with TextChunkerTest of the backend, so the worker and the in-process engine cut documents the same way
+CASES_FILE = Path(__file__).resolve().parents[3] / "genai-project-backend" / "src" / "test" / "resources" / "chunking" / "text-chunker-cases.json"
+CASES = json.loads(CASES_FILE.read_text(encoding="utf-8"))
+
+
+@pytest.mark.parametrize("case", CASES, ids=[case["name"] for case in CASES])
+def test_chunks_like_the_backend(case):
+    stream = ChunkStream(case["minChunkSize"])
+    chunks = []
+    for page in case["pages"]:
+        chunks.extend(stream.add_page(page))
+    assert len(chunks) == case["chunksBeforeFinish"]
+    chunks.extend(stream.finish())
+
+    expected = [(chunk["text"], chunk["pageStart"], chunk["pageEnd"]) for chunk in case["chunks"]]
+    assert chunks == expected
@@ -8,9 +8,12 @@ from jsonschema.exceptions import ValidationError
 from jsonschema.validators import validate
 from pika.exceptions import ChannelWrongStateError, ReentrancyError, StreamLostError
 import util.file_handler as file_handler
+from util.claim_check import offload_json
+from util.chunking import ChunkStream
 import os
 from pathlib import Path
 
+from messaging import trace_context
 from messaging.rabbit_config import get_rabbitmq_config
 from schemas.text_extraction import schema as text_extraction_schema
 from messaging.message_model import BaseMessage
@@ -58,65 +61,81 @@ def mk_success_msg(job_id: str, payload: dict):
     )
 
 
-def chunk_text(text):
-    chunks = []
-    separators = ["\n\n", "\n", ". ", "? ", "! "]
-
-    current_pos = 0
-    text_len = len(text)
-
-    min_chunk_size = int(os.environ.get("TEXT_CHUNK_CHARACTER_SIZE", "1000"))
-
-    while current_pos < text_len:
-        if text_len - current_pos <= min_chunk_size:
-            chunks.append(text[current_pos:].strip())
-            break
-
-        search_start = current_pos + min_chunk_size
-        chunk_end = -1
-
-        for sep in separators:
-            found_pos = text.find(sep, search_start)
-            if found_pos != -1:
-                chunk_end = found_pos + len(sep)
-                break
-
-        if chunk_end == -1:
-            chunks.append(text[current_pos:].strip())
-            break
-
-        chunks.append(text[current_pos:chunk_end].strip())
-        current_pos = chunk_end
+def iter_pdf_pages(pdf_stream: io.BytesIO):
+    """Yields the text of every page of the PDF in order."""
+    doc = fitz.open(stream=pdf_stream.getvalue(), filetype="pdf")
+    try:
+        for page in doc:
+            yield page.get_text("text")
+    finally:
+        doc.close()
 
-    return chunks
 
+class CancelledError(Exception):
+    pass
 
-def extract_pdf_content(pdf_stream: io.BytesIO):
-    text_content = []
-    full_image_list = []
 
-    doc = fitz.open(stream=pdf_stream.getvalue(), filetype="pdf")
-
-    for page_num, page in enumerate(doc):
-        page_text = page.get_text("text")
-        text_content.append(page_text)
+def stream_file(job_id, category_item_id: str, file_id: str, pdf_stream: io.BytesIO):
+    """
+    Publishes the chunks of the file in batches of TEXT_CHUNK_BATCH_SIZE while its pages are being extracted,
+    then an end-of-file marker with the total number of chunks.
+    """
+    min_chunk_size = int(os.environ.get("TEXT_CHUNK_CHARACTER_SIZE", "1000"))
+    batch_size = max(1, int(os.environ.get("TEXT_CHUNK_BATCH_SIZE", "20")))
+    target_folder = BASE_DIR / str(category_item_id) / str(file_id)
+    target_folder.mkdir(parents=True, exist_ok=True)
+
+    chunks = ChunkStream(min_chunk_size)
+    pending = []
+    published = 0
+
+    def publish_batch(batch):
+        nonlocal published
+        texts = [text for text, _, _ in batch]
+        for index, text in enumerate(texts, start=published):
+            with open((target_folder / f"chunk_{index}.txt").absolute(), "w", encoding="utf-8") as f:
+                f.write(text)
+
+        payload = {
+            "fileId": file_id,
+            "categoryItemId": category_item_id,
+            "chunkOffset": published,
+            "pageStart": batch[0][1],
+            "pageEnd": batch[-1][2],
+            "chunkPages": [[page_start, page_end] for _, page_start, page_end in batch]
+        }
+        chunks_ref = offload_json(category_item_id, f"extraction-{job_id}-{file_id}-{published}.json", texts)
+        if chunks_ref:
+            payload["textChunksRef"] = chunks_ref
+        else:
+            payload["textChunks"] = texts
+        publish_response(BaseMessage(type="text_extraction", job_id=job_id, status="success", payload=payload))
+        published += len(batch)
+
+    for page_text in iter_pdf_pages(pdf_stream):
+        if category_item_id in cancelled_categories:
+            raise CancelledError()
+        pending.extend(chunks.add_page(page_text))
+        while len(pending) >= batch_size:
+            publish_batch(pending[:batch_size])
+            pending = pending[batch_size:]
 
-        image_list = page.get_images(full=True)
-        for img_index, img in enumerate(image_list):
-            xref = img[0]
-            base_image = doc.extract_image(xref)
-            full_image_list.append({
-                "page": page_num + 1,
-                "extension": base_image["ext"],
-                "image_data": base_image["image"]
-            })
+    pending.extend(chunks.finish())
+    while pending:
+        publish_batch(pending[:batch_size])
+        pending = pending[batch_size:]
 
-    doc.close()
+    publish_end_of_file(job_id, category_item_id, file_id, published)
+    logging.info(f"Saved {published} chunks to {target_folder.absolute()}")
 
-    complete_text = "\n".join(text_content)
-    text_chunks = chunk_text(complete_text)
 
-    return text_chunks, full_image_list
+def publish_end_of_file(job_id, category_item_id: str, file_id: str, total_chunks: int):
+    publish_response(BaseMessage(type="text_extraction", job_id=job_id, status="success", payload={
+        "fileId": file_id,
+        "categoryItemId": category_item_id,
+        "last": True,
+        "totalChunks": total_chunks
+    }))
 
 
 def process_req(ch, method, properties, body):
@@ -156,31 +175,15 @@ def process_req(ch, method, properties, body):
                 local_file = file_handler.download_file_to_memory(file_url)
 
                 if not local_file:
-                    logging.warning(f"File at {file_url} is empty, skipping.")
+                    # Still close the file, otherwise the backend waits for its chunks until the job times out
+                    logging.warning(f"File at {file_url} is empty, closing it without chunks.")
+                    publish_end_of_file(job_id, category_item_id, file_id, 0)
                     continue
 
-                text_chunks, images = extract_pdf_content(local_file)
-
-                target_folder = BASE_DIR / str(category_item_id) / str(file_id)
-
-                target_folder.mkdir(parents=True, exist_ok=True)
-
-                for index, chunk in enumerate(text_chunks):
-                    file_path = target_folder / f"chunk_{index}.txt"
-
-                    with open(file_path.absolute(), "w", encoding="utf-8") as f:
-                        f.write(chunk)
-
-                logging.info(f"Saved {len(text_chunks)} chunks to {target_folder.absolute()}")
-
-                publish_response(BaseMessage(type="text_extraction", job_id=job_id, status="success",
-                                             payload={
-                                                 "textChunks": text_chunks,
-                                                 "fileId": file_id,
-                                                 "categoryItemId": category_item_id,
-                                                 "pageStart": 0,
-                                                 "pageEnd": 0
-                                             }))
+                stream_file(job_id, category_item_id, file_id, local_file)
+            except CancelledError:
+                logging.info("Aborting processing...")
+                return
             except HTTPError as e:
                 logging.warning("Couldn't download file from: {}, error: {}".format(file_url, e))
                 publish_response(mk_error_msg(job_id, f"Error downloading {file_url}: {e}"))
@@ -200,6 +203,7 @@ def main():
     channel = connect_rabbitmq()
 
     def callback(ch, method, properties, body):
+        trace_context.bind(properties)
         process_req(ch, method, properties, body)
 
     queue_name = "worker.text.extraction.job"
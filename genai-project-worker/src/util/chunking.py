@@ -0,0 +1,75 @@
+# Chunking of extracted text, shared by the text extraction worker and its tests. The chunk boundaries
+# must match TextChunker of the backend (see the text-chunker-cases.json fixtures of both test suites).
+SEPARATORS = ["\n\n", "\n", ". ", "? ", "! "]
+
+
+class ChunkStream:
+    """
+    Incremental chunking of a document fed page by page. A chunk is at least min_chunk_size characters
+    long and ends after the first separator (by priority) within the following min_chunk_size characters,
+    or at the end of that window. Pages are joined with a newline; every chunk carries the (1-based) first
+    and last page it spans. Mirrors TextChunker of the backend's in-process engine.
+    """
+
+    def __init__(self, min_chunk_size: int):
+        self.min_chunk_size = max(1, min_chunk_size)
+        self.buffer = ""
+        self.buffer_offset = 0
+        self.page_starts = []
+        self.pages = 0
+
+    def add_page(self, text: str):
+        """Adds the next page and returns the (text, page_start, page_end) chunks completed by it."""
+        if self.pages > 0:
+            self.buffer += "\n"
+        self.pages += 1
+        self.page_starts.append((self.pages, self.buffer_offset + len(self.buffer)))
+        self.buffer += text
+        return self._drain(last=False)
+
+    def finish(self):
+        """Returns the chunks of the remaining text."""
+        return self._drain(last=True)
+
+    def _drain(self, last: bool):
+        chunks = []
+        size = self.min_chunk_size
+        pos = 0
+        while pos < len(self.buffer):
+            if len(self.buffer) - pos <= size:
+                if last:
+                    self._emit(chunks, pos, len(self.buffer))
+                    pos = len(self.buffer)
+                break
+            window_end = pos + 2 * size
+            if not last and len(self.buffer) < window_end + 2:
+                break
+            end = self._find_chunk_end(pos + size, min(window_end, len(self.buffer)))
+            if end == -1:
+                end = min(window_end, len(self.buffer))
+            self._emit(chunks, pos, end)
+            pos = end
+
+        self.buffer = self.buffer[pos:]
+        self.buffer_offset += pos
+        while len(self.page_starts) > 1 and self.page_starts[1][1] <= self.buffer_offset:
+            self.page_starts.pop(0)
+        return chunks
+
+    def _find_chunk_end(self, start: int, end: int):
+        for sep in SEPARATORS:
+            found = self.buffer.find(sep, start, end + len(sep) - 1)
+            if found != -1:
+                return found + len(sep)
+        return -1
+
+    def _emit(self, chunks, start: int, end: int):
+        text = self.buffer[start:end].strip()
+        if text:
+            chunks.append((text, self._page_at(self.buffer_offset + start), self._page_at(self.buffer_offset + end - 1)))
+
+    def _page_at(self, offset: int):
+        for page, page_start in reversed(self.page_starts):
+            if page_start <= offset:
+                return page
+        return 0
@@ -0,0 +1,68 @@
+import hashlib
+import io
+import json
+import logging
+import os
+
+import util.file_handler as file_handler
+
+# Claim-check: message bodies above the threshold are stored in the bucket and only a
+# reference ({bucket, objectKey, sha256, sizeBytes}) travels through RabbitMQ.
+CLAIM_CHECK_ENABLED = os.environ.get("CLAIM_CHECK_ENABLED", "false").lower() == "true"
+CLAIM_CHECK_THRESHOLD_BYTES = int(os.environ.get("CLAIM_CHECK_THRESHOLD_BYTES", "65536"))
+CLAIM_CHECK_KEY_PREFIX = os.environ.get("CLAIM_CHECK_KEY_PREFIX", "claim-check/")
+
+
+def check_out(ref: dict) -> bytes:
+    client = file_handler.minio_client()
+    response = client.get_object(ref["bucket"], ref["objectKey"])
+    try:
+        data = response.read()
+    finally:
+        response.close()
+        response.release_conn()
+
+    expected = ref.get("sha256")
+    if expected and hashlib.sha256(data).hexdigest() != expected.lower():
+        raise ValueError(f"Checksum mismatch for claim-checked object {ref['objectKey']}")
+    return data
+
+
+def resolve_text(request: dict, field: str = "text", ref_field: str = "text_ref"):
+    ref = request.get(ref_field)
+    if ref:
+        return check_out(ref).decode("utf-8")
+    return request.get(field)
+
+
+def resolve_json(request: dict, ref_field: str):
+    ref = request.get(ref_field)
+    if ref:
+        return json.loads(check_out(ref))
+    return None
+
+
+def offload_json(category_item_id, name: str, obj):
+    """Returns a claim-check reference if the serialized object exceeds the threshold, otherwise None."""
+    if not CLAIM_CHECK_ENABLED:
+        return None
+
+    data = json.dumps(obj).encode("utf-8")
+    if len(data) <= CLAIM_CHECK_THRESHOLD_BYTES:
+        return None
+
+    object_key = f"{CLAIM_CHECK_KEY_PREFIX}{category_item_id}/{name}"
+    try:
+        client = file_handler.minio_client()
+        client.put_object(file_handler.BUCKET_NAME, object_key, io.BytesIO(data), len(data),
+                          content_type="application/json")
+    except Exception as e:
+        logging.warning(f"Could not offload {len(data)} bytes to {object_key}, sending inline: {e}")
+        return None
+
+    return {
+        "bucket": file_handler.BUCKET_NAME,
+        "objectKey": object_key,
+        "sha256": hashlib.sha256(data).hexdigest(),
+        "sizeBytes": len(data)
+    }
@@ -2,8 +2,12 @@ CREATE DATABASE "genai_db";
 
 \c genai_db
 
+-- files and urls are inserted in bulk by the batch upload endpoints (allocationSize must match INCREMENT BY)
+CREATE SEQUENCE files_id_seq INCREMENT BY 50;
+CREATE SEQUENCE urls_id_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS urls (
-    id                  INTEGER PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    id                  INTEGER PRIMARY KEY DEFAULT nextval('urls_id_seq'),
     file_id             INTEGER NOT NULL,
     s3_bucket           TEXT DEFAULT 'basebucket',
     s3_url              TEXT NOT NULL,
@@ -27,17 +31,19 @@ CREATE TABLE IF NOT EXISTS category_items (
     created_at             TIMESTAMP,
     category_id            INTEGER,
     status                 VARCHAR(16) DEFAULT 'PENDING' CHECK (status in ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED')),
-    failed_job_type        VARCHAR(30) CHECK (failed_job_type in ('TEXT_EXTRACTION', 'SUMMARY_GENERATION', 'FLASHCARD_GENERATION', 'AGGREGATION')),
+    failed_job_type        VARCHAR(30) CHECK (failed_job_type in ('TEXT_EXTRACTION', 'SUMMARY_GENERATION', 'FLASHCARD_GENERATION', 'PARTIAL_AGGREGATION', 'AGGREGATION')),
 
     CONSTRAINT fk_category_id
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
     );
 
 CREATE TABLE IF NOT EXISTS files (
-    id                  INTEGER PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    id                  INTEGER PRIMARY KEY DEFAULT nextval('files_id_seq'),
     filename TEXT       NOT NULL UNIQUE,
+    content_hash        VARCHAR(64),
     original_filename   TEXT,
     size_bytes BIGINT,
+    etag                TEXT,
     file_creation_date  DATE,
     uploaded            BOOLEAN DEFAULT FALSE,
     uploaded_at         TIMESTAMP,
@@ -48,13 +54,19 @@ CREATE TABLE IF NOT EXISTS files (
     FOREIGN KEY (category_item_id) REFERENCES category_items(id) ON DELETE SET NULL
 );
 
+-- text_chunks and jobs are bulk inserted per extraction result; the sequences hand out
+-- blocks of 50 ids so Hibernate can batch the inserts (allocationSize must match INCREMENT BY)
+CREATE SEQUENCE text_chunks_id_seq INCREMENT BY 50;
+CREATE SEQUENCE jobs_id_seq INCREMENT BY 50;
+
 CREATE TABLE text_chunks (
-    id                  INTEGER PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    id                  INTEGER PRIMARY KEY DEFAULT nextval('text_chunks_id_seq'),
     file_id             INTEGER NOT NULL,
     chunk_index         INTEGER NOT NULL,
     page_start          INTEGER,
     page_end            INTEGER,
     text_content        TEXT NOT NULL,
+    content_hash        VARCHAR(64),
     created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     category_item_id    INTEGER,
 
@@ -111,13 +123,17 @@ CREATE TABLE final_summaries (
 );
 
 CREATE TABLE jobs (
-    id                  INTEGER PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+    id                  INTEGER PRIMARY KEY DEFAULT nextval('jobs_id_seq'),
     file_id             INTEGER,
-    job_type            VARCHAR(30) CHECK (job_type in ('TEXT_EXTRACTION', 'SUMMARY_GENERATION', 'FLASHCARD_GENERATION', 'AGGREGATION')) NOT NULL,
+    job_type            VARCHAR(30) CHECK (job_type in ('TEXT_EXTRACTION', 'SUMMARY_GENERATION', 'FLASHCARD_GENERATION', 'PARTIAL_AGGREGATION', 'AGGREGATION')) NOT NULL,
     status              VARCHAR(30) CHECK (status in ('PENDING', 'IN_PROGRESS', 'FINISHED', 'FAILED', 'CANCELLED')) NOT NULL,
     created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     updated_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     category_item_id    INTEGER,
+    -- text chunk (SUMMARY_GENERATION) or summary chunk (FLASHCARD_GENERATION) the job works on
+    source_chunk_id     INTEGER,
+    -- times the job was published again after it exceeded its deadline
+    attempts            INTEGER NOT NULL DEFAULT 0,
 
     CONSTRAINT fk_jobs_file
         FOREIGN KEY (file_id) REFERENCES files(id),
@@ -126,12 +142,150 @@ CREATE TABLE jobs (
         FOREIGN KEY (category_item_id) REFERENCES category_items(id) ON DELETE SET NULL
 );
 
+-- Fan-in counters per generation run, updated atomically by the result listeners
+CREATE TABLE pipeline_progress (
+    category_item_id        INTEGER PRIMARY KEY,
+    expected_files          INTEGER NOT NULL DEFAULT 0,
+    extracted_files         INTEGER NOT NULL DEFAULT 0,
+    failed_files            INTEGER NOT NULL DEFAULT 0,
+    expected_chunks         INTEGER NOT NULL DEFAULT 0,
+    summarized_chunks       INTEGER NOT NULL DEFAULT 0,
+    completed_chunks        INTEGER NOT NULL DEFAULT 0,
+    failed_chunks           INTEGER NOT NULL DEFAULT 0,
+    aggregation_triggered   BOOLEAN NOT NULL DEFAULT FALSE,
+    priority                INTEGER NOT NULL DEFAULT 0,
+    updated_at              TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_category_item_id
+        FOREIGN KEY (category_item_id) REFERENCES category_items(id) ON DELETE CASCADE
+);
+
+-- Streamed text extraction per file: chunks received so far and the total announced by the end-of-file
+-- marker. The file counts as extracted (pipeline_progress.extracted_files) once both match, or as failed
+-- (failed_files) if its extraction job failed and the item goes on without it.
+CREATE TABLE file_extractions (
+    file_id             INTEGER PRIMARY KEY,
+    category_item_id    INTEGER NOT NULL,
+    received_chunks     INTEGER NOT NULL DEFAULT 0,
+    total_chunks        INTEGER,
+    closed              BOOLEAN NOT NULL DEFAULT FALSE,
+    failed              BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_file_id
+        FOREIGN KEY (file_id) REFERENCES files(id) ON DELETE CASCADE,
+
+    CONSTRAINT fk_category_item_id
+        FOREIGN KEY (category_item_id) REFERENCES category_items(id) ON DELETE CASCADE
+);
+
+-- Results of the intermediate jobs of a tree aggregation, keyed by their PARTIAL_AGGREGATION job.
+-- A row is created when the job is dispatched and filled when its result arrives.
+CREATE TABLE partial_aggregations (
+    job_id              INTEGER PRIMARY KEY,
+    category_item_id    INTEGER NOT NULL,
+    level               INTEGER NOT NULL,
+    summary_text        TEXT,
+    created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_category_item_id
+        FOREIGN KEY (category_item_id) REFERENCES category_items(id) ON DELETE CASCADE
+);
+
+-- Inputs of a partial aggregation in order: summary chunk ids on level 0, partial aggregation job ids above
+CREATE TABLE partial_aggregation_sources (
+    job_id              INTEGER NOT NULL,
+    position            INTEGER NOT NULL,
+    source_id           INTEGER NOT NULL,
+
+    PRIMARY KEY (job_id, position),
+    CONSTRAINT fk_partial_aggregation
+        FOREIGN KEY (job_id) REFERENCES partial_aggregations(job_id) ON DELETE CASCADE
+);
+
+CREATE TABLE partial_aggregation_flashcards (
+    job_id              INTEGER NOT NULL,
+    question            TEXT NOT NULL,
+    answer              TEXT NOT NULL,
+
+    CONSTRAINT fk_partial_aggregation
+        FOREIGN KEY (job_id) REFERENCES partial_aggregations(job_id) ON DELETE CASCADE
+);
+
+-- LLM-bound jobs (summary, flashcard) waiting for admission by the dispatch scheduler. The message is
+-- rebuilt from the job's source chunk when it is published; the row is deleted in the same transaction.
+-- trace_parent is the W3C traceparent of the span that created the job, so the publication joins its trace.
+CREATE TABLE dispatch_backlog (
+    job_id              INTEGER PRIMARY KEY,
+    category_item_id    INTEGER NOT NULL,
+    job_type            VARCHAR(30) NOT NULL,
+    trace_parent        VARCHAR(55),
+    priority            INTEGER NOT NULL DEFAULT 0,
+    created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_job_id
+        FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
+
+    CONSTRAINT fk_category_item_id
+        FOREIGN KEY (category_item_id) REFERENCES category_items(id) ON DELETE CASCADE
+);
+
+-- Reusable LLM results keyed by content hash; kept after the generation run that produced them
+CREATE TABLE chunk_results (
+    chunk_hash          VARCHAR(64) PRIMARY KEY,
+    text_content        TEXT NOT NULL,
+    summary_text        TEXT NOT NULL,
+    created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE chunk_result_flashcards (
+    chunk_hash          VARCHAR(64) NOT NULL,
+    question            TEXT NOT NULL,
+    answer              TEXT NOT NULL,
+
+    CONSTRAINT fk_chunk_result
+        FOREIGN KEY (chunk_hash) REFERENCES chunk_results(chunk_hash) ON DELETE CASCADE
+);
+
+CREATE TABLE file_chunk_hashes (
+    file_hash           VARCHAR(64) PRIMARY KEY,
+    chunk_hashes        TEXT[] NOT NULL,
+    -- Page range of every chunk, in the order of chunk_hashes
+    page_starts         INTEGER[],
+    page_ends           INTEGER[],
+    created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Leases for scheduled tasks that must run on a single backend replica
+CREATE TABLE scheduler_locks (
+    name                VARCHAR(64) PRIMARY KEY,
+    locked_until        TIMESTAMP NOT NULL,
+    locked_by           TEXT NOT NULL
+);
+
+CREATE INDEX idx_urls_expires_at ON urls(expires_at);
+-- keyset pagination of the category sidebar (ORDER BY created_at DESC, id DESC)
+CREATE INDEX idx_categories_created_at ON categories(created_at DESC, id DESC);
+CREATE INDEX idx_category_items_category_created_at ON category_items(category_id, created_at DESC, id DESC);
 CREATE INDEX idx_chunks_category_item ON text_chunks(category_item_id);
+CREATE INDEX idx_files_content_hash ON files(content_hash);
+CREATE INDEX idx_chunk_result_flashcards_hash ON chunk_result_flashcards(chunk_hash);
 CREATE INDEX idx_summary_text_chunk ON summary_chunks(text_chunk_id);
 CREATE INDEX idx_temp_flashcards_summary_chunk ON temporary_flashcards(summary_chunk_id);
 
 CREATE INDEX idx_final_flashcards_category_item ON final_flashcards(category_item_id);
 CREATE INDEX idx_final_summaries_category_item ON final_summaries(category_item_id);
 
+CREATE INDEX idx_file_extractions_category_item ON file_extractions(category_item_id);
+
+CREATE INDEX idx_partial_aggregations_item_level ON partial_aggregations(category_item_id, level);
+CREATE INDEX idx_partial_aggregation_flashcards_job ON partial_aggregation_flashcards(job_id);
+
+-- dispatch scheduler: oldest waiting jobs of one item
+CREATE INDEX idx_dispatch_backlog_item_job ON dispatch_backlog(category_item_id, job_id);
+
 CREATE INDEX idx_jobs_file_id ON jobs(file_id);
+CREATE INDEX idx_jobs_category_item ON jobs(category_item_id);
 CREATE INDEX idx_jobs_status_type ON jobs(status, job_type);
+-- stuck-job reaper: active jobs not touched since their deadline
+CREATE INDEX idx_jobs_status_updated_at ON jobs(status, updated_at);